@@ -0,0 +1,49 @@
+package com.crio.stayease.benchmark;
+
+import com.crio.stayease.advices.ApiError;
+import com.crio.stayease.advices.GlobalExceptionHandler;
+import com.crio.stayease.exception.ResourceNotFoundException;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.ResponseEntity;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Turning an exception into the JSON error body, as GlobalExceptionHandler and the message converter do.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ErrorRenderingBenchmark {
+
+    private GlobalExceptionHandler globalExceptionHandler;
+    private ObjectMapper objectMapper;
+    private ResourceNotFoundException notFound;
+    private IllegalStateException unexpected;
+
+    @Setup
+    public void setUp() {
+        globalExceptionHandler = new GlobalExceptionHandler();
+        objectMapper = JsonMapper.builder().findAndAddModules().build();
+        notFound = new ResourceNotFoundException("Booking with id: 42 does not exists!");
+        unexpected = new IllegalStateException("Booking has already been cancelled");
+    }
+
+    @Benchmark
+    public byte[] renderNotFound() throws JsonProcessingException {
+        ResponseEntity<ApiError> response = globalExceptionHandler.handleResourceNotFoundException(notFound);
+        return objectMapper.writeValueAsBytes(response.getBody());
+    }
+
+    @Benchmark
+    public byte[] renderUnexpected() throws JsonProcessingException {
+        ResponseEntity<ApiError> response = globalExceptionHandler.handleException(unexpected);
+        return objectMapper.writeValueAsBytes(response.getBody());
+    }
+}
@@ -0,0 +1,53 @@
+package com.crio.stayease.benchmark;
+
+import com.crio.stayease.entity.User;
+import com.crio.stayease.entity.enums.Role;
+import com.crio.stayease.service.JwtService;
+import org.openjdk.jmh.annotations.*;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Signing and verifying access tokens, the work every authenticated request pays for at least once.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtBenchmark {
+
+    private JwtService jwtService;
+    private User user;
+    private String token;
+
+    @Setup
+    public void setUp() throws ReflectiveOperationException {
+        jwtService = new JwtService();
+        Field secretKey = JwtService.class.getDeclaredField("jwtSecretKey");
+        secretKey.setAccessible(true);
+        secretKey.set(jwtService, "benchmark-secret-key-that-is-long-enough-for-hmac-sha");
+        Method init = JwtService.class.getDeclaredMethod("init");
+        init.setAccessible(true);
+        init.invoke(jwtService);
+
+        user = new User();
+        user.setId(42L);
+        user.setEmail("customer@stayease.com");
+        user.setRole(Role.CUSTOMER);
+        token = jwtService.generateAccessToken(user);
+    }
+
+    @Benchmark
+    public String generateAccessToken() {
+        return jwtService.generateAccessToken(user);
+    }
+
+    @Benchmark
+    public Long getUserIdFromToken() {
+        return jwtService.getUserIdFromToken(token);
+    }
+}
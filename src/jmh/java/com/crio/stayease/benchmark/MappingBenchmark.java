@@ -0,0 +1,144 @@
+package com.crio.stayease.benchmark;
+
+import com.crio.stayease.dto.BookingDto;
+import com.crio.stayease.dto.HotelDto;
+import com.crio.stayease.dto.UserDto;
+import com.crio.stayease.entity.Booking;
+import com.crio.stayease.entity.Guest;
+import com.crio.stayease.entity.Hotel;
+import com.crio.stayease.entity.User;
+import com.crio.stayease.entity.enums.BookingStatus;
+import com.crio.stayease.entity.enums.Role;
+import com.crio.stayease.mapper.BookingMapper;
+import com.crio.stayease.mapper.BookingMapperImpl;
+import com.crio.stayease.mapper.HotelMapper;
+import com.crio.stayease.mapper.HotelMapperImpl;
+import com.crio.stayease.mapper.UserMapper;
+import com.crio.stayease.mapper.UserMapperImpl;
+import org.modelmapper.ModelMapper;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the generated mappers with the reflective ModelMapper they replaced.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MappingBenchmark {
+
+    private ModelMapper modelMapper;
+    private UserMapper userMapper;
+    private HotelMapper hotelMapper;
+    private BookingMapper bookingMapper;
+
+    private User user;
+    private Hotel hotel;
+    private Booking booking;
+    private List<Hotel> hotels;
+
+    @Setup
+    public void setUp() {
+        modelMapper = new ModelMapper();
+        userMapper = new UserMapperImpl();
+        hotelMapper = new HotelMapperImpl(userMapper);
+        bookingMapper = new BookingMapperImpl();
+
+        user = new User();
+        user.setId(1L);
+        user.setEmail("manager@stayease.com");
+        user.setFirstName("Hotel");
+        user.setLastName("Manager");
+        user.setRole(Role.HOTEL_MANAGER);
+
+        hotel = newHotel(1L);
+
+        List<Guest> guests = new ArrayList<>();
+        for (long id = 1; id <= 2; id++) {
+            guests.add(new Guest(id, "Guest", "Number " + id, "guest" + id + "@stayease.com", null));
+        }
+        booking = Booking.builder()
+                .id(1L)
+                .user(user)
+                .hotel(hotel)
+                .bookingStatus(BookingStatus.ACTIVE)
+                .guests(guests)
+                .checkInDate(LocalDate.now())
+                .checkOutDate(LocalDate.now().plusDays(2))
+                .createdAt(LocalDateTime.now())
+                .build();
+
+        hotels = new ArrayList<>();
+        for (long id = 1; id <= 100; id++) {
+            hotels.add(newHotel(id));
+        }
+    }
+
+    @Benchmark
+    public BookingDto bookingModelMapper() {
+        return modelMapper.map(booking, BookingDto.class);
+    }
+
+    @Benchmark
+    public BookingDto bookingGenerated() {
+        return bookingMapper.toDto(booking);
+    }
+
+    @Benchmark
+    public HotelDto hotelModelMapper() {
+        return modelMapper.map(hotel, HotelDto.class);
+    }
+
+    @Benchmark
+    public HotelDto hotelGenerated() {
+        return hotelMapper.toDto(hotel);
+    }
+
+    @Benchmark
+    public UserDto userModelMapper() {
+        return modelMapper.map(user, UserDto.class);
+    }
+
+    @Benchmark
+    public UserDto userGenerated() {
+        return userMapper.toDto(user);
+    }
+
+    @Benchmark
+    public List<HotelDto> hotelListModelMapper() {
+        List<HotelDto> result = new ArrayList<>(hotels.size());
+        for (Hotel each : hotels) {
+            result.add(modelMapper.map(each, HotelDto.class));
+        }
+        return result;
+    }
+
+    @Benchmark
+    public List<HotelDto> hotelListGenerated() {
+        List<HotelDto> result = new ArrayList<>(hotels.size());
+        for (Hotel each : hotels) {
+            result.add(hotelMapper.toDto(each));
+        }
+        return result;
+    }
+
+    private Hotel newHotel(Long id) {
+        Hotel newHotel = new Hotel();
+        newHotel.setId(id);
+        newHotel.setName("Hotel " + id);
+        newHotel.setLocation("Bengaluru");
+        newHotel.setDescription("Business hotel close to the airport");
+        newHotel.setRoomsCount(40);
+        newHotel.setTotalRooms(50);
+        newHotel.setHotelManager(user);
+        return newHotel;
+    }
+}
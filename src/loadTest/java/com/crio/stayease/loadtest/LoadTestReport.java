@@ -0,0 +1,71 @@
+package com.crio.stayease.loadtest;
+
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Prints the summary of the measured phase and keeps it, with the full latency distribution of every
+ * operation as {@code .hgrm} files, in the report directory.
+ */
+final class LoadTestReport {
+
+    private LoadTestReport() {
+    }
+
+    static void write(LoadTestSettings settings, OpenModelDriver.PhaseResult result, List<String> violations) throws IOException {
+        Files.createDirectories(settings.reportDirectory());
+        Path summary = settings.reportDirectory().resolve("summary.txt");
+        try (PrintStream file = new PrintStream(Files.newOutputStream(summary))) {
+            print(settings, result, violations, file);
+        }
+        print(settings, result, violations, System.out);
+        for (Operation operation : Operation.values()) {
+            Histogram histogram = result.latencies().get(operation);
+            if (histogram.getTotalCount() == 0) {
+                continue;
+            }
+            Path distribution = settings.reportDirectory().resolve(operation.name().toLowerCase(Locale.ROOT) + ".hgrm");
+            try (PrintStream file = new PrintStream(Files.newOutputStream(distribution))) {
+                histogram.outputPercentileDistribution(file, 1_000.0);
+            }
+        }
+        System.out.println("Report written to " + settings.reportDirectory().toAbsolutePath());
+    }
+
+    private static void print(LoadTestSettings settings, OpenModelDriver.PhaseResult result, List<String> violations, PrintStream out) {
+        double seconds = result.elapsedNanos() / 1_000_000_000.0;
+        out.printf(Locale.ROOT, "target %.0f req/s for %ds, %d hotels x %d rooms, %d users, %s threads%n",
+                settings.ratePerSecond(), settings.durationSeconds(), settings.hotels(), settings.roomsPerHotel(),
+                settings.users(), settings.virtualThreads() ? "virtual" : "platform");
+        out.printf(Locale.ROOT, "%-7s %8s %9s %8s %8s %8s %8s %10s %10s %10s %10s%n", "op", "count", "req/s",
+                "ok", "soldout", "rejected", "error", "p50 ms", "p99 ms", "p99.9 ms", "max ms");
+        for (Operation operation : Operation.values()) {
+            Histogram histogram = result.latencies().get(operation);
+            long[] outcomes = result.outcomes().get(operation);
+            if (histogram.getTotalCount() == 0) {
+                continue;
+            }
+            out.printf(Locale.ROOT, "%-7s %8d %9.1f %8d %8d %8d %8d %10.2f %10.2f %10.2f %10.2f%n",
+                    operation.name().toLowerCase(Locale.ROOT), histogram.getTotalCount(), histogram.getTotalCount() / seconds,
+                    outcomes[Outcome.OK.ordinal()], outcomes[Outcome.SOLD_OUT.ordinal()],
+                    outcomes[Outcome.REJECTED.ordinal()], outcomes[Outcome.ERROR.ordinal()],
+                    millis(histogram, 50), millis(histogram, 99), millis(histogram, 99.9), histogram.getMaxValue() / 1_000.0);
+        }
+        if (violations.isEmpty()) {
+            out.println("invariants: OK");
+        } else {
+            out.println("invariants: " + violations.size() + " VIOLATED");
+            violations.forEach(violation -> out.println("  " + violation));
+        }
+    }
+
+    private static double millis(Histogram histogram, double percentile) {
+        return histogram.getValueAtPercentile(percentile) / 1_000.0;
+    }
+}
@@ -0,0 +1,53 @@
+package com.crio.stayease.loadtest;
+
+import com.crio.stayease.StayeaseApplication;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Boots the application against an embedded database, seeds customers and hotels, warms it up and then
+ * measures the configured workload, failing the run when bookings were oversold or lost.
+ */
+public class LoadTestRunner {
+
+    public static void main(String[] args) throws Exception {
+        LoadTestSettings settings = LoadTestSettings.fromSystemProperties();
+        SpringApplicationBuilder builder = new SpringApplicationBuilder(StayeaseApplication.class);
+        if (settings.virtualThreads()) {
+            builder.profiles("loadtest", "virtual");
+        } else {
+            builder.profiles("loadtest");
+        }
+
+        List<String> violations;
+        try (ConfigurableApplicationContext context = builder.run(args)) {
+            SeededData seed = LoadTestSeeder.seed(context, settings);
+            String port = context.getEnvironment().getProperty("local.server.port");
+            String contextPath = context.getEnvironment().getProperty("server.servlet.context-path", "");
+            URI baseUri = URI.create("http://localhost:" + port + contextPath);
+
+            try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor();
+                 HttpClient httpClient = HttpClient.newBuilder()
+                         .version(HttpClient.Version.HTTP_1_1)
+                         .executor(clients)
+                         .build()) {
+                OpenModelDriver driver = new OpenModelDriver(httpClient, clients, baseUri, settings, seed);
+                driver.run(Duration.ofSeconds(settings.warmupSeconds()));
+                OpenModelDriver.PhaseResult measured = driver.run(Duration.ofSeconds(settings.durationSeconds()));
+
+                violations = new OversellDetector(context.getBean(JdbcTemplate.class))
+                        .check(driver.acknowledgedBookings(), driver.acknowledgedCancellations());
+                LoadTestReport.write(settings, measured, violations);
+            }
+        }
+        System.exit(violations.isEmpty() ? 0 : 1);
+    }
+}
@@ -0,0 +1,65 @@
+package com.crio.stayease.loadtest;
+
+import com.crio.stayease.entity.Hotel;
+import com.crio.stayease.entity.User;
+import com.crio.stayease.entity.enums.Role;
+import com.crio.stayease.repository.HotelRepository;
+import com.crio.stayease.repository.UserRepository;
+import com.crio.stayease.service.AvailabilityService;
+import com.crio.stayease.service.HotelSearchService;
+import com.crio.stayease.service.JwtService;
+import org.springframework.context.ApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+
+final class LoadTestSeeder {
+
+    private LoadTestSeeder() {
+    }
+
+    static SeededData seed(ApplicationContext context, LoadTestSettings settings) {
+        UserRepository userRepository = context.getBean(UserRepository.class);
+        HotelRepository hotelRepository = context.getBean(HotelRepository.class);
+        JwtService jwtService = context.getBean(JwtService.class);
+
+        List<String> tokens = new ArrayList<>();
+        for (int i = 0; i < settings.users(); i++) {
+            User user = new User();
+            user.setEmail("load-test-" + i + "@test.com");
+            user.setFirstName("Load");
+            user.setLastName("Tester " + i);
+            user.setPassword("password");
+            user.setRole(Role.CUSTOMER);
+            tokens.add(jwtService.generateAccessToken(userRepository.save(user)));
+        }
+
+        List<Long> hotelIds = new ArrayList<>();
+        List<String> managerTokens = new ArrayList<>();
+        for (int i = 0; i < settings.hotels(); i++) {
+            // Only the manager of a hotel may cancel its bookings
+            User manager = new User();
+            manager.setEmail("load-test-manager-" + i + "@test.com");
+            manager.setFirstName("Load");
+            manager.setLastName("Manager " + i);
+            manager.setPassword("password");
+            manager.setRole(Role.HOTEL_MANAGER);
+            manager = userRepository.save(manager);
+            managerTokens.add(jwtService.generateAccessToken(manager));
+
+            Hotel hotel = new Hotel();
+            hotel.setName("Load Test Hotel " + i);
+            hotel.setLocation("Load Test City " + (i % 5));
+            hotel.setDescription("Seeded for the load test");
+            hotel.setRoomsCount(settings.roomsPerHotel());
+            hotel.setTotalRooms(settings.roomsPerHotel());
+            hotel.setHotelManager(manager);
+            hotelIds.add(hotelRepository.save(hotel).getId());
+        }
+
+        // Both were built when the application became ready, before the hotels existed
+        context.getBean(HotelSearchService.class).rebuild();
+        context.getBean(AvailabilityService.class).rebuild();
+        return new SeededData(hotelIds, managerTokens, tokens);
+    }
+}
@@ -0,0 +1,63 @@
+package com.crio.stayease.loadtest;
+
+import java.nio.file.Path;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Knobs of a load test run, read from {@code loadtest.*} system properties so they can be passed straight
+ * through {@code gradle loadTest -Dloadtest.rate=500}.
+ */
+record LoadTestSettings(double ratePerSecond,
+                        int warmupSeconds,
+                        int durationSeconds,
+                        int hotels,
+                        int roomsPerHotel,
+                        int users,
+                        int bookingWindowDays,
+                        int maxStayNights,
+                        Map<Operation, Integer> mix,
+                        boolean virtualThreads,
+                        Path reportDirectory) {
+
+    static LoadTestSettings fromSystemProperties() {
+        return new LoadTestSettings(
+                Double.parseDouble(property("rate", "200")),
+                Integer.parseInt(property("warmup-seconds", "5")),
+                Integer.parseInt(property("duration-seconds", "30")),
+                Integer.parseInt(property("hotels", "20")),
+                Integer.parseInt(property("rooms-per-hotel", "50")),
+                Integer.parseInt(property("users", "100")),
+                Integer.parseInt(property("booking-window-days", "14")),
+                Integer.parseInt(property("max-stay-nights", "3")),
+                parseMix(property("mix", "book=50,cancel=10,hotel=30,search=10")),
+                Boolean.parseBoolean(property("virtual-threads", "false")),
+                Path.of(property("report-dir", "build/reports/loadtest")));
+    }
+
+    /**
+     * Parses weights like {@code book=50,hotel=50}, operations left out are never sent.
+     */
+    static Map<Operation, Integer> parseMix(String mix) {
+        Map<Operation, Integer> weights = new EnumMap<>(Operation.class);
+        for (String entry : mix.split(",")) {
+            String[] parts = entry.trim().split("=");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Mix entry must look like operation=weight: " + entry);
+            }
+            int weight = Integer.parseInt(parts[1].trim());
+            if (weight < 0) {
+                throw new IllegalArgumentException("Mix weight cannot be negative: " + entry);
+            }
+            weights.put(Operation.valueOf(parts[0].trim().toUpperCase()), weight);
+        }
+        if (weights.values().stream().mapToInt(Integer::intValue).sum() == 0) {
+            throw new IllegalArgumentException("Mix needs at least one operation with a positive weight");
+        }
+        return weights;
+    }
+
+    private static String property(String name, String defaultValue) {
+        return System.getProperty("loadtest." + name, defaultValue);
+    }
+}
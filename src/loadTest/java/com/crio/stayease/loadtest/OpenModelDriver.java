@@ -0,0 +1,198 @@
+package com.crio.stayease.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Open-model load generator. Requests are started on a fixed arrival schedule however many are still in flight,
+ * and every latency is measured from the moment the request was due rather than the moment it was sent, so the
+ * time a request spends waiting behind a slow server is not left out of the histogram (coordinated omission).
+ */
+class OpenModelDriver {
+
+    private final HttpClient httpClient;
+    private final ExecutorService clients;
+    private final URI baseUri;
+    private final LoadTestSettings settings;
+    private final SeededData seed;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final Operation[] schedule;
+    private final Queue<CreatedBooking> cancellable = new ConcurrentLinkedQueue<>();
+    private final AtomicLong acknowledgedBookings = new AtomicLong();
+    private final AtomicLong acknowledgedCancellations = new AtomicLong();
+
+    private Map<Operation, Recorder> recorders;
+    private Map<Operation, AtomicLongArray> outcomes;
+
+    OpenModelDriver(HttpClient httpClient, ExecutorService clients, URI baseUri, LoadTestSettings settings, SeededData seed) {
+        this.httpClient = httpClient;
+        this.clients = clients;
+        this.baseUri = baseUri;
+        this.settings = settings;
+        this.seed = seed;
+        List<Operation> weighted = new ArrayList<>();
+        settings.mix().forEach((operation, weight) -> {
+            for (int i = 0; i < weight; i++) {
+                weighted.add(operation);
+            }
+        });
+        this.schedule = weighted.toArray(Operation[]::new);
+    }
+
+    /**
+     * Drives the configured arrival rate for the given time and waits for every request to finish.
+     */
+    PhaseResult run(Duration duration) throws Exception {
+        recorders = new EnumMap<>(Operation.class);
+        outcomes = new EnumMap<>(Operation.class);
+        for (Operation operation : Operation.values()) {
+            recorders.put(operation, new Recorder(3));
+            outcomes.put(operation, new AtomicLongArray(Outcome.values().length));
+        }
+
+        List<Future<?>> running = new ArrayList<>();
+        long start = System.nanoTime();
+        for (long arrival = 0; ; arrival++) {
+            long due = start + (long) (arrival * 1_000_000_000.0 / settings.ratePerSecond());
+            if (due - start >= duration.toNanos()) {
+                break;
+            }
+            long wait = due - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            Operation operation = schedule[ThreadLocalRandom.current().nextInt(schedule.length)];
+            running.add(clients.submit(() -> execute(operation, due)));
+        }
+        for (Future<?> future : running) {
+            future.get();
+        }
+        long elapsed = System.nanoTime() - start;
+
+        Map<Operation, Histogram> histograms = new EnumMap<>(Operation.class);
+        recorders.forEach((operation, recorder) -> histograms.put(operation, recorder.getIntervalHistogram()));
+        Map<Operation, long[]> counts = new EnumMap<>(Operation.class);
+        outcomes.forEach((operation, array) -> {
+            long[] values = new long[array.length()];
+            for (int i = 0; i < values.length; i++) {
+                values[i] = array.get(i);
+            }
+            counts.put(operation, values);
+        });
+        return new PhaseResult(elapsed, histograms, counts);
+    }
+
+    long acknowledgedBookings() {
+        return acknowledgedBookings.get();
+    }
+
+    long acknowledgedCancellations() {
+        return acknowledgedCancellations.get();
+    }
+
+    private void execute(Operation operation, long due) {
+        CreatedBooking toCancel = null;
+        if (operation == Operation.CANCEL) {
+            toCancel = cancellable.poll();
+            if (toCancel == null) {
+                // Nothing booked yet, keep the arrival rate with a read instead
+                operation = Operation.HOTEL;
+            }
+        }
+        int user = ThreadLocalRandom.current().nextInt(seed.tokens().size());
+        int hotel = ThreadLocalRandom.current().nextInt(seed.hotelIds().size());
+        HttpRequest request = switch (operation) {
+            case BOOK -> book(user, hotel);
+            case CANCEL -> authorized(seed.managerTokens().get(toCancel.hotel()), "/bookings/cancel-booking/" + toCancel.bookingId())
+                    .PUT(HttpRequest.BodyPublishers.noBody()).build();
+            case HOTEL -> authorized(seed.tokens().get(user), "/hotels/" + seed.hotelIds().get(hotel)).GET().build();
+            case SEARCH -> authorized(seed.tokens().get(user), "/hotels/search?q=hotel+" + hotel).GET().build();
+        };
+
+        Outcome outcome;
+        String body = null;
+        try {
+            HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+            body = response.body();
+            outcome = classify(operation, response.statusCode());
+        } catch (IOException exception) {
+            outcome = Outcome.ERROR;
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            outcome = Outcome.ERROR;
+        }
+        recorders.get(operation).recordValue(Math.max(1, (System.nanoTime() - due) / 1_000));
+        outcomes.get(operation).incrementAndGet(outcome.ordinal());
+
+        if (outcome == Outcome.OK && operation == Operation.BOOK) {
+            acknowledgedBookings.incrementAndGet();
+            cancellable.add(new CreatedBooking(hotel, bookingId(body)));
+        } else if (outcome == Outcome.OK && operation == Operation.CANCEL) {
+            acknowledgedCancellations.incrementAndGet();
+        }
+    }
+
+    private HttpRequest book(int user, int hotel) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int nights = 1 + random.nextInt(settings.maxStayNights());
+        LocalDate checkIn = LocalDate.now().plusDays(random.nextInt(Math.max(1, settings.bookingWindowDays() - nights)));
+        String json = "{\"checkInDate\":\"" + checkIn + "\",\"checkOutDate\":\"" + checkIn.plusDays(nights) + "\"}";
+        return authorized(seed.tokens().get(user), "/bookings/hotels/" + seed.hotelIds().get(hotel))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(json))
+                .build();
+    }
+
+    private HttpRequest.Builder authorized(String token, String path) {
+        return HttpRequest.newBuilder(baseUri.resolve(baseUri.getPath() + path))
+                .header("Authorization", "Bearer " + token);
+    }
+
+    private long bookingId(String body) {
+        try {
+            return objectMapper.readTree(body).get("id").asLong();
+        } catch (IOException exception) {
+            throw new IllegalStateException("Created booking has no readable id: " + body, exception);
+        }
+    }
+
+    private static Outcome classify(Operation operation, int status) {
+        if (status >= 200 && status < 300) {
+            return Outcome.OK;
+        }
+        if (operation == Operation.BOOK && status == 409) {
+            return Outcome.SOLD_OUT;
+        }
+        return status < 500 ? Outcome.REJECTED : Outcome.ERROR;
+    }
+
+    private record CreatedBooking(int hotel, long bookingId) {
+    }
+
+    /**
+     * Latencies in microseconds and outcome counts, indexed by {@link Outcome#ordinal()}, of one phase.
+     */
+    record PhaseResult(long elapsedNanos, Map<Operation, Histogram> latencies, Map<Operation, long[]> outcomes) {
+    }
+}
@@ -0,0 +1,8 @@
+package com.crio.stayease.loadtest;
+
+enum Operation {
+    BOOK,
+    CANCEL,
+    HOTEL,
+    SEARCH
+}
@@ -0,0 +1,11 @@
+package com.crio.stayease.loadtest;
+
+/**
+ * How a request ended, sold out answers are expected under contention and kept apart from real failures.
+ */
+enum Outcome {
+    OK,
+    SOLD_OUT,
+    REJECTED,
+    ERROR
+}
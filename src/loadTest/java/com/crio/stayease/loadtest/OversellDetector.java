@@ -0,0 +1,86 @@
+package com.crio.stayease.loadtest;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Checks the booking invariants straight against the database once the load has stopped. No night may hold more
+ * live stays than the hotel has rooms, and the room count must equal the rooms left free tonight, so cancelled
+ * and checked out bookings must have handed their rooms back.
+ */
+class OversellDetector {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    OversellDetector(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    List<String> check(long acknowledgedBookings, long acknowledgedCancellations) {
+        List<String> violations = new ArrayList<>();
+        Map<Long, HotelRow> hotels = new HashMap<>();
+        jdbcTemplate.query("select id, rooms_count, total_rooms from hotel", row -> {
+            hotels.put(row.getLong("id"), new HotelRow(row.getInt("rooms_count"), row.getInt("total_rooms")));
+        });
+        List<BookingRow> bookings = jdbcTemplate.query(
+                "select hotel_id, booking_status, check_in_date, check_out_date from booking",
+                (row, index) -> new BookingRow(row.getLong("hotel_id"), row.getString("booking_status"),
+                        row.getObject("check_in_date", LocalDate.class), row.getObject("check_out_date", LocalDate.class)));
+
+        LocalDate today = LocalDate.now();
+        Map<Long, Integer> tonight = new HashMap<>();
+        Map<Long, Map<LocalDate, Integer>> nights = new HashMap<>();
+        long cancelled = 0;
+        for (BookingRow booking : bookings) {
+            if ("CANCELLED".equals(booking.status())) {
+                cancelled++;
+            }
+            if (!"ACTIVE".equals(booking.status()) && !"CHECKED_IN".equals(booking.status())) {
+                continue;
+            }
+            if (!booking.checkIn().isAfter(today) && booking.checkOut().isAfter(today)) {
+                tonight.merge(booking.hotelId(), 1, Integer::sum);
+            }
+            Map<LocalDate, Integer> perNight = nights.computeIfAbsent(booking.hotelId(), key -> new HashMap<>());
+            for (LocalDate night = booking.checkIn(); night.isBefore(booking.checkOut()); night = night.plusDays(1)) {
+                perNight.merge(night, 1, Integer::sum);
+            }
+        }
+
+        hotels.forEach((hotelId, hotel) -> {
+            int staysTonight = tonight.getOrDefault(hotelId, 0);
+            if (hotel.roomsCount() < 0) {
+                violations.add("Hotel " + hotelId + " has a negative room count " + hotel.roomsCount());
+            }
+            if (staysTonight != hotel.totalRooms() - hotel.roomsCount()) {
+                violations.add("Hotel " + hotelId + " has " + (hotel.totalRooms() - hotel.roomsCount())
+                        + " rooms taken tonight but " + staysTonight + " live stays cover tonight");
+            }
+            nights.getOrDefault(hotelId, Map.of()).forEach((night, booked) -> {
+                if (booked > hotel.totalRooms()) {
+                    violations.add("Hotel " + hotelId + " has " + booked + " rooms booked on " + night
+                            + " out of " + hotel.totalRooms());
+                }
+            });
+        });
+        if (bookings.size() != acknowledgedBookings) {
+            violations.add("Clients were told " + acknowledgedBookings + " bookings succeeded but " + bookings.size() + " exist");
+        }
+        if (cancelled != acknowledgedCancellations) {
+            violations.add("Clients were told " + acknowledgedCancellations + " cancellations succeeded but "
+                    + cancelled + " bookings are cancelled");
+        }
+        return violations;
+    }
+
+    private record HotelRow(int roomsCount, int totalRooms) {
+    }
+
+    private record BookingRow(long hotelId, String status, LocalDate checkIn, LocalDate checkOut) {
+    }
+}
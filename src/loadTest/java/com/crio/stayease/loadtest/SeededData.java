@@ -0,0 +1,10 @@
+package com.crio.stayease.loadtest;
+
+import java.util.List;
+
+/**
+ * Hotels and tokens created before the run. A customer is addressed by its index in {@code tokens}, the manager
+ * of a hotel shares the index of the hotel.
+ */
+record SeededData(List<Long> hotelIds, List<String> managerTokens, List<String> tokens) {
+}
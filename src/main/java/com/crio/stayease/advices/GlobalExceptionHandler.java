@@ -1,7 +1,12 @@
 package com.crio.stayease.advices;
 
+import com.crio.stayease.exception.IdempotencyKeyReusedException;
+import com.crio.stayease.exception.NoAvailableRoomsException;
+import com.crio.stayease.exception.PasswordHashingBusyException;
 import com.crio.stayease.exception.ResourceNotFoundException;
 import io.jsonwebtoken.JwtException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.AuthenticationException;
@@ -19,6 +24,24 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(apiError,apiError.getHttpStatus());
     }
 
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<ApiError> handleIllegalArgumentException(IllegalArgumentException exception){
+        ApiError apiError=new ApiError(exception.getMessage(),HttpStatus.BAD_REQUEST);
+        return new ResponseEntity<>(apiError,apiError.getHttpStatus());
+    }
+
+    @ExceptionHandler(NoAvailableRoomsException.class)
+    public ResponseEntity<ApiError> handleNoAvailableRoomsException(NoAvailableRoomsException exception){
+        ApiError apiError=new ApiError(exception.getMessage(),HttpStatus.CONFLICT);
+        return new ResponseEntity<>(apiError,apiError.getHttpStatus());
+    }
+
+    @ExceptionHandler(IdempotencyKeyReusedException.class)
+    public ResponseEntity<ApiError> handleIdempotencyKeyReusedException(IdempotencyKeyReusedException exception){
+        ApiError apiError=new ApiError(exception.getMessage(),HttpStatus.UNPROCESSABLE_ENTITY);
+        return new ResponseEntity<>(apiError,apiError.getHttpStatus());
+    }
+
     @ExceptionHandler(AuthenticationException.class)
     public ResponseEntity<ApiError> handleAuthenticationException(AuthenticationException exception){
         ApiError apiError=new ApiError(exception.getMessage(),HttpStatus.UNAUTHORIZED);
@@ -35,6 +58,18 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(apiError,apiError.getHttpStatus());
     }
 
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<ApiError> handleOptimisticLockingFailureException(OptimisticLockingFailureException exception){
+        ApiError apiError=new ApiError("The resource was changed by another request, reload it and try again",HttpStatus.CONFLICT);
+        return new ResponseEntity<>(apiError,apiError.getHttpStatus());
+    }
+
+    @ExceptionHandler(PasswordHashingBusyException.class)
+    public ResponseEntity<ApiError> handlePasswordHashingBusyException(PasswordHashingBusyException exception){
+        ApiError apiError=new ApiError(exception.getMessage(),HttpStatus.SERVICE_UNAVAILABLE);
+        return ResponseEntity.status(apiError.getHttpStatus()).header(HttpHeaders.RETRY_AFTER,"1").body(apiError);
+    }
+
     @ExceptionHandler(Exception.class)
     public ResponseEntity<ApiError> handleException(Exception exception){
         ApiError apiError=new ApiError(exception.getMessage(), HttpStatus.INTERNAL_SERVER_ERROR);
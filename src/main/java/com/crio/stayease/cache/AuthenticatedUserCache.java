@@ -0,0 +1,71 @@
+package com.crio.stayease.cache;
+
+import com.crio.stayease.entity.User;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.Date;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Users of already verified access tokens, keyed by the token digest. Every change to a user bumps
+ * its version, which turns all cached entries of that user stale.
+ */
+@Component
+public class AuthenticatedUserCache {
+
+    private final BoundedTtlCache<String,CachedUser> users;
+    private final ConcurrentHashMap<Long,Long> userVersions=new ConcurrentHashMap<>();
+
+    public AuthenticatedUserCache(@Value("${stayease.auth.user-cache.max-entries:10000}") int maxEntries,
+                                  @Value("${stayease.auth.user-cache.ttl-ms:600000}") long ttlMillis){
+        this.users=new BoundedTtlCache<>(maxEntries,ttlMillis);
+    }
+
+    public User get(String token){
+        CachedUser cached=users.get(digest(token));
+        if(cached==null || cached.version()!=currentVersion(cached.user().getId())){
+            return null;
+        }
+        return cached.user();
+    }
+
+    public void put(String token, User user, long version, Date expiresAt){
+        users.put(digest(token),new CachedUser(user,version),expiresAt.getTime());
+    }
+
+    public long currentVersion(Long userId){
+        return userVersions.getOrDefault(userId,0L);
+    }
+
+    public void invalidateUser(Long userId){
+        userVersions.merge(userId,1L,Long::sum);
+        if(TransactionSynchronizationManager.isSynchronizationActive()){
+            // Users reloaded before the change commits would otherwise be cached under the new version
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    userVersions.merge(userId,1L,Long::sum);
+                }
+            });
+        }
+    }
+
+    private String digest(String token){
+        try{
+            byte[] hash=MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(hash);
+        }catch(NoSuchAlgorithmException exception){
+            throw new IllegalStateException("SHA-256 is not available",exception);
+        }
+    }
+
+    private record CachedUser(User user, long version) {
+    }
+}
@@ -0,0 +1,77 @@
+package com.crio.stayease.cache;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Fixed size Bloom filter of strings. Adding is lock free, and a string never added is reported absent with the
+ * false positive rate it was sized for as long as no more than the expected number of strings were added.
+ */
+class BloomFilter {
+
+    private final AtomicLongArray words;
+    private final long bits;
+    private final int hashes;
+
+    BloomFilter(long expectedInsertions, double falsePositiveRate){
+        long expected=Math.max(1,expectedInsertions);
+        long optimalBits=(long)Math.ceil(-expected*Math.log(falsePositiveRate)/(Math.log(2)*Math.log(2)));
+        int wordCount=(int)Math.min(Integer.MAX_VALUE-8,(Math.max(64,optimalBits)+63)/64);
+        this.words=new AtomicLongArray(wordCount);
+        this.bits=wordCount*64L;
+        this.hashes=Math.max(1,(int)Math.round((double)bits/expected*Math.log(2)));
+    }
+
+    void add(String value){
+        long hash=hash(value);
+        long h1=mix(hash);
+        long h2=mix(hash^0x9E3779B97F4A7C15L)|1;
+        for(int i=0;i<hashes;i++){
+            long bit=Math.floorMod(h1+i*h2,bits);
+            int word=(int)(bit>>>6);
+            long mask=1L<<bit;
+            long current=words.get(word);
+            while((current&mask)==0 && !words.compareAndSet(word,current,current|mask)){
+                current=words.get(word);
+            }
+        }
+    }
+
+    boolean mightContain(String value){
+        long hash=hash(value);
+        long h1=mix(hash);
+        long h2=mix(hash^0x9E3779B97F4A7C15L)|1;
+        for(int i=0;i<hashes;i++){
+            long bit=Math.floorMod(h1+i*h2,bits);
+            if((words.get((int)(bit>>>6))&(1L<<bit))==0){
+                return false;
+            }
+        }
+        return true;
+    }
+
+    long bitSize(){
+        return bits;
+    }
+
+    int hashCount(){
+        return hashes;
+    }
+
+    // 64-bit FNV-1a over the UTF-8 bytes
+    private static long hash(String value){
+        long hash=0xcbf29ce484222325L;
+        for(byte b:value.getBytes(StandardCharsets.UTF_8)){
+            hash^=b&0xff;
+            hash*=0x100000001b3L;
+        }
+        return hash;
+    }
+
+    // Finalizer of SplitMix64, spreads the FNV bits over the whole word
+    private static long mix(long z){
+        z=(z^(z>>>30))*0xBF58476D1CE4E5B9L;
+        z=(z^(z>>>27))*0x94D049BB133111EBL;
+        return z^(z>>>31);
+    }
+}
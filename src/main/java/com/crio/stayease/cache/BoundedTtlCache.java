@@ -0,0 +1,111 @@
+package com.crio.stayease.cache;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Size bounded, least recently used cache whose entries also expire after a time to live.
+ */
+public class BoundedTtlCache<K,V> {
+
+    private final int maxSize;
+    private final long ttlMillis;
+    private final ReentrantLock lock=new ReentrantLock();
+    private final LinkedHashMap<K,Entry<V>> entries;
+    private final LongAdder hits=new LongAdder();
+    private final LongAdder misses=new LongAdder();
+    private final LongAdder evictions=new LongAdder();
+
+    public BoundedTtlCache(int maxSize, long ttlMillis){
+        this.maxSize=maxSize;
+        this.ttlMillis=ttlMillis;
+        this.entries=new LinkedHashMap<>(16,0.75f,true);
+    }
+
+    public V get(K key){
+        long now=System.currentTimeMillis();
+        lock.lock();
+        try{
+            Entry<V> entry=entries.get(key);
+            if(entry==null){
+                misses.increment();
+                return null;
+            }
+            if(entry.expiresAt<=now){
+                entries.remove(key);
+                evictions.increment();
+                misses.increment();
+                return null;
+            }
+            hits.increment();
+            return entry.value;
+        }finally {
+            lock.unlock();
+        }
+    }
+
+    public void put(K key, V value){
+        put(key,value,System.currentTimeMillis()+ttlMillis);
+    }
+
+    public void put(K key, V value, long expiresAt){
+        long bounded=Math.min(expiresAt,System.currentTimeMillis()+ttlMillis);
+        lock.lock();
+        try{
+            entries.put(key,new Entry<>(value,bounded));
+            if(entries.size()>maxSize){
+                Iterator<Map.Entry<K,Entry<V>>> eldest=entries.entrySet().iterator();
+                eldest.next();
+                eldest.remove();
+                evictions.increment();
+            }
+        }finally {
+            lock.unlock();
+        }
+    }
+
+    public void invalidate(K key){
+        lock.lock();
+        try{
+            entries.remove(key);
+        }finally {
+            lock.unlock();
+        }
+    }
+
+    public void invalidateAll(){
+        lock.lock();
+        try{
+            entries.clear();
+        }finally {
+            lock.unlock();
+        }
+    }
+
+    public int size(){
+        lock.lock();
+        try{
+            return entries.size();
+        }finally {
+            lock.unlock();
+        }
+    }
+
+    public long getHitCount(){
+        return hits.sum();
+    }
+
+    public long getMissCount(){
+        return misses.sum();
+    }
+
+    public long getEvictionCount(){
+        return evictions.sum();
+    }
+
+    private record Entry<V>(V value, long expiresAt) {
+    }
+}
@@ -0,0 +1,89 @@
+package com.crio.stayease.cache;
+
+import com.crio.stayease.dto.CacheStatsDto;
+import com.crio.stayease.dto.HotelDto;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Mapped hotels keyed by hotel id. Entries carry the version read before the hotel was loaded, so a
+ * hotel loaded while it was being changed never outlives the change.
+ */
+@Component
+public class HotelCache {
+
+    private final BoundedTtlCache<Long,CachedHotel> hotels;
+    private final ConcurrentHashMap<Long,Long> hotelVersions=new ConcurrentHashMap<>();
+    private final AtomicLong generation=new AtomicLong();
+
+    public HotelCache(@Value("${stayease.hotel-cache.max-entries:5000}") int maxEntries,
+                      @Value("${stayease.hotel-cache.ttl-ms:300000}") long ttlMillis){
+        this.hotels=new BoundedTtlCache<>(maxEntries,ttlMillis);
+    }
+
+    public HotelDto get(Long hotelId){
+        CachedHotel cached=hotels.get(hotelId);
+        if(cached==null || cached.version()!=currentVersion(hotelId)){
+            return null;
+        }
+        return cached.hotel();
+    }
+
+    public void put(Long hotelId, HotelDto hotel, long version){
+        hotels.put(hotelId,new CachedHotel(hotel,version));
+    }
+
+    public long currentVersion(Long hotelId){
+        return generation.get()+hotelVersions.getOrDefault(hotelId,0L);
+    }
+
+    public void invalidate(Long hotelId){
+        bump(hotelId);
+        if(TransactionSynchronizationManager.isSynchronizationActive()){
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    bump(hotelId);
+                }
+            });
+        }
+    }
+
+    /**
+     * Drops every hotel, used when a user changes since hotels embed their manager.
+     */
+    public void invalidateAll(){
+        generation.incrementAndGet();
+        hotels.invalidateAll();
+        if(TransactionSynchronizationManager.isSynchronizationActive()){
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    generation.incrementAndGet();
+                    hotels.invalidateAll();
+                }
+            });
+        }
+    }
+
+    public CacheStatsDto stats(){
+        long hitCount=hotels.getHitCount();
+        long missCount=hotels.getMissCount();
+        long requests=hitCount+missCount;
+        return new CacheStatsDto(hotels.size(),hitCount,missCount,hotels.getEvictionCount(),
+                requests==0 ? 0.0 : (double)hitCount/requests);
+    }
+
+    private void bump(Long hotelId){
+        hotelVersions.merge(hotelId,1L,Long::sum);
+        hotels.invalidate(hotelId);
+    }
+
+    private record CachedHotel(HotelDto hotel, long version) {
+    }
+}
@@ -0,0 +1,112 @@
+package com.crio.stayease.cache;
+
+import com.crio.stayease.repository.UserRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Bloom filter of every registered email, so that a signup for an email nobody registered is answered
+ * without a query. It only ever says "definitely not registered" or "maybe", the database stays the authority
+ * for every maybe. The filter only knows the signups of this instance since its last rebuild, so logins always
+ * ask the database; a signup it wrongly lets through still fails on the unique email column. Deleted emails
+ * cannot be taken out of a Bloom filter, so it is rebuilt from the user table on a fixed delay, sized for the
+ * users there at that point.
+ */
+@Component
+@Slf4j
+public class RegisteredEmailFilter {
+
+    private static final int REBUILD_CHUNK_SIZE=1000;
+    // Longer than any signup transaction, so an email added before a rebuild but committed after its scan survives it
+    private static final long RECENT_WINDOW_MS=300_000;
+
+    private final UserRepository userRepository;
+    private final double falsePositiveRate;
+    private final int minCapacity;
+
+    private final ConcurrentHashMap<String,Long> recentlyAdded=new ConcurrentHashMap<>();
+    private volatile BloomFilter filter;
+
+    public RegisteredEmailFilter(UserRepository userRepository,
+                                 @Value("${stayease.email-filter.false-positive-rate:0.01}") double falsePositiveRate,
+                                 @Value("${stayease.email-filter.min-capacity:10000}") int minCapacity){
+        this.userRepository=userRepository;
+        this.falsePositiveRate=falsePositiveRate;
+        this.minCapacity=minCapacity;
+    }
+
+    /**
+     * False only when the email was never registered, true until the first build has finished.
+     */
+    public boolean mightBeRegistered(String email){
+        BloomFilter current=filter;
+        return email==null || current==null || current.mightContain(normalize(email));
+    }
+
+    /**
+     * Adds an email ahead of saving it. An email whose save fails stays in the filter until the next rebuild,
+     * which only costs a query, while adding after the commit could turn away a login that races the signup.
+     */
+    public void add(String email){
+        if(email==null){
+            return;
+        }
+        String normalized=normalize(email);
+        recentlyAdded.put(normalized,System.currentTimeMillis());
+        BloomFilter current=filter;
+        if(current!=null){
+            current.add(normalized);
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(initialDelayString = "${stayease.email-filter.rebuild-interval-ms:3600000}",
+            fixedDelayString = "${stayease.email-filter.rebuild-interval-ms:3600000}")
+    public synchronized void rebuild(){
+        long cutoff=System.currentTimeMillis()-RECENT_WINDOW_MS;
+        long users=userRepository.count();
+        // Room to double before the false positive rate degrades
+        BloomFilter next=new BloomFilter(Math.max(minCapacity,users*2),falsePositiveRate);
+        long lastId=0;
+        int loaded=0;
+        List<UserRepository.UserEmail> chunk;
+        do{
+            chunk=userRepository.findEmailsByIdGreaterThan(lastId,Limit.of(REBUILD_CHUNK_SIZE));
+            for(UserRepository.UserEmail user:chunk){
+                next.add(normalize(user.getEmail()));
+                lastId=user.getId();
+            }
+            loaded+=chunk.size();
+        }while(chunk.size()==REBUILD_CHUNK_SIZE);
+
+        carryOverRecent(next,cutoff);
+        filter=next;
+        // Adds racing the swap may have gone to the old filter only
+        carryOverRecent(next,cutoff);
+        log.info("Built registered email filter of {} emails with {} bits and {} hashes",loaded,next.bitSize(),next.hashCount());
+    }
+
+    private void carryOverRecent(BloomFilter next, long cutoff){
+        recentlyAdded.forEach((email,addedAt)->{
+            if(addedAt<cutoff){
+                recentlyAdded.remove(email,addedAt);
+            }else{
+                next.add(email);
+            }
+        });
+    }
+
+    // Emails are unique regardless of case in the database
+    private static String normalize(String email){
+        return email.trim().toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,84 @@
+package com.crio.stayease.configs;
+
+import com.crio.stayease.exception.PasswordHashingBusyException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.*;
+
+/**
+ * Runs every hash and comparison of the delegate on a small fixed pool with a bounded queue, so a burst of logins
+ * or signups keeps at most one CPU-bound hash per core going instead of one per request thread. When the queue is
+ * full, or a hash does not finish within the wait limit, the call fails fast with
+ * {@link PasswordHashingBusyException}.
+ */
+public class BoundedPasswordEncoder implements PasswordEncoder {
+
+    private final PasswordEncoder delegate;
+    private final ExecutorService executor;
+    private final long maxWaitMillis;
+    private final Timer encodeTimer;
+    private final Timer matchesTimer;
+    private final Counter rejections;
+
+    public BoundedPasswordEncoder(PasswordEncoder delegate, ExecutorService executor, long maxWaitMillis, MeterRegistry meterRegistry){
+        this.delegate=delegate;
+        this.executor=executor;
+        this.maxWaitMillis=maxWaitMillis;
+        this.encodeTimer=Timer.builder("stayease.password.hashing").tag("operation","encode")
+                .description("Time from asking for a hash to getting it, queueing included")
+                .register(meterRegistry);
+        this.matchesTimer=Timer.builder("stayease.password.hashing").tag("operation","matches")
+                .description("Time from asking for a hash to getting it, queueing included")
+                .register(meterRegistry);
+        this.rejections=Counter.builder("stayease.password.hashing.rejected")
+                .description("Hashes refused because the hashing pool was saturated")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return run(()->delegate.encode(rawPassword),encodeTimer);
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return run(()->delegate.matches(rawPassword,encodedPassword),matchesTimer);
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+
+    private <T> T run(Callable<T> hash, Timer timer){
+        long start=System.nanoTime();
+        Future<T> future;
+        try{
+            future=executor.submit(hash);
+        }catch(RejectedExecutionException exception){
+            rejections.increment();
+            throw new PasswordHashingBusyException("Too many sign ins right now, please try again shortly");
+        }
+        try{
+            return future.get(maxWaitMillis,TimeUnit.MILLISECONDS);
+        }catch(TimeoutException exception){
+            future.cancel(true);
+            rejections.increment();
+            throw new PasswordHashingBusyException("Too many sign ins right now, please try again shortly");
+        }catch(InterruptedException exception){
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new PasswordHashingBusyException("Interrupted while waiting for the password to be checked");
+        }catch(ExecutionException exception){
+            if(exception.getCause() instanceof RuntimeException runtimeException){
+                throw runtimeException;
+            }
+            throw new IllegalStateException(exception.getCause());
+        }finally {
+            timer.record(System.nanoTime()-start,TimeUnit.NANOSECONDS);
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package com.crio.stayease.configs;
+
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.dialect.MySQLDialect;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Turns the event_type column of the outbox into a plain varchar on MySQL. The schema update created it as a native
+ * enum of the event types that existed then and never widens it, so an event type added later could not be stored.
+ * Runs after the schema update and before the server takes requests, and does nothing once the column is a varchar.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class EventTypeColumnMigration implements SmartInitializingSingleton {
+
+    private final EntityManagerFactory entityManagerFactory;
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void afterSingletonsInstantiated(){
+        SessionFactoryImplementor sessionFactory=entityManagerFactory.unwrap(SessionFactoryImplementor.class);
+        if(!(sessionFactory.getJdbcServices().getDialect() instanceof MySQLDialect)){
+            return;
+        }
+        List<String> types=jdbcTemplate.queryForList("select data_type from information_schema.columns where table_schema=database() " +
+                "and table_name='outbox_event' and column_name='event_type'",String.class);
+        if(types.isEmpty() || !"enum".equalsIgnoreCase(types.get(0))){
+            return;
+        }
+        jdbcTemplate.execute("alter table outbox_event modify event_type varchar(255) not null");
+        log.info("Changed the outbox event_type column from an enum to a varchar");
+    }
+}
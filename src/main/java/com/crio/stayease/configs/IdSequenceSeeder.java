@@ -0,0 +1,79 @@
+package com.crio.stayease.configs;
+
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.boot.model.relational.SqlStringGenerationContext;
+import org.hibernate.dialect.Dialect;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.id.enhanced.DatabaseStructure;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
+import org.hibernate.persister.entity.AbstractEntityPersister;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Moves every pooled id sequence past the ids already stored in its table. Booking and guest ids used to come from
+ * identity columns, so on an existing database the schema update creates their sequences (plain tables on MySQL)
+ * starting at 1 and the first inserts would collide with old rows. The pooled optimizer hands out the block
+ * {@code next-increment+1..next}, so a sequence is only safe once its next value is at least
+ * {@code max(id)+increment}. Runs after the schema update and before the server takes requests, and never moves a
+ * sequence backwards.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class IdSequenceSeeder implements SmartInitializingSingleton {
+
+    private final EntityManagerFactory entityManagerFactory;
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void afterSingletonsInstantiated(){
+        SessionFactoryImplementor sessionFactory=entityManagerFactory.unwrap(SessionFactoryImplementor.class);
+        Dialect dialect=sessionFactory.getJdbcServices().getDialect();
+        SqlStringGenerationContext context=sessionFactory.getSqlStringGenerationContext();
+        sessionFactory.getMappingMetamodel().forEachEntityDescriptor(persister->{
+            if(persister.getGenerator() instanceof SequenceStyleGenerator generator
+                    && persister instanceof AbstractEntityPersister entityPersister){
+                seed(generator.getDatabaseStructure(),entityPersister,dialect,context);
+            }
+        });
+    }
+
+    private void seed(DatabaseStructure structure, AbstractEntityPersister persister, Dialect dialect,
+                      SqlStringGenerationContext context){
+        String sequence=context.format(structure.getPhysicalName());
+        Long maxId=jdbcTemplate.queryForObject("select max("+persister.getIdentifierColumnNames()[0]+") from "
+                +persister.getIdentifierTableName(),Long.class);
+        if(maxId==null){
+            return;
+        }
+        long required=maxId+structure.getIncrementSize();
+        if(structure.isPhysicalSequence()){
+            // Jumping forward with nextval instead of restarting the sequence stays safe when several instances start
+            // at once: a jump that raced another instance's increment is simply checked and repeated
+            String nextValue=dialect.getSequenceSupport().getSequenceNextValString(sequence);
+            long next=jdbcTemplate.queryForObject(nextValue,Long.class);
+            if(next>=required){
+                return;
+            }
+            while(next<required){
+                jdbcTemplate.execute("alter sequence "+sequence+" increment by "+(required-next));
+                try{
+                    next=jdbcTemplate.queryForObject(nextValue,Long.class);
+                }finally {
+                    jdbcTemplate.execute("alter sequence "+sequence+" increment by "+structure.getIncrementSize());
+                }
+            }
+        }else{
+            int updated=jdbcTemplate.update("update "+sequence+" set "+SequenceStyleGenerator.DEF_VALUE_COLUMN+"=? where "
+                    +SequenceStyleGenerator.DEF_VALUE_COLUMN+"<?",required,required);
+            if(updated==0){
+                return;
+            }
+        }
+        log.info("Moved id sequence {} past the existing ids of {} to {}",sequence,persister.getIdentifierTableName(),required);
+    }
+}
@@ -0,0 +1,29 @@
+package com.crio.stayease.configs;
+
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.config.MeterFilter;
+import io.micrometer.core.instrument.distribution.DistributionStatisticConfig;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class MetricsConfig {
+
+    @Bean
+    MeterFilter bookingEndpointHistograms(){
+        return new MeterFilter() {
+            @Override
+            public DistributionStatisticConfig configure(Meter.Id id, DistributionStatisticConfig config) {
+                String uri=id.getTag("uri");
+                if(!"http.server.requests".equals(id.getName()) || uri==null || !uri.startsWith("/bookings")){
+                    return config;
+                }
+                return DistributionStatisticConfig.builder()
+                        .percentilesHistogram(true)
+                        .percentiles(0.5,0.95,0.99)
+                        .build()
+                        .merge(config);
+            }
+        };
+    }
+}
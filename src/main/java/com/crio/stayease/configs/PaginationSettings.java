@@ -0,0 +1,29 @@
+package com.crio.stayease.configs;
+
+import lombok.Getter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+@Component
+@Getter
+public class PaginationSettings {
+
+    @Value("${stayease.pagination.default-page-size:20}")
+    private int defaultPageSize=20;
+
+    @Value("${stayease.pagination.max-page-size:100}")
+    private int maxPageSize=100;
+
+    @Value("${stayease.pagination.stream-chunk-size:500}")
+    private int streamChunkSize=500;
+
+    public int resolvePageSize(Integer requested){
+        if(requested==null){
+            return defaultPageSize;
+        }
+        if(requested<1){
+            throw new IllegalArgumentException("Page size must be at least 1!");
+        }
+        return Math.min(requested,maxPageSize);
+    }
+}
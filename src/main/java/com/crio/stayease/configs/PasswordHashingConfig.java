@@ -0,0 +1,39 @@
+package com.crio.stayease.configs;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+@Configuration
+public class PasswordHashingConfig {
+
+    @Bean(destroyMethod = "shutdown")
+    ExecutorService passwordHashingExecutor(@Value("${stayease.password.hashing-threads:0}") int threads,
+                                            @Value("${stayease.password.queue-capacity:64}") int queueCapacity,
+                                            MeterRegistry meterRegistry){
+        int poolSize=threads>0 ? threads : Runtime.getRuntime().availableProcessors();
+        ThreadPoolExecutor executor=new ThreadPoolExecutor(poolSize,poolSize,0L,TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                Thread.ofPlatform().daemon().name("password-hashing-",0).factory(),
+                new ThreadPoolExecutor.AbortPolicy());
+        // Queue depth, active threads and task timings as executor.* meters tagged name=password.hashing
+        return ExecutorServiceMetrics.monitor(meterRegistry,executor,"password.hashing");
+    }
+
+    @Bean
+    PasswordEncoder passwordEncoder(ExecutorService passwordHashingExecutor,
+                                    @Value("${stayease.password.bcrypt-strength:10}") int strength,
+                                    @Value("${stayease.password.max-wait-ms:2000}") long maxWaitMillis,
+                                    MeterRegistry meterRegistry){
+        return new BoundedPasswordEncoder(new BCryptPasswordEncoder(strength),passwordHashingExecutor,maxWaitMillis,meterRegistry);
+    }
+}
@@ -0,0 +1,25 @@
+package com.crio.stayease.configs;
+
+import org.springframework.boot.task.ThreadPoolTaskSchedulerBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+
+/**
+ * Scheduled jobs that name no scheduler share {@code taskScheduler}, sized by {@code spring.task.scheduling.pool.size}.
+ * It is declared here because declaring any scheduler turns off the one Spring Boot would create. Jobs that pause
+ * between chunks get a scheduler of their own so they never hold up the short ones.
+ */
+@Configuration
+public class SchedulingConfig {
+
+    @Bean
+    ThreadPoolTaskScheduler taskScheduler(ThreadPoolTaskSchedulerBuilder builder){
+        return builder.build();
+    }
+
+    @Bean
+    ThreadPoolTaskScheduler noShowScheduler(ThreadPoolTaskSchedulerBuilder builder){
+        return builder.poolSize(1).threadNamePrefix("no-show-").build();
+    }
+}
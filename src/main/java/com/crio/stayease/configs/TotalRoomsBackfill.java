@@ -0,0 +1,35 @@
+package com.crio.stayease.configs;
+
+import com.crio.stayease.entity.enums.BookingStatus;
+import com.crio.stayease.repository.HotelRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.EnumSet;
+
+/**
+ * Fills in the capacity of hotels created before {@code totalRooms} existed. Their {@code roomsCount} is the number
+ * of rooms free tonight, so the capacity is those rooms plus the live bookings staying tonight. Runs before the
+ * server takes requests, so availability, stats and the inventory reconciler can rely on every hotel having one.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class TotalRoomsBackfill implements SmartInitializingSingleton {
+
+    private final HotelRepository hotelRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    @Override
+    public void afterSingletonsInstantiated(){
+        Integer updated=transactionTemplate.execute(status->hotelRepository.backfillTotalRooms(
+                EnumSet.of(BookingStatus.ACTIVE,BookingStatus.CHECKED_IN),LocalDate.now()));
+        if(updated!=null && updated>0){
+            log.info("Filled in the total rooms of {} hotels",updated);
+        }
+    }
+}
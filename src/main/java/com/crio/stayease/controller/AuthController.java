@@ -33,20 +33,26 @@ public class AuthController {
     @PostMapping("/login")
     public ResponseEntity<LoginResponseDto> login(@RequestBody LoginDto loginDto, HttpServletResponse httpServletResponse){
         LoginResponseDto loginResponseDto=authService.login(loginDto);
-        Cookie cookie=new Cookie("refreshToken",loginResponseDto.getRefreshToken());
-        cookie.setHttpOnly(true);
-        httpServletResponse.addCookie(cookie);
+        httpServletResponse.addCookie(refreshTokenCookie(loginResponseDto.getRefreshToken()));
         return ResponseEntity.ok(loginResponseDto);
     }
 
     @PostMapping("/refresh")
-    public ResponseEntity<LoginResponseDto> refresh(HttpServletRequest httpServletRequest){
+    public ResponseEntity<LoginResponseDto> refresh(HttpServletRequest httpServletRequest, HttpServletResponse httpServletResponse){
         String refreshToken= Arrays.stream(httpServletRequest.getCookies())
                 .filter(cookie->"refreshToken".equals(cookie.getName()))
                 .findFirst()
                 .map(cookie -> cookie.getValue())
                 .orElseThrow(()->new AuthenticationServiceException("Refresh token not found inside Cookie"));
 
-        return ResponseEntity.ok(authService.refreshToken(refreshToken));
+        LoginResponseDto loginResponseDto=authService.refreshToken(refreshToken);
+        httpServletResponse.addCookie(refreshTokenCookie(loginResponseDto.getRefreshToken()));
+        return ResponseEntity.ok(loginResponseDto);
+    }
+
+    private Cookie refreshTokenCookie(String refreshToken){
+        Cookie cookie=new Cookie("refreshToken",refreshToken);
+        cookie.setHttpOnly(true);
+        return cookie;
     }
 }
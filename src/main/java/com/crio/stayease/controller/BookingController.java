@@ -2,13 +2,22 @@ package com.crio.stayease.controller;
 
 import com.crio.stayease.dto.AddGuestRequest;
 import com.crio.stayease.dto.BookingDto;
+import com.crio.stayease.dto.BulkBookingRequest;
+import com.crio.stayease.dto.BulkBookingResultDto;
+import com.crio.stayease.dto.CreateBookingRequest;
+import com.crio.stayease.dto.CursorPageDto;
 import com.crio.stayease.dto.RemoveGuestRequest;
+import com.crio.stayease.dto.ReplaceGuestsRequest;
 import com.crio.stayease.dto.UpdateBookingStatusRequest;
 import com.crio.stayease.service.BookingService;
+import com.crio.stayease.service.IdempotencyService;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 
@@ -18,15 +27,28 @@ import java.util.List;
 public class BookingController {
 
     private final BookingService bookingService;
+    private final IdempotencyService idempotencyService;
+    private final ObjectMapper objectMapper;
 
     @PostMapping("/hotels/{hotelId}")
-    public ResponseEntity<BookingDto> createNewBooking(@PathVariable Long hotelId){
-        return new ResponseEntity<>(bookingService.createNewBooking(hotelId), HttpStatus.CREATED);
+    public ResponseEntity<BookingDto> createNewBooking(@PathVariable Long hotelId, @RequestBody(required = false) CreateBookingRequest request,
+                                                       @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey){
+        return new ResponseEntity<>(idempotencyService.execute(idempotencyKey,"create-booking:"+hotelId,request,BookingDto.class,
+                ()->bookingService.createNewBooking(hotelId,request)), HttpStatus.CREATED);
+    }
+
+    @PostMapping("/bulk")
+    public ResponseEntity<List<BulkBookingResultDto>> createBulkBookings(@RequestBody BulkBookingRequest request){
+        return ResponseEntity.ok(bookingService.createBulkBookings(request));
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<BookingDto> getBookingById(@PathVariable Long id){
-        return ResponseEntity.ok(bookingService.getBookingById(id));
+    public ResponseEntity<BookingDto> getBookingById(@PathVariable Long id, WebRequest request){
+        String eTag=bookingService.findBookingVersionTag(id).map(tag->"\"booking-"+id+"-"+tag+"\"").orElse(null);
+        if(eTag!=null && request.checkNotModified(eTag)){
+            return null;
+        }
+        return ResponseEntity.ok().eTag(eTag).body(bookingService.getBookingById(id));
     }
 
     @GetMapping("/users/{userId}")
@@ -34,6 +56,18 @@ public class BookingController {
         return ResponseEntity.ok(bookingService.getAllBookingsOfUser(userId));
     }
 
+    @GetMapping("/users/{userId}/page")
+    public ResponseEntity<CursorPageDto<BookingDto>> getBookingsPageOfUser(@PathVariable Long userId,
+                                                                           @RequestParam(required = false) Long after,
+                                                                           @RequestParam(required = false) Integer size){
+        return ResponseEntity.ok(bookingService.getBookingsPageOfUser(userId,after,size));
+    }
+
+    @GetMapping(value = "/users/{userId}/stream",produces = NdjsonResponses.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamAllBookingsOfUser(@PathVariable Long userId){
+        return NdjsonResponses.of(objectMapper,bookingService.streamAllBookingsOfUser(userId));
+    }
+
     @PutMapping("/update-booking_status/{id}")
     public ResponseEntity<BookingDto> updateBookingStatusById(@PathVariable Long id, @RequestBody UpdateBookingStatusRequest request){
         return ResponseEntity.ok(bookingService.updateBookingStatusById(id,request));
@@ -51,8 +85,10 @@ public class BookingController {
     }
 
     @PostMapping("/add-guests/{id}")
-    public ResponseEntity<BookingDto> addGuests(@PathVariable Long id, @RequestBody AddGuestRequest request){
-        return ResponseEntity.ok(bookingService.addGuests(id,request));
+    public ResponseEntity<BookingDto> addGuests(@PathVariable Long id, @RequestBody AddGuestRequest request,
+                                                @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey){
+        return ResponseEntity.ok(idempotencyService.execute(idempotencyKey,"add-guests:"+id,request,BookingDto.class,
+                ()->bookingService.addGuests(id,request)));
     }
 
     @PutMapping("/remove-guests/{id}")
@@ -60,9 +96,16 @@ public class BookingController {
         return ResponseEntity.ok(bookingService.removeGuests(id,request));
     }
 
+    @PutMapping("/replace-guests/{id}")
+    public ResponseEntity<BookingDto> replaceGuests(@PathVariable Long id, @RequestBody ReplaceGuestsRequest request){
+        return ResponseEntity.ok(bookingService.replaceGuests(id,request));
+    }
+
     @PatchMapping("/check-in-booking/{id}")
-    public ResponseEntity<BookingDto> checkInBooking(@PathVariable Long id){
-        return ResponseEntity.ok(bookingService.checkInBooking(id));
+    public ResponseEntity<BookingDto> checkInBooking(@PathVariable Long id,
+                                                     @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey){
+        return ResponseEntity.ok(idempotencyService.execute(idempotencyKey,"check-in-booking:"+id,null,BookingDto.class,
+                ()->bookingService.checkInBooking(id)));
     }
 
     @PatchMapping("/check-out-booking/{id}")
@@ -1,28 +1,98 @@
 package com.crio.stayease.controller;
 
+import com.crio.stayease.dto.AvailabilityDto;
+import com.crio.stayease.dto.CacheStatsDto;
+import com.crio.stayease.dto.CursorPageDto;
 import com.crio.stayease.dto.HotelDto;
+import com.crio.stayease.dto.HotelImportResultDto;
+import com.crio.stayease.dto.HotelSearchResultDto;
+import com.crio.stayease.dto.HotelStatsDto;
+import com.crio.stayease.dto.InventoryReconciliationDto;
+import com.crio.stayease.service.AvailabilityService;
+import com.crio.stayease.service.HotelImportFormat;
+import com.crio.stayease.service.HotelSearchService;
 import com.crio.stayease.service.HotelService;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.InputStream;
+import java.time.LocalDate;
 import java.util.List;
 
 @RestController
 @RequestMapping("/hotels")
 @RequiredArgsConstructor
 public class HotelController {
+    static final String TEXT_CSV_VALUE="text/csv";
+
     private final HotelService hotelService;
+    private final AvailabilityService availabilityService;
+    private final HotelSearchService hotelSearchService;
+    private final ObjectMapper objectMapper;
 
     @PostMapping
     public ResponseEntity<HotelDto> createNewHotel(@RequestBody HotelDto hotelDto){
         return new ResponseEntity<>(hotelService.createNewHotel(hotelDto), HttpStatus.CREATED);
     }
 
+    @GetMapping("/search")
+    public ResponseEntity<HotelSearchResultDto> searchHotels(@RequestParam(required = false) String q,
+                                                             @RequestParam(required = false) String location,
+                                                             @RequestParam(required = false) Integer page,
+                                                             @RequestParam(required = false) Integer size){
+        return ResponseEntity.ok(hotelSearchService.search(q,location,page,size));
+    }
+
+    @PostMapping(value = "/import",consumes = {HotelController.TEXT_CSV_VALUE,NdjsonResponses.APPLICATION_NDJSON_VALUE})
+    public ResponseEntity<HotelImportResultDto> importHotels(@RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+                                                             InputStream body){
+        HotelImportFormat format=MediaType.parseMediaType(contentType).isCompatibleWith(MediaType.parseMediaType(TEXT_CSV_VALUE))
+                ? HotelImportFormat.CSV : HotelImportFormat.NDJSON;
+        return ResponseEntity.ok(hotelService.importHotels(body,format));
+    }
+
+    @PostMapping("/reconcile-inventory")
+    public ResponseEntity<InventoryReconciliationDto> reconcileInventory(){
+        return ResponseEntity.ok(hotelService.reconcileInventory());
+    }
+
+    @GetMapping("/cache-stats")
+    public ResponseEntity<CacheStatsDto> getHotelCacheStats(){
+        return ResponseEntity.ok(hotelService.getHotelCacheStats());
+    }
+
     @GetMapping("/{id}")
-    public ResponseEntity<HotelDto> getHotelById(@PathVariable Long id){
-        return ResponseEntity.ok(hotelService.getHotelById(id));
+    public ResponseEntity<HotelDto> getHotelById(@PathVariable Long id, WebRequest request){
+        String eTag=hotelService.findHotelVersionTag(id).map(tag->"\"hotel-"+id+"-"+tag+"\"").orElse(null);
+        if(eTag!=null && request.checkNotModified(eTag)){
+            return null;
+        }
+        return ResponseEntity.ok().eTag(eTag).body(hotelService.getHotelById(id));
+    }
+
+    @GetMapping("/{id}/stats")
+    public ResponseEntity<HotelStatsDto> getHotelStats(@PathVariable Long id){
+        return ResponseEntity.ok(hotelService.getHotelStats(id));
+    }
+
+    @GetMapping("/managed/stats")
+    public ResponseEntity<List<HotelStatsDto>> getManagedHotelStats(){
+        return ResponseEntity.ok(hotelService.getManagedHotelStats());
+    }
+
+    @GetMapping("/{id}/availability")
+    public ResponseEntity<AvailabilityDto> getAvailability(@PathVariable Long id,
+                                                           @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                                                           @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to){
+        return ResponseEntity.ok(availabilityService.getAvailability(id,from,to));
     }
 
     @GetMapping()
@@ -30,6 +100,17 @@ public class HotelController {
         return ResponseEntity.ok(hotelService.getAllHotels());
     }
 
+    @GetMapping("/page")
+    public ResponseEntity<CursorPageDto<HotelDto>> getHotelsPage(@RequestParam(required = false) Long after,
+                                                                 @RequestParam(required = false) Integer size){
+        return ResponseEntity.ok(hotelService.getHotelsPage(after,size));
+    }
+
+    @GetMapping(value = "/stream",produces = NdjsonResponses.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamAllHotels(){
+        return NdjsonResponses.of(objectMapper,hotelService.streamAllHotels());
+    }
+
     @PutMapping("/{id}")
     public ResponseEntity<HotelDto> updateHotelById(@PathVariable Long id,@RequestBody HotelDto hotelDto){
         return ResponseEntity.ok(hotelService.updateHotelById(id,hotelDto));
@@ -0,0 +1,43 @@
+package com.crio.stayease.controller;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Writes a stream as newline delimited JSON, one object per line, without collecting it first.
+ */
+final class NdjsonResponses {
+
+    static final String APPLICATION_NDJSON_VALUE="application/x-ndjson";
+
+    private static final int FLUSH_EVERY=100;
+
+    private NdjsonResponses(){
+    }
+
+    static <T> ResponseEntity<StreamingResponseBody> of(ObjectMapper objectMapper, Stream<T> items){
+        ObjectWriter writer=objectMapper.writer().without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        StreamingResponseBody body=outputStream->{
+            try(items){
+                int written=0;
+                Iterator<T> iterator=items.iterator();
+                while(iterator.hasNext()){
+                    writer.writeValue(outputStream,iterator.next());
+                    outputStream.write('\n');
+                    if(++written%FLUSH_EVERY==0){
+                        outputStream.flush();
+                    }
+                }
+                outputStream.flush();
+            }
+        };
+        return ResponseEntity.ok().contentType(MediaType.parseMediaType(APPLICATION_NDJSON_VALUE)).body(body);
+    }
+}
@@ -1,14 +1,17 @@
 package com.crio.stayease.controller;
 
+import com.crio.stayease.dto.CursorPageDto;
 import com.crio.stayease.dto.UpdatePasswordRequest;
 import com.crio.stayease.dto.UpdateUserRoleRequest;
 import com.crio.stayease.dto.UserDto;
 import com.crio.stayease.service.PasswordService;
 import com.crio.stayease.service.UserService;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 
@@ -18,6 +21,7 @@ import java.util.List;
 public class UserController {
     private final UserService userService;
     private final PasswordService passwordService;
+    private final ObjectMapper objectMapper;
 
     @GetMapping("/{id}")
     public ResponseEntity<UserDto> getUserById(@PathVariable Long id){
@@ -29,6 +33,17 @@ public class UserController {
         return ResponseEntity.ok(userService.getAllUsers());
     }
 
+    @GetMapping("/page")
+    public ResponseEntity<CursorPageDto<UserDto>> getUsersPage(@RequestParam(required = false) Long after,
+                                                               @RequestParam(required = false) Integer size){
+        return ResponseEntity.ok(userService.getUsersPage(after,size));
+    }
+
+    @GetMapping(value = "/stream",produces = NdjsonResponses.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamAllUsers(){
+        return NdjsonResponses.of(objectMapper,userService.streamAllUsers());
+    }
+
     @PutMapping("/update-user/{id}")
     public ResponseEntity<UserDto> updateUserById(@PathVariable Long id,@Valid @RequestBody UserDto userDto){
         return ResponseEntity.ok(userService.updateUserById(id,userDto));
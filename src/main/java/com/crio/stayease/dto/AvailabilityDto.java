@@ -0,0 +1,17 @@
+package com.crio.stayease.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class AvailabilityDto {
+    private Long hotelId;
+    private LocalDate from;
+    private LocalDate to;
+    private int availableRooms;
+}
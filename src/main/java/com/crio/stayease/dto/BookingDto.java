@@ -7,6 +7,7 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
 
@@ -17,6 +18,8 @@ import java.util.List;
 public class BookingDto {
     private Long id;
     private BookingStatus bookingStatus;
+    private LocalDate checkInDate;
+    private LocalDate checkOutDate;
     @Size(min=0,max=2, message = "Can have no guests or can have maximum 2 guests")
     private List<GuestDto> guests;
     private LocalDateTime createdAt;
@@ -0,0 +1,16 @@
+package com.crio.stayease.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class BulkBookingItem {
+    private Long hotelId;
+    private LocalDate checkInDate;
+    private LocalDate checkOutDate;
+}
@@ -0,0 +1,15 @@
+package com.crio.stayease.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class BulkBookingRequest {
+    private List<BulkBookingItem> bookings=new ArrayList<>();
+}
@@ -0,0 +1,18 @@
+package com.crio.stayease.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class BulkBookingResultDto {
+    private int index;
+    private Long hotelId;
+    private boolean success;
+    private BookingDto booking;
+    private String error;
+}
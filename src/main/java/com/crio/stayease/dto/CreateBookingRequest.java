@@ -0,0 +1,15 @@
+package com.crio.stayease.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class CreateBookingRequest {
+    private LocalDate checkInDate;
+    private LocalDate checkOutDate;
+}
@@ -15,5 +15,6 @@ public class HotelDto {
     private String location;
     private String description;
     private int roomsCount;
+    private Integer totalRooms;
     private UserDto hotelManager;
 }
@@ -0,0 +1,14 @@
+package com.crio.stayease.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class HotelImportErrorDto {
+    private long line;
+    private String name;
+    private String error;
+}
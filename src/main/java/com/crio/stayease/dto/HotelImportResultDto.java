@@ -0,0 +1,19 @@
+package com.crio.stayease.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class HotelImportResultDto {
+    private long rowsRead;
+    private long imported;
+    private long rejected;
+    private long durationMs;
+    private List<HotelImportErrorDto> errors=new ArrayList<>();
+}
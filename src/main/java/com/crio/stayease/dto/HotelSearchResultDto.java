@@ -0,0 +1,17 @@
+package com.crio.stayease.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class HotelSearchResultDto {
+    private List<HotelDto> items;
+    private int totalMatches;
+    private int page;
+    private int size;
+}
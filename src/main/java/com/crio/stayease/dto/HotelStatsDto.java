@@ -0,0 +1,21 @@
+package com.crio.stayease.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class HotelStatsDto {
+    private Long hotelId;
+    private long active;
+    private long checkedIn;
+    private long checkedOut;
+    private long cancelled;
+    private int capacity;
+    private int roomsCount;
+    private double occupancyPercent;
+}
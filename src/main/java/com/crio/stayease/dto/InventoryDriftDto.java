@@ -0,0 +1,20 @@
+package com.crio.stayease.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class InventoryDriftDto {
+    private Long hotelId;
+    private int capacity;
+    private long liveBookings;
+    private int recordedRooms;
+    private int expectedRooms;
+    private int drift;
+    private boolean corrected;
+}
@@ -0,0 +1,20 @@
+package com.crio.stayease.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class InventoryReconciliationDto {
+    private int hotelsChecked;
+    private int hotelsCorrected;
+    private int hotelsSkipped;
+    private long durationMs;
+    private List<InventoryDriftDto> drifts;
+}
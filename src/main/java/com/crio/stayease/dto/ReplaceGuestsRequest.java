@@ -0,0 +1,17 @@
+package com.crio.stayease.dto;
+
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ReplaceGuestsRequest {
+    @Size(max=2,message="a booking can have at most 2 guests")
+    private List<GuestDto> guests=new ArrayList<>();
+}
@@ -6,6 +6,7 @@ import lombok.*;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
@@ -19,20 +20,24 @@ import java.util.List;
 @Table(name = "booking")
 public class Booking {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "booking_seq")
+    @SequenceGenerator(name = "booking_seq", sequenceName = "booking_seq", allocationSize = 50)
     private Long id;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name="user_id",nullable = false)
     private User user;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name="hotel_id",nullable = false)
     private Hotel hotel;
 
     @Enumerated(EnumType.STRING)
     private BookingStatus bookingStatus;
 
+    private LocalDate checkInDate;
+    private LocalDate checkOutDate;
+
     @OneToMany(mappedBy ="booking",cascade = CascadeType.ALL,orphanRemoval = true)
     private List<Guest> guests=new ArrayList<>();
 
@@ -44,4 +49,8 @@ public class Booking {
 
     private LocalDateTime checkInTime;
     private LocalDateTime checkOutTime;
+
+    @Version
+    @Column(columnDefinition = "bigint default 0")
+    private Long version;
 }
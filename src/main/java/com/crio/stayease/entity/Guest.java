@@ -14,12 +14,13 @@ import lombok.Setter;
 @Table(name="guest")
 public class Guest {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "guest_seq")
+    @SequenceGenerator(name = "guest_seq", sequenceName = "guest_seq", allocationSize = 50)
     private Long id;
     private String firstName;
     private String lastName;
     private String email;
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name="booking_id",nullable = false)
     private Booking booking;
 }
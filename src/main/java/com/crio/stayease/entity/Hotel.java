@@ -32,6 +32,8 @@ public class Hotel {
     @Column(nullable = false)
     private int roomsCount;
 
+    private Integer totalRooms;
+
     @ManyToOne
     @JoinColumn(name = "manager_id")
     private User hotelManager;
@@ -41,4 +43,8 @@ public class Hotel {
 
     @UpdateTimestamp
     private LocalDateTime updatedAt;
+
+    @Version
+    @Column(columnDefinition = "bigint default 0")
+    private Long version;
 }
@@ -0,0 +1,50 @@
+package com.crio.stayease.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.hibernate.annotations.CreationTimestamp;
+import org.springframework.data.domain.Persistable;
+
+import java.time.LocalDateTime;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Entity
+@Table(name="idempotency_record")
+public class IdempotencyRecord implements Persistable<String> {
+    @Id
+    private String idempotencyKey;
+
+    @Column(length = 44)
+    private String requestHash;
+
+    @Lob
+    @Column(nullable = false)
+    private String response;
+
+    @Column(nullable = false)
+    private LocalDateTime expiresAt;
+
+    @CreationTimestamp
+    private LocalDateTime createdAt;
+
+    @Override
+    public String getId() {
+        return idempotencyKey;
+    }
+
+    /**
+     * A record is only ever inserted, so saving it persists instead of merging and a key another request already
+     * stored fails on the primary key rather than overwriting its response.
+     */
+    @Override
+    @Transient
+    public boolean isNew() {
+        return true;
+    }
+}
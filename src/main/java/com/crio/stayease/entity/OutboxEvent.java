@@ -0,0 +1,57 @@
+package com.crio.stayease.entity;
+
+import com.crio.stayease.entity.enums.BookingEventType;
+import com.crio.stayease.entity.enums.BookingStatus;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+import java.time.LocalDateTime;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@Entity
+@Table(name="outbox_event")
+public class OutboxEvent {
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "outbox_event_seq")
+    @SequenceGenerator(name = "outbox_event_seq", sequenceName = "outbox_event_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(nullable = false)
+    private Long bookingId;
+
+    /**
+     * Orders the events of one booking: the booking's version after the change, one past it for a deletion.
+     * Rows written before the column existed have none and are ordered by id.
+     */
+    private Long bookingSequence;
+
+    @Column(nullable = false)
+    private Long hotelId;
+
+    @Column(nullable = false)
+    private Long userId;
+
+    @Enumerated(EnumType.STRING)
+    @JdbcTypeCode(SqlTypes.VARCHAR)
+    @Column(nullable = false)
+    private BookingEventType eventType;
+
+    @Enumerated(EnumType.STRING)
+    private BookingStatus fromStatus;
+
+    @Enumerated(EnumType.STRING)
+    private BookingStatus toStatus;
+
+    @Column(nullable = false)
+    private LocalDateTime occurredAt;
+}
@@ -0,0 +1,10 @@
+package com.crio.stayease.entity.enums;
+
+public enum BookingEventType {
+    CREATED,
+    CANCELLED,
+    CHECKED_IN,
+    CHECKED_OUT,
+    STATUS_CHANGED,
+    DELETED
+}
@@ -0,0 +1,15 @@
+package com.crio.stayease.event;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+@Component
+@Slf4j
+public class BookingAuditListener implements BookingEventListener {
+
+    @Override
+    public void onBookingEvent(BookingEvent event) {
+        log.info("Booking {} of hotel {} by user {}: {} #{} ({} -> {})",event.bookingId(),event.hotelId(),event.userId(),
+                event.eventType(),event.bookingSequence(),event.fromStatus(),event.toStatus());
+    }
+}
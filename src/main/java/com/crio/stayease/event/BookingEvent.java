@@ -0,0 +1,21 @@
+package com.crio.stayease.event;
+
+import com.crio.stayease.entity.OutboxEvent;
+import com.crio.stayease.entity.enums.BookingEventType;
+import com.crio.stayease.entity.enums.BookingStatus;
+
+import java.time.LocalDateTime;
+
+/**
+ * A booking change relayed from the outbox. Events can reach listeners more than once and, across instances, out of
+ * order, so {@code bookingSequence} tells listeners which change of a booking came later.
+ */
+public record BookingEvent(Long eventId, Long bookingId, Long bookingSequence, Long hotelId, Long userId,
+                           BookingEventType eventType, BookingStatus fromStatus, BookingStatus toStatus,
+                           LocalDateTime occurredAt) {
+
+    public static BookingEvent from(OutboxEvent event){
+        return new BookingEvent(event.getId(),event.getBookingId(),event.getBookingSequence(),event.getHotelId(),
+                event.getUserId(),event.getEventType(),event.getFromStatus(),event.getToStatus(),event.getOccurredAt());
+    }
+}
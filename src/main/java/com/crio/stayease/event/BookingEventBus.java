@@ -0,0 +1,99 @@
+package com.crio.stayease.event;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bounded ring buffer of booking events drained by a single dispatcher thread, which hands every event
+ * to all listeners in the order it was published. On shutdown the bus stops accepting events and the
+ * dispatcher finishes the buffered ones before it exits, so an event the outbox relay already deleted
+ * still reaches its listeners.
+ */
+@Component
+@Slf4j
+public class BookingEventBus {
+
+    private final List<BookingEventListener> listeners;
+    private final ArrayBlockingQueue<BookingEvent> buffer;
+    private final long publishTimeoutMs;
+    private final long drainTimeoutMs;
+    private volatile boolean accepting=true;
+    private Thread dispatcher;
+
+    public BookingEventBus(List<BookingEventListener> listeners,
+                           @Value("${stayease.events.buffer-size:1024}") int bufferSize,
+                           @Value("${stayease.events.publish-timeout-ms:1000}") long publishTimeoutMs,
+                           @Value("${stayease.events.drain-timeout-ms:10000}") long drainTimeoutMs){
+        this.listeners=listeners;
+        this.buffer=new ArrayBlockingQueue<>(bufferSize);
+        this.publishTimeoutMs=publishTimeoutMs;
+        this.drainTimeoutMs=drainTimeoutMs;
+    }
+
+    @PostConstruct
+    public void start(){
+        dispatcher=Thread.ofPlatform().daemon().name("booking-event-dispatcher").start(this::dispatch);
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        accepting=false;
+        dispatcher.join(drainTimeoutMs);
+        if(dispatcher.isAlive()){
+            log.warn("Booking event dispatcher did not finish within {} ms, {} events were not dispatched",drainTimeoutMs,buffer.size());
+            dispatcher.interrupt();
+            return;
+        }
+        // A publish that raced with the shutdown may have left an event behind the exiting dispatcher
+        BookingEvent event;
+        while((event=buffer.poll())!=null){
+            deliver(event);
+        }
+    }
+
+    /**
+     * Waits up to the publish timeout for room in the buffer.
+     * @return false when the buffer stayed full or the bus is shutting down, the event was not published
+     */
+    public boolean publish(BookingEvent event) throws InterruptedException {
+        return accepting && buffer.offer(event,publishTimeoutMs,TimeUnit.MILLISECONDS);
+    }
+
+    public int pending(){
+        return buffer.size();
+    }
+
+    private void dispatch(){
+        while(!Thread.currentThread().isInterrupted()){
+            BookingEvent event;
+            try{
+                event=buffer.poll(100,TimeUnit.MILLISECONDS);
+            }catch(InterruptedException exception){
+                Thread.currentThread().interrupt();
+                return;
+            }
+            if(event!=null){
+                deliver(event);
+            }else if(!accepting){
+                return;
+            }
+        }
+    }
+
+    private void deliver(BookingEvent event){
+        for(BookingEventListener listener:listeners){
+            try{
+                listener.onBookingEvent(event);
+            }catch(RuntimeException exception){
+                log.error("Booking event listener {} failed on event {}",listener.getClass().getSimpleName(),event.eventId(),exception);
+            }
+        }
+    }
+}
@@ -0,0 +1,8 @@
+package com.crio.stayease.event;
+
+/**
+ * Receives booking events in outbox order on the bus dispatcher thread, so implementations should be quick.
+ */
+public interface BookingEventListener {
+    void onBookingEvent(BookingEvent event);
+}
@@ -0,0 +1,72 @@
+package com.crio.stayease.event;
+
+import com.crio.stayease.entity.OutboxEvent;
+import com.crio.stayease.repository.OutboxEventRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Moves committed outbox rows onto the event bus and deletes each relayed batch with one statement.
+ * Every batch is claimed with row locks that other instances skip, and published and deleted in the claiming
+ * transaction, so two relays never publish the same rows and the events of one booking leave in their order.
+ * Rows are acknowledged once the bus has accepted them. The bus dispatches everything it accepted before a
+ * graceful shutdown completes, so only a crash of the process can lose an event that was already deleted here.
+ */
+@Component
+@ConditionalOnProperty(name = "stayease.events.relay-enabled", matchIfMissing = true)
+@RequiredArgsConstructor
+@Slf4j
+public class OutboxRelay {
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final BookingEventBus bookingEventBus;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${stayease.events.relay-batch-size:200}")
+    private int batchSize=200;
+
+    @Scheduled(fixedDelayString = "${stayease.events.relay-interval-ms:500}")
+    public void relay(){
+        Boolean done;
+        do{
+            done=transactionTemplate.execute(status->relayBatch());
+        }while(Boolean.FALSE.equals(done));
+    }
+
+    /**
+     * Returns true once nothing was claimed or the bus stopped accepting. A relayed batch is always followed by
+     * another claim, the next event of a booking only becomes claimable once the earlier one's batch commits.
+     */
+    private boolean relayBatch(){
+        List<OutboxEvent> batch=outboxEventRepository.claimBatch(Limit.of(batchSize));
+        if(batch.isEmpty()){
+            return true;
+        }
+        List<Long> relayed=new ArrayList<>(batch.size());
+        try{
+            for(OutboxEvent event:batch){
+                if(!bookingEventBus.publish(BookingEvent.from(event))){
+                    log.info("Booking event bus is full, {} events will be relayed later",batch.size()-relayed.size());
+                    break;
+                }
+                relayed.add(event.getId());
+            }
+        }catch(InterruptedException exception){
+            Thread.currentThread().interrupt();
+        }finally {
+            if(!relayed.isEmpty()){
+                outboxEventRepository.deleteByIdIn(relayed);
+            }
+        }
+        return relayed.size()<batch.size();
+    }
+}
@@ -0,0 +1,7 @@
+package com.crio.stayease.exception;
+
+public class IdempotencyKeyReusedException extends RuntimeException{
+    public IdempotencyKeyReusedException(String message){
+        super(message);
+    }
+}
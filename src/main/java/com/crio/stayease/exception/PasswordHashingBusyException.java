@@ -0,0 +1,7 @@
+package com.crio.stayease.exception;
+
+public class PasswordHashingBusyException extends RuntimeException{
+    public PasswordHashingBusyException(String message){
+        super(message);
+    }
+}
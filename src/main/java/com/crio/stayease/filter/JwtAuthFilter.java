@@ -1,8 +1,10 @@
 package com.crio.stayease.filter;
 
+import com.crio.stayease.cache.AuthenticatedUserCache;
 import com.crio.stayease.entity.User;
 import com.crio.stayease.service.JwtService;
 import com.crio.stayease.service.UserService;
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -25,6 +27,7 @@ public class JwtAuthFilter extends OncePerRequestFilter {
 
     private final JwtService jwtService;
     private final UserService userService;
+    private final AuthenticatedUserCache authenticatedUserCache;
 
     @Autowired
     @Qualifier("handlerExceptionResolver")
@@ -38,9 +41,15 @@ public class JwtAuthFilter extends OncePerRequestFilter {
                return;
            }
            String token=requestTokenHeader.substring(7);
-           Long userId=jwtService.getUserIdFromToken(token);
-           if(userId!=null && SecurityContextHolder.getContext().getAuthentication()==null){
-               User user=userService.findUserById(userId);
+           User user=authenticatedUserCache.get(token);
+           if(user==null){
+               Claims claims=jwtService.parseToken(token);
+               Long userId=Long.valueOf(claims.getSubject());
+               long version=authenticatedUserCache.currentVersion(userId);
+               user=userService.findUserById(userId);
+               authenticatedUserCache.put(token,user,version,claims.getExpiration());
+           }
+           if(SecurityContextHolder.getContext().getAuthentication()==null){
                UsernamePasswordAuthenticationToken authenticationToken=new UsernamePasswordAuthenticationToken(user,null,user.getAuthorities());
                authenticationToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
                SecurityContextHolder.getContext().setAuthentication(authenticationToken);
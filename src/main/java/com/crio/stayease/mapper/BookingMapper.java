@@ -0,0 +1,26 @@
+package com.crio.stayease.mapper;
+
+import com.crio.stayease.dto.BookingDto;
+import com.crio.stayease.dto.GuestDto;
+import com.crio.stayease.entity.Booking;
+import com.crio.stayease.entity.Guest;
+import com.crio.stayease.repository.BookingRepository;
+import com.crio.stayease.repository.GuestRepository;
+import org.mapstruct.*;
+
+@Mapper(componentModel = MappingConstants.ComponentModel.SPRING, unmappedTargetPolicy = ReportingPolicy.IGNORE)
+public interface BookingMapper {
+
+    BookingDto toDto(Booking booking);
+
+    GuestDto toDto(Guest guest);
+
+    @Mapping(target = "guests", ignore = true)
+    BookingDto toDto(BookingRepository.BookingSummary booking);
+
+    GuestDto toDto(GuestRepository.GuestSummary guest);
+
+    @Mapping(target = "id", ignore = true)
+    @Mapping(target = "booking", ignore = true)
+    Guest toEntity(GuestDto guestDto);
+}
@@ -0,0 +1,21 @@
+package com.crio.stayease.mapper;
+
+import com.crio.stayease.dto.HotelDto;
+import com.crio.stayease.entity.Hotel;
+import org.mapstruct.*;
+
+@Mapper(componentModel = MappingConstants.ComponentModel.SPRING, uses = UserMapper.class,
+        injectionStrategy = InjectionStrategy.CONSTRUCTOR, unmappedTargetPolicy = ReportingPolicy.IGNORE)
+public interface HotelMapper {
+
+    HotelDto toDto(Hotel hotel);
+
+    @Mapping(target = "id", ignore = true)
+    @Mapping(target = "hotelManager", ignore = true)
+    Hotel toEntity(HotelDto hotelDto);
+
+    @BeanMapping(nullValuePropertyMappingStrategy = NullValuePropertyMappingStrategy.IGNORE)
+    @Mapping(target = "id", ignore = true)
+    @Mapping(target = "hotelManager", ignore = true)
+    void updateEntity(HotelDto hotelDto, @MappingTarget Hotel hotel);
+}
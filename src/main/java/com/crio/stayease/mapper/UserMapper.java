@@ -0,0 +1,23 @@
+package com.crio.stayease.mapper;
+
+import com.crio.stayease.dto.SignupDto;
+import com.crio.stayease.dto.UserDto;
+import com.crio.stayease.entity.User;
+import org.mapstruct.*;
+
+@Mapper(componentModel = MappingConstants.ComponentModel.SPRING, unmappedTargetPolicy = ReportingPolicy.IGNORE)
+public interface UserMapper {
+
+    UserDto toDto(User user);
+
+    @Mapping(target = "id", ignore = true)
+    @Mapping(target = "managedHotels", ignore = true)
+    User toEntity(SignupDto signupDto);
+
+    @BeanMapping(nullValuePropertyMappingStrategy = NullValuePropertyMappingStrategy.IGNORE)
+    @Mapping(target = "id", ignore = true)
+    @Mapping(target = "role", ignore = true)
+    @Mapping(target = "password", ignore = true)
+    @Mapping(target = "managedHotels", ignore = true)
+    void updateEntity(UserDto userDto, @MappingTarget User user);
+}
@@ -0,0 +1,65 @@
+package com.crio.stayease.metrics;
+
+import com.crio.stayease.entity.enums.BookingStatus;
+import com.crio.stayease.repository.BookingRepository;
+import com.crio.stayease.repository.HotelRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.MultiGauge;
+import io.micrometer.core.instrument.Tags;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Remaining rooms per hotel and bookings per status, refreshed from the database on a fixed delay
+ * instead of on every scrape.
+ */
+@Component
+@ConditionalOnProperty(name = "stayease.metrics.gauges-enabled", matchIfMissing = true)
+@RequiredArgsConstructor
+public class InventoryGauges {
+
+    private final HotelRepository hotelRepository;
+    private final BookingRepository bookingRepository;
+    private final MeterRegistry meterRegistry;
+
+    private MultiGauge roomsRemaining;
+    private MultiGauge bookingsByStatus;
+
+    @PostConstruct
+    public void register(){
+        roomsRemaining=MultiGauge.builder("stayease.hotel.rooms.remaining")
+                .description("Rooms left to book per hotel")
+                .register(meterRegistry);
+        bookingsByStatus=MultiGauge.builder("stayease.bookings")
+                .description("Bookings per booking status")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${stayease.metrics.gauge-refresh-ms:30000}")
+    public void refresh(){
+        List<MultiGauge.Row<?>> hotelRows=new ArrayList<>();
+        for(HotelRepository.HotelCapacity hotel:hotelRepository.findAllCapacities()){
+            hotelRows.add(MultiGauge.Row.of(Tags.of("hotel",String.valueOf(hotel.getId())),hotel.getRoomsCount()));
+        }
+        roomsRemaining.register(hotelRows,true);
+
+        Map<BookingStatus,Long> counts=new EnumMap<>(BookingStatus.class);
+        for(BookingStatus status:BookingStatus.values()){
+            counts.put(status,0L);
+        }
+        for(BookingRepository.StatusCount statusCount:bookingRepository.countByStatus()){
+            counts.put(statusCount.getBookingStatus(),statusCount.getBookings());
+        }
+        List<MultiGauge.Row<?>> statusRows=new ArrayList<>();
+        counts.forEach((status,bookings)->statusRows.add(MultiGauge.Row.of(Tags.of("status",status.name()),bookings)));
+        bookingsByStatus.register(statusRows,true);
+    }
+}
@@ -1,15 +1,124 @@
 package com.crio.stayease.repository;
 
-import com.crio.stayease.dto.BookingDto;
 import com.crio.stayease.entity.Booking;
-import com.crio.stayease.entity.User;
+import com.crio.stayease.entity.enums.BookingStatus;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface BookingRepository extends JpaRepository<Booking,Long> {
 
-    List<Booking> findByUser(User user);
+    List<BookingSummary> findByUserIdOrderByIdAsc(Long userId);
+
+    List<Booking> findByUserIdAndIdGreaterThanOrderByIdAsc(Long userId, Long id, Limit limit);
+
+    @Query("select b.version from Booking b where b.id=:bookingId")
+    Optional<Long> findVersionById(Long bookingId);
+
+    @Query("select b.version from Booking b where b.id=:bookingId and b.user.id=:userId")
+    Optional<Long> findVersionByIdAndOwner(Long bookingId, Long userId);
+
+    @Query("select b.version from Booking b join b.hotel h where b.id=:bookingId and " +
+            "(b.user.id=:userId or h.hotelManager.id=:userId)")
+    Optional<Long> findVersionByIdAndOwnerOrManager(Long bookingId, Long userId);
+
+    @Query("select b from Booking b join fetch b.user join fetch b.hotel h left join fetch h.hotelManager " +
+            "left join fetch b.guests where b.id=:bookingId")
+    Optional<Booking> findWithAccessDetailsById(Long bookingId);
+
+    @Query("select b.hotel.id as hotelId, b.checkInDate as checkInDate, b.checkOutDate as checkOutDate from Booking b " +
+            "where b.bookingStatus in :statuses and b.checkOutDate>:from")
+    List<StayRange> findStayRanges(Collection<BookingStatus> statuses, LocalDate from);
+
+    @Query("select b.hotel.id as hotelId, b.checkInDate as checkInDate, b.checkOutDate as checkOutDate from Booking b " +
+            "where b.hotel.id=:hotelId and b.bookingStatus in :statuses and b.checkOutDate>:from")
+    List<StayRange> findStayRangesByHotelId(Long hotelId, Collection<BookingStatus> statuses, LocalDate from);
+
+    @Query("select b.hotel.id as hotelId, b.checkInDate as checkInDate, b.checkOutDate as checkOutDate from Booking b " +
+            "where b.hotel.id=:hotelId and b.bookingStatus in :statuses and b.checkInDate<:to and b.checkOutDate>:from")
+    List<StayRange> findStayRangesOverlapping(Long hotelId, Collection<BookingStatus> statuses, LocalDate from, LocalDate to);
+
+    @Query("select b.bookingStatus as bookingStatus, count(b) as bookings from Booking b group by b.bookingStatus")
+    List<StatusCount> countByStatus();
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select b.id as id, b.hotel.id as hotelId, b.user.id as userId, b.checkInDate as checkInDate, " +
+            "b.checkOutDate as checkOutDate, b.version as version from Booking b " +
+            "where b.bookingStatus=:status and (b.checkInDate<:cutoff or (b.checkInDate is null and b.createdAt<:createdBefore)) " +
+            "and b.id>:afterId order by b.id")
+    List<StaleBooking> findStaleForUpdate(BookingStatus status, LocalDate cutoff, LocalDateTime createdBefore, Long afterId, Limit limit);
+
+    @Modifying
+    @Query("update Booking b set b.bookingStatus=:toStatus, b.version=b.version+1, b.updatedAt=:updatedAt " +
+            "where b.id in :bookingIds and b.bookingStatus=:fromStatus")
+    int updateStatusByIdIn(Collection<Long> bookingIds, BookingStatus fromStatus, BookingStatus toStatus, LocalDateTime updatedAt);
+
+    @Query("select b.hotel.id as hotelId, count(b) as bookings from Booking b " +
+            "where b.hotel.id in :hotelIds and b.bookingStatus in :statuses and (b.checkInDate is null or b.checkOutDate is null " +
+            "or (b.checkInDate<=:night and b.checkOutDate>:night)) group by b.hotel.id")
+    List<HotelBookingCount> countStayingByHotelIdIn(Collection<Long> hotelIds, Collection<BookingStatus> statuses, LocalDate night);
+
+    @Query("select min(b.id) as minId, max(b.id) as maxId from Booking b")
+    IdRange findIdRange();
+
+    @Query("select b.hotel.id as hotelId, b.bookingStatus as bookingStatus, count(b) as bookings from Booking b " +
+            "where b.id between :fromId and :toId group by b.hotel.id, b.bookingStatus")
+    List<HotelStatusCount> countByHotelAndStatusBetween(Long fromId, Long toId);
+
+    interface BookingSummary {
+        Long getId();
+        BookingStatus getBookingStatus();
+        LocalDate getCheckInDate();
+        LocalDate getCheckOutDate();
+        LocalDateTime getCreatedAt();
+        LocalDateTime getCheckInTime();
+        LocalDateTime getCheckOutTime();
+    }
+
+    interface StayRange {
+        Long getHotelId();
+        LocalDate getCheckInDate();
+        LocalDate getCheckOutDate();
+    }
+
+    interface StaleBooking {
+        Long getId();
+        Long getHotelId();
+        Long getUserId();
+        LocalDate getCheckInDate();
+        LocalDate getCheckOutDate();
+        long getVersion();
+    }
+
+    interface HotelBookingCount {
+        Long getHotelId();
+        long getBookings();
+    }
+
+    interface IdRange {
+        Long getMinId();
+        Long getMaxId();
+    }
+
+    interface HotelStatusCount {
+        Long getHotelId();
+        BookingStatus getBookingStatus();
+        long getBookings();
+    }
+
+    interface StatusCount {
+        BookingStatus getBookingStatus();
+        long getBookings();
+    }
 }
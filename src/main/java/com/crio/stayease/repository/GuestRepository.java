@@ -2,6 +2,32 @@ package com.crio.stayease.repository;
 
 import com.crio.stayease.entity.Guest;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
 
 public interface GuestRepository extends JpaRepository<Guest,Long> {
+
+    @Query("select g.booking.id as bookingId, g.id as id, g.firstName as firstName, g.lastName as lastName, " +
+            "g.email as email from Guest g where g.booking.id in :bookingIds order by g.id")
+    List<GuestSummary> findSummariesByBookingIdIn(@Param("bookingIds") Collection<Long> bookingIds);
+
+    @Modifying
+    @Query("delete from Guest g where g.booking.id=:bookingId and g.id in :guestIds")
+    int deleteByBookingIdAndIdIn(@Param("bookingId") Long bookingId, @Param("guestIds") Collection<Long> guestIds);
+
+    @Modifying
+    @Query("delete from Guest g where g.booking.id=:bookingId")
+    int deleteByBookingId(@Param("bookingId") Long bookingId);
+
+    interface GuestSummary {
+        Long getBookingId();
+        Long getId();
+        String getFirstName();
+        String getLastName();
+        String getEmail();
+    }
 }
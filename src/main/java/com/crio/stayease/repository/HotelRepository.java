@@ -1,9 +1,91 @@
 package com.crio.stayease.repository;
 
 import com.crio.stayease.entity.Hotel;
+import com.crio.stayease.entity.enums.BookingStatus;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
 @Repository
 public interface HotelRepository extends JpaRepository<Hotel,Long> {
+
+    List<Hotel> findByIdGreaterThanOrderByIdAsc(Long id, Limit limit);
+
+    @Query(value = "select id from hotel where id=:hotelId for update", nativeQuery = true)
+    Optional<Long> lockById(Long hotelId);
+
+    @Modifying
+    @Query("update Hotel h set h.roomsCount=h.roomsCount-1, h.version=h.version+1 where h.id=:hotelId and h.roomsCount>0")
+    int decrementRoomsCount(Long hotelId);
+
+    @Modifying
+    @Query("update Hotel h set h.roomsCount=h.roomsCount+:rooms, h.version=h.version+1 where h.id=:hotelId")
+    int incrementRoomsCount(Long hotelId, int rooms);
+
+    @Modifying
+    @Query("update Hotel h set h.totalRooms=h.roomsCount+(select count(b) from Booking b where b.hotel=h " +
+            "and b.bookingStatus in :statuses and (b.checkInDate is null or b.checkOutDate is null " +
+            "or (b.checkInDate<=:night and b.checkOutDate>:night))) where h.totalRooms is null")
+    int backfillTotalRooms(Collection<BookingStatus> statuses, LocalDate night);
+
+    @Query("select h.id as id, h.roomsCount as roomsCount, h.totalRooms as totalRooms from Hotel h where h.id in :ids")
+    List<HotelCapacity> findCapacitiesByIdIn(Collection<Long> ids);
+
+    @Query("select h.id as id, h.roomsCount as roomsCount, h.totalRooms as totalRooms from Hotel h")
+    List<HotelCapacity> findAllCapacities();
+
+    @Query("select h.id as id, h.roomsCount as roomsCount, h.totalRooms as totalRooms, h.version as version " +
+            "from Hotel h order by h.id")
+    List<HotelInventory> findAllInventory();
+
+    @Query("select h.id as id, h.roomsCount as roomsCount, h.totalRooms as totalRooms from Hotel h " +
+            "where h.hotelManager.id=:managerId order by h.id")
+    List<HotelCapacity> findCapacitiesByManagerId(Long managerId);
+
+    @Query("select h.id as id, h.roomsCount as roomsCount, h.totalRooms as totalRooms, m.id as managerId " +
+            "from Hotel h left join h.hotelManager m where h.id=:hotelId")
+    Optional<ManagedHotelCapacity> findCapacityById(Long hotelId);
+
+    @Query("select h.id as id, h.name as name, h.location as location, h.description as description " +
+            "from Hotel h where h.name in :names")
+    List<HotelSearchFields> findSearchFieldsByNameIn(Collection<String> names);
+
+    @Query("select h.version as version, m.id as managerId, m.updatedAt as managerUpdatedAt " +
+            "from Hotel h left join h.hotelManager m where h.id=:hotelId")
+    Optional<HotelVersion> findVersionById(Long hotelId);
+
+    interface HotelCapacity {
+        Long getId();
+        int getRoomsCount();
+        int getTotalRooms();
+    }
+
+    interface HotelInventory extends HotelCapacity {
+        Long getVersion();
+    }
+
+    interface ManagedHotelCapacity extends HotelCapacity {
+        Long getManagerId();
+    }
+
+    interface HotelSearchFields {
+        Long getId();
+        String getName();
+        String getLocation();
+        String getDescription();
+    }
+
+    interface HotelVersion {
+        Long getVersion();
+        Long getManagerId();
+        LocalDateTime getManagerUpdatedAt();
+    }
 }
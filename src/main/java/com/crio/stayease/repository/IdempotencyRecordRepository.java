@@ -0,0 +1,24 @@
+package com.crio.stayease.repository;
+
+import com.crio.stayease.entity.IdempotencyRecord;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+@Repository
+public interface IdempotencyRecordRepository extends JpaRepository<IdempotencyRecord,String> {
+
+    @Transactional
+    @Modifying
+    @Query("delete from IdempotencyRecord r where r.expiresAt<:now")
+    int deleteExpired(LocalDateTime now);
+
+    @Transactional
+    @Modifying
+    @Query("delete from IdempotencyRecord r where r.idempotencyKey=:idempotencyKey and r.expiresAt<:now")
+    int deleteExpired(String idempotencyKey, LocalDateTime now);
+}
@@ -0,0 +1,36 @@
+package com.crio.stayease.repository;
+
+import com.crio.stayease.entity.OutboxEvent;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent,Long> {
+
+    /**
+     * Locks the oldest unclaimed event of each booking, rows another relay holds are skipped. A later event of a
+     * booking is only claimed once every earlier one is gone, so each booking's events are relayed in order.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("select e from OutboxEvent e where not exists (select 1 from OutboxEvent earlier " +
+            "where earlier.bookingId=e.bookingId and (coalesce(earlier.bookingSequence,-1)<coalesce(e.bookingSequence,-1) " +
+            "or (coalesce(earlier.bookingSequence,-1)=coalesce(e.bookingSequence,-1) and earlier.id<e.id))) order by e.id")
+    List<OutboxEvent> claimBatch(Limit limit);
+
+    @Transactional
+    @Modifying
+    @Query("delete from OutboxEvent e where e.id in :ids")
+    int deleteByIdIn(Collection<Long> ids);
+}
@@ -0,0 +1,29 @@
+package com.crio.stayease.repository;
+
+import com.crio.stayease.entity.RefreshToken;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+@Repository
+public interface RefreshTokenRepository extends JpaRepository<RefreshToken,Long> {
+
+    @Transactional
+    @Modifying
+    @Query("update RefreshToken t set t.usedAt=:usedAt where t.jti=:jti and t.userId=:userId and t.usedAt is null and t.revoked=false")
+    int markUsed(Long jti, Long userId, LocalDateTime usedAt);
+
+    @Transactional
+    @Modifying
+    @Query("update RefreshToken t set t.revoked=true where t.userId=:userId and t.revoked=false")
+    int revokeAllByUserId(Long userId);
+
+    @Transactional
+    @Modifying
+    @Query("delete from RefreshToken t where t.issuedAt<:issuedBefore")
+    int deleteIssuedBefore(LocalDateTime issuedBefore);
+}
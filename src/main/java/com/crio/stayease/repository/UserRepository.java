@@ -1,12 +1,27 @@
 package com.crio.stayease.repository;
 
 import com.crio.stayease.entity.User;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface UserRepository extends JpaRepository<User,Long> {
     Optional<User> findByEmail(String username);
+
+    boolean existsByEmail(String email);
+
+    List<User> findByIdGreaterThanOrderByIdAsc(Long id, Limit limit);
+
+    @Query("select u.id as id, u.email as email from User u where u.id>:id order by u.id")
+    List<UserEmail> findEmailsByIdGreaterThan(Long id, Limit limit);
+
+    interface UserEmail {
+        Long getId();
+        String getEmail();
+    }
 }
@@ -1,14 +1,18 @@
 package com.crio.stayease.service;
 
+import com.crio.stayease.cache.RegisteredEmailFilter;
 import com.crio.stayease.dto.LoginDto;
 import com.crio.stayease.dto.LoginResponseDto;
 import com.crio.stayease.dto.SignupDto;
 import com.crio.stayease.dto.UserDto;
 import com.crio.stayease.entity.User;
 import com.crio.stayease.entity.enums.Role;
+import com.crio.stayease.mapper.UserMapper;
 import com.crio.stayease.repository.UserRepository;
+import io.jsonwebtoken.Claims;
 import lombok.RequiredArgsConstructor;
-import org.modelmapper.ModelMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
@@ -16,46 +20,70 @@ import org.springframework.security.core.Authentication;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
-import java.util.Optional;
-
 @Service
 @RequiredArgsConstructor
+@Slf4j
 public class AuthService {
 
     private final UserRepository userRepository;
-    private final ModelMapper modelMapper;
+    private final UserMapper userMapper;
     private final PasswordEncoder passwordEncoder;
     private final AuthenticationManager authenticationManager;
-    private final UserService userService;
     private final JwtService jwtService;
+    private final RegisteredEmailFilter registeredEmailFilter;
+    private final RefreshTokenStore refreshTokenStore;
 
     public UserDto signup(SignupDto signupDto){
-        Optional<User> user=userRepository.findByEmail(signupDto.getEmail());
-        if(user.isPresent()){
+        // Only a likely duplicate is read up front, to skip hashing its password, the unique email constraint decides
+        if(registeredEmailFilter.mightBeRegistered(signupDto.getEmail()) && userRepository.existsByEmail(signupDto.getEmail())){
             throw new BadCredentialsException("User with email "+signupDto.getEmail()+" already exists!");
         }
         if(signupDto.getRole()==null){
             signupDto.setRole(Role.CUSTOMER);
         }
-        User tosave=modelMapper.map(signupDto,User.class);
+        User tosave=userMapper.toEntity(signupDto);
         tosave.setPassword(passwordEncoder.encode(signupDto.getPassword()));
-        tosave=userRepository.save(tosave);
-        return modelMapper.map(tosave,UserDto.class);
+        registeredEmailFilter.add(tosave.getEmail());
+        try{
+            tosave=userRepository.save(tosave);
+        }catch(DataIntegrityViolationException exception){
+            if(userRepository.existsByEmail(signupDto.getEmail())){
+                throw new BadCredentialsException("User with email "+signupDto.getEmail()+" already exists!");
+            }
+            throw exception;
+        }
+        return userMapper.toDto(tosave);
     }
 
     public LoginResponseDto login(LoginDto loginDto){
         Authentication authentication=authenticationManager.authenticate(new UsernamePasswordAuthenticationToken(loginDto.getEmail(),loginDto.getPassword()));
         User user=(User)authentication.getPrincipal();
         String accessToken= jwtService.generateAccessToken(user);
-        String refreshToken= jwtService.generateRefreshToken(user);
+        String refreshToken= jwtService.generateRefreshToken(user,refreshTokenStore.issue(user.getId()));
 
         return new LoginResponseDto(user.getId(),accessToken,refreshToken);
     }
 
+    /**
+     * Trades a refresh token for a new access token and a new refresh token, the old one cannot be used again.
+     */
     public LoginResponseDto refreshToken(String refreshToken){
-        Long userId=jwtService.getUserIdFromToken(refreshToken);
-        User user=userService.findUserById(userId);
-        String accessToken= jwtService.generateAccessToken(user);
-        return new LoginResponseDto(userId,accessToken,refreshToken);
+        Claims claims=jwtService.parseToken(refreshToken);
+        Long userId=Long.valueOf(claims.getSubject());
+        if(claims.getId()==null){
+            throw new BadCredentialsException("Refresh token is no longer accepted, please log in again");
+        }
+        switch(refreshTokenStore.consume(userId,Long.parseLong(claims.getId()))){
+            case REPLAYED -> {
+                log.warn("Refresh token {} of user {} was used twice, revoking every refresh token of the user",claims.getId(),userId);
+                throw new BadCredentialsException("Refresh token has already been used, please log in again");
+            }
+            case REVOKED -> throw new BadCredentialsException("Refresh token has been revoked, please log in again");
+            case VALID -> {
+            }
+        }
+        String accessToken= jwtService.generateAccessToken(claims);
+        String rotatedRefreshToken= jwtService.rotateRefreshToken(claims,refreshTokenStore.issue(userId));
+        return new LoginResponseDto(userId,accessToken,rotatedRefreshToken);
     }
 }
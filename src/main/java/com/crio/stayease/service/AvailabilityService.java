@@ -0,0 +1,309 @@
+package com.crio.stayease.service;
+
+import com.crio.stayease.dto.AvailabilityDto;
+import com.crio.stayease.entity.Booking;
+import com.crio.stayease.entity.Hotel;
+import com.crio.stayease.entity.enums.BookingStatus;
+import com.crio.stayease.exception.NoAvailableRoomsException;
+import com.crio.stayease.exception.ResourceNotFoundException;
+import com.crio.stayease.repository.BookingRepository;
+import com.crio.stayease.repository.HotelRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Collectors;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class AvailabilityService {
+
+    static final Set<BookingStatus> LIVE_STATUSES=EnumSet.of(BookingStatus.ACTIVE,BookingStatus.CHECKED_IN);
+
+    private final HotelRepository hotelRepository;
+    private final BookingRepository bookingRepository;
+    private final ConcurrentHashMap<Long,HotelLedger> ledgers=new ConcurrentHashMap<>();
+
+    @Value("${stayease.availability.horizon-days:365}")
+    private int horizonDays=365;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild(){
+        LocalDate today=LocalDate.now();
+        log.info("Rebuilding room availability from bookings");
+        Map<Long,List<BookingRepository.StayRange>> staysByHotel=bookingRepository.findStayRanges(LIVE_STATUSES,today).stream()
+                .filter(stay->stay.getCheckInDate()!=null)
+                .collect(Collectors.groupingBy(BookingRepository.StayRange::getHotelId));
+        ledgers.clear();
+        if(staysByHotel.isEmpty()){
+            return;
+        }
+        for(HotelRepository.HotelCapacity hotel:hotelRepository.findCapacitiesByIdIn(staysByHotel.keySet())){
+            ledgers.put(hotel.getId(),new HotelLedger(newLedger(hotel.getTotalRooms(),today,staysByHotel.get(hotel.getId()))));
+        }
+        log.info("Successfully rebuilt room availability of {} hotels",ledgers.size());
+    }
+
+    public AvailabilityDto getAvailability(Long hotelId, LocalDate from, LocalDate to){
+        validateStay(from,to);
+        NightlyLedger ledger=currentLedger(hotelId);
+        if(ledger==null || !ledger.covers(from,to)){
+            Hotel hotel=hotelRepository.findById(hotelId).orElseThrow(()->new ResourceNotFoundException("Hotel with id "+hotelId+" does not exists!"));
+            ledger=getLedger(hotel,from,to);
+        }
+        return new AvailabilityDto(hotelId,from,to,Math.max(0,ledger.availableRooms(from,to)));
+    }
+
+    /**
+     * Answers from memory only, a hotel whose ledger is not loaded yet is never reported sold out.
+     */
+    public boolean isSoldOut(Long hotelId, LocalDate from, LocalDate to){
+        NightlyLedger ledger=currentLedger(hotelId);
+        return ledger!=null && from.isBefore(to) && ledger.covers(from,to) && ledger.availableRooms(from,to)<=0;
+    }
+
+    /**
+     * The ledger answers sold out stays from memory, but it only knows the bookings of this instance, so a stay
+     * it would sell is decided by the database: the hotel row stays locked until the booking commits and the
+     * live stays of every night are counted.
+     */
+    public void reserve(Hotel hotel, LocalDate from, LocalDate to){
+        validateStay(from,to);
+        HotelLedger hotelLedger=hotelLedgerOf(hotel.getId());
+        Stay stay=new Stay(from,to,1);
+        NightlyLedger ledger;
+        boolean reserved;
+        while(true){
+            ledger=getLedger(hotel,from,to);
+            hotelLedger.lock.lock();
+            try{
+                if(hotelLedger.ledger!=ledger){
+                    // Swapped or evicted since it was looked up, reserve on the one that replaced it
+                    continue;
+                }
+                reserved=ledger.tryReserve(from,to);
+                if(reserved){
+                    hotelLedger.pending.add(stay);
+                }
+            }finally {
+                hotelLedger.lock.unlock();
+            }
+            if(!reserved){
+                throw new NoAvailableRoomsException("Rooms are not available for this hotel from "+from+" to "+to+"!");
+            }
+            break;
+        }
+        hotelRepository.lockById(hotel.getId());
+        if(bookedOnBusiestNight(hotel.getId(),from,to)>=ledger.getCapacity()){
+            complete(hotelLedger,stay,false);
+            throw new NoAvailableRoomsException("Rooms are not available for this hotel from "+from+" to "+to+"!");
+        }
+        if(!TransactionSynchronizationManager.isSynchronizationActive()){
+            complete(hotelLedger,stay,true);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                complete(hotelLedger,stay,status==STATUS_COMMITTED);
+            }
+        });
+    }
+
+    /**
+     * Ends a reservation made by {@link #reserve}. A committed stay is remembered by the rebuilds reading the
+     * bookings right now, a rolled back one is taken off whichever ledger the hotel has by then, since a swap
+     * carries every pending stay into the new ledger.
+     */
+    private void complete(HotelLedger hotelLedger, Stay stay, boolean committed){
+        hotelLedger.lock.lock();
+        try{
+            hotelLedger.pending.remove(stay);
+            if(committed){
+                hotelLedger.rebuilds.forEach(rebuild->rebuild.add(stay));
+            }else if(hotelLedger.ledger!=null){
+                hotelLedger.ledger.add(stay.from(),stay.to(),-1);
+            }
+        }finally {
+            hotelLedger.lock.unlock();
+        }
+    }
+
+    private int bookedOnBusiestNight(Long hotelId, LocalDate from, LocalDate to){
+        int[] booked=new int[(int)ChronoUnit.DAYS.between(from,to)];
+        // Bookings saved earlier in this transaction are flushed before the query, so they are counted too
+        for(BookingRepository.StayRange stay:bookingRepository.findStayRangesOverlapping(hotelId,LIVE_STATUSES,from,to)){
+            int start=(int)Math.max(0,ChronoUnit.DAYS.between(from,stay.getCheckInDate()));
+            int end=(int)Math.min(booked.length,ChronoUnit.DAYS.between(from,stay.getCheckOutDate()));
+            for(int night=start;night<end;night++){
+                booked[night]++;
+            }
+        }
+        return Arrays.stream(booked).max().orElse(0);
+    }
+
+    public void release(Booking booking, LocalDate from){
+        if(booking.getCheckInDate()==null){
+            return;
+        }
+        release(booking.getHotel().getId(),from.isAfter(booking.getCheckInDate()) ? from : booking.getCheckInDate(),booking.getCheckOutDate());
+    }
+
+    public void release(Long hotelId, LocalDate from, LocalDate to){
+        if(TransactionSynchronizationManager.isSynchronizationActive()){
+            // Nights freed by a change that rolls back must stay booked
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    releaseNow(hotelId,from,to);
+                }
+            });
+            return;
+        }
+        releaseNow(hotelId,from,to);
+    }
+
+    private void releaseNow(Long hotelId, LocalDate from, LocalDate to){
+        HotelLedger hotelLedger=ledgers.get(hotelId);
+        if(hotelLedger==null){
+            return;
+        }
+        Stay stay=new Stay(from,to,-1);
+        hotelLedger.lock.lock();
+        try{
+            if(hotelLedger.ledger!=null){
+                hotelLedger.ledger.add(from,to,-1);
+            }
+            hotelLedger.rebuilds.forEach(rebuild->rebuild.add(stay));
+        }finally {
+            hotelLedger.lock.unlock();
+        }
+    }
+
+    /**
+     * Drops the ledger of a hotel, the stays still pending in open transactions are kept for the next one.
+     */
+    public void evict(Long hotelId){
+        HotelLedger hotelLedger=ledgers.get(hotelId);
+        if(hotelLedger==null){
+            return;
+        }
+        hotelLedger.lock.lock();
+        try{
+            hotelLedger.ledger=null;
+        }finally {
+            hotelLedger.lock.unlock();
+        }
+    }
+
+    private NightlyLedger currentLedger(Long hotelId){
+        HotelLedger hotelLedger=ledgers.get(hotelId);
+        return hotelLedger!=null ? hotelLedger.ledger : null;
+    }
+
+    private HotelLedger hotelLedgerOf(Long hotelId){
+        return ledgers.computeIfAbsent(hotelId,id->new HotelLedger(null));
+    }
+
+    /**
+     * Loads a ledger from the committed bookings. The stays are read without holding the hotel lock, so reservations
+     * of this instance are carried over on the swap: the ones still pending, and the ones that committed or were
+     * released while the stays were read. A stay that commits just as the read starts may be counted twice until
+     * the next rebuild, which only ever costs a sale the database check would have allowed.
+     */
+    private NightlyLedger getLedger(Hotel hotel, LocalDate from, LocalDate to){
+        HotelLedger hotelLedger=hotelLedgerOf(hotel.getId());
+        NightlyLedger current=hotelLedger.ledger;
+        if(current!=null && current.covers(from,to)){
+            return current;
+        }
+        List<Stay> completed=new ArrayList<>();
+        hotelLedger.lock.lock();
+        try{
+            hotelLedger.rebuilds.add(completed);
+        }finally {
+            hotelLedger.lock.unlock();
+        }
+        LocalDate today=LocalDate.now();
+        List<BookingRepository.StayRange> stays;
+        try{
+            stays=bookingRepository.findStayRangesByHotelId(hotel.getId(),LIVE_STATUSES,today);
+        }finally {
+            hotelLedger.lock.lock();
+            try{
+                hotelLedger.rebuilds.removeIf(rebuild->rebuild==completed);
+            }finally {
+                hotelLedger.lock.unlock();
+            }
+        }
+        NightlyLedger loaded=newLedger(hotel.getTotalRooms(),today,stays);
+        hotelLedger.lock.lock();
+        try{
+            if(hotelLedger.ledger!=null && hotelLedger.ledger.covers(from,to)){
+                return hotelLedger.ledger;
+            }
+            for(Stay stay:hotelLedger.pending){
+                loaded.add(stay.from(),stay.to(),stay.rooms());
+            }
+            for(Stay stay:completed){
+                loaded.add(stay.from(),stay.to(),stay.rooms());
+            }
+            hotelLedger.ledger=loaded;
+            return loaded;
+        }finally {
+            hotelLedger.lock.unlock();
+        }
+    }
+
+    private NightlyLedger newLedger(int capacity, LocalDate firstNight, List<BookingRepository.StayRange> stays){
+        NightlyLedger ledger=new NightlyLedger(capacity,firstNight,horizonDays);
+        for(BookingRepository.StayRange stay:stays){
+            if(stay.getCheckInDate()!=null){
+                ledger.add(stay.getCheckInDate(),stay.getCheckOutDate(),1);
+            }
+        }
+        return ledger;
+    }
+
+    private void validateStay(LocalDate from, LocalDate to){
+        if(from==null || to==null || !from.isBefore(to)){
+            throw new IllegalArgumentException("Check-out date must be after check-in date!");
+        }
+        LocalDate today=LocalDate.now();
+        if(from.isBefore(today)){
+            throw new IllegalArgumentException("Check-in date cannot be in the past!");
+        }
+        if(to.isAfter(today.plusDays(horizonDays))){
+            throw new IllegalArgumentException("Rooms can only be booked up to "+horizonDays+" days in advance!");
+        }
+    }
+
+    /**
+     * The ledger of one hotel and the stays of this instance it must survive a rebuild with. The lock guards the
+     * swap against reservations and completions, the nights themselves are guarded by the ledger's own lock.
+     */
+    private static final class HotelLedger {
+        private final ReentrantLock lock=new ReentrantLock();
+        private final List<Stay> pending=new ArrayList<>();
+        private final List<List<Stay>> rebuilds=new ArrayList<>();
+        private volatile NightlyLedger ledger;
+
+        private HotelLedger(NightlyLedger ledger){
+            this.ledger=ledger;
+        }
+    }
+
+    private record Stay(LocalDate from, LocalDate to, int rooms) {
+    }
+}
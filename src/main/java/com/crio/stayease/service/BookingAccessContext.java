@@ -0,0 +1,44 @@
+package com.crio.stayease.service;
+
+import com.crio.stayease.entity.Booking;
+import com.crio.stayease.exception.ResourceNotFoundException;
+import com.crio.stayease.repository.BookingRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Loads a booking together with its owner, hotel, hotel manager and guests in a single query and keeps
+ * it for the rest of the request, so the @PreAuthorize checks and the service method share one load.
+ */
+@Component
+@RequiredArgsConstructor
+public class BookingAccessContext {
+
+    private static final String BOOKINGS_ATTRIBUTE=BookingAccessContext.class.getName()+".bookings";
+
+    private final BookingRepository bookingRepository;
+
+    public Optional<Booking> findBooking(Long bookingId){
+        RequestAttributes requestAttributes=RequestContextHolder.getRequestAttributes();
+        if(requestAttributes==null){
+            return bookingRepository.findWithAccessDetailsById(bookingId);
+        }
+        @SuppressWarnings("unchecked")
+        Map<Long,Optional<Booking>> bookings=(Map<Long,Optional<Booking>>)requestAttributes.getAttribute(BOOKINGS_ATTRIBUTE,RequestAttributes.SCOPE_REQUEST);
+        if(bookings==null){
+            bookings=new HashMap<>();
+            requestAttributes.setAttribute(BOOKINGS_ATTRIBUTE,bookings,RequestAttributes.SCOPE_REQUEST);
+        }
+        return bookings.computeIfAbsent(bookingId,bookingRepository::findWithAccessDetailsById);
+    }
+
+    public Booking getBooking(Long bookingId){
+        return findBooking(bookingId).orElseThrow(()->new ResourceNotFoundException("Booking with id: "+bookingId+" does not exists!"));
+    }
+}
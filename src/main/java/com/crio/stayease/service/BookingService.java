@@ -2,21 +2,33 @@ package com.crio.stayease.service;
 
 import com.crio.stayease.dto.AddGuestRequest;
 import com.crio.stayease.dto.BookingDto;
+import com.crio.stayease.dto.BulkBookingRequest;
+import com.crio.stayease.dto.BulkBookingResultDto;
+import com.crio.stayease.dto.CreateBookingRequest;
+import com.crio.stayease.dto.CursorPageDto;
 import com.crio.stayease.dto.RemoveGuestRequest;
+import com.crio.stayease.dto.ReplaceGuestsRequest;
 import com.crio.stayease.dto.UpdateBookingStatusRequest;
 import com.crio.stayease.entity.Booking;
 
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface BookingService {
-    BookingDto createNewBooking(Long hotelId);
+    BookingDto createNewBooking(Long hotelId, CreateBookingRequest request);
+    List<BulkBookingResultDto> createBulkBookings(BulkBookingRequest request);
     BookingDto getBookingById(Long bookingId);
+    Optional<String> findBookingVersionTag(Long bookingId);
     List<BookingDto> getAllBookingsOfUser(Long userId);
+    CursorPageDto<BookingDto> getBookingsPageOfUser(Long userId, Long after, Integer size);
+    Stream<BookingDto> streamAllBookingsOfUser(Long userId);
     BookingDto updateBookingStatusById(Long bookingId, UpdateBookingStatusRequest updateBookingStatusRequest);
     void deleteBookingById(Long bookingId);
     BookingDto cancelBooking(Long bookingId);
     BookingDto addGuests(Long bookingId,AddGuestRequest request);
     BookingDto removeGuests(Long bookingId, RemoveGuestRequest request);
+    BookingDto replaceGuests(Long bookingId, ReplaceGuestsRequest request);
     BookingDto checkInBooking(Long bookingId);
     BookingDto checkOutBooking(Long bookingId);
 }
@@ -1,62 +1,136 @@
 package com.crio.stayease.service;
 
+import com.crio.stayease.configs.PaginationSettings;
 import com.crio.stayease.dto.*;
 import com.crio.stayease.entity.Booking;
 import com.crio.stayease.entity.Guest;
 import com.crio.stayease.entity.Hotel;
 import com.crio.stayease.entity.User;
+import com.crio.stayease.entity.enums.BookingEventType;
 import com.crio.stayease.entity.enums.BookingStatus;
 import com.crio.stayease.entity.enums.Role;
 import com.crio.stayease.exception.MaximumGuestLimitReachedException;
 import com.crio.stayease.exception.NoAvailableRoomsException;
 import com.crio.stayease.exception.ResourceNotFoundException;
 import com.crio.stayease.exception.UnauthorizedAccessException;
+import com.crio.stayease.mapper.BookingMapper;
 import com.crio.stayease.repository.BookingRepository;
 import com.crio.stayease.repository.GuestRepository;
 import com.crio.stayease.repository.HotelRepository;
 import com.crio.stayease.repository.UserRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.LockModeType;
 import jakarta.transaction.Transactional;
+import io.micrometer.core.annotation.Counted;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.modelmapper.ModelMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
-import java.util.List;
+import java.util.*;
+import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service("bookingService")
 @RequiredArgsConstructor
 @Slf4j
+@Timed(value = "stayease.service", extraTags = {"component","booking"})
+@Counted(value = "stayease.service.failures", extraTags = {"component","booking"}, recordFailuresOnly = true)
 public class BookingServiceImpl implements BookingService{
 
     private final UserRepository userRepository;
     private final HotelRepository hotelRepository;
     private final BookingRepository bookingRepository;
     private final GuestRepository guestRepository;
-    private final ModelMapper modelMapper;
+    private final BookingAccessContext bookingAccessContext;
+    private final InventoryService inventoryService;
+    private final AvailabilityService availabilityService;
+    private final BookingMapper bookingMapper;
+    private final OutboxService outboxService;
+    private final HotelStatsService hotelStatsService;
+    private final PaginationSettings paginationSettings;
+    private final EntityManager entityManager;
+
+    private static final int MAX_GUESTS_PER_BOOKING=2;
+
+    @Value("${stayease.booking.bulk-max-size:100}")
+    private int bulkMaxSize=100;
 
     @Transactional
     @Override
     @PreAuthorize("hasAnyRole('ADMIN','HOTEL_MANAGER','CUSTOMER')")
-    public BookingDto createNewBooking(Long hotelId) {
+    public BookingDto createNewBooking(Long hotelId, CreateBookingRequest request) {
+        LocalDate checkInDate=checkInOf(request!=null ? request.getCheckInDate() : null);
+        LocalDate checkOutDate=checkOutOf(checkInDate,request!=null ? request.getCheckOutDate() : null);
+        if(availabilityService.isSoldOut(hotelId,checkInDate,checkOutDate)){
+            throw new NoAvailableRoomsException("Rooms are not available for this hotel from "+checkInDate+" to "+checkOutDate+"!");
+        }
         Hotel hotel = hotelRepository.findById(hotelId).orElseThrow(() -> new ResourceNotFoundException("Hotel with id " + hotelId + " does not exists!"));
+        Booking booking=reserveBooking(hotel,getCurrentUser(),checkInDate,checkOutDate);
+        bookingRepository.save(booking);
+        outboxService.record(booking,BookingEventType.CREATED,null);
+        hotelStatsService.record(booking,null);
+
+        return bookingMapper.toDto(booking);
+    }
+
+    @Transactional
+    @Override
+    @PreAuthorize("hasAnyRole('ADMIN','HOTEL_MANAGER','CUSTOMER')")
+    public List<BulkBookingResultDto> createBulkBookings(BulkBookingRequest request) {
+        if(request.getBookings()==null || request.getBookings().isEmpty()){
+            throw new IllegalArgumentException("No bookings to create is found!");
+        }
+        if(request.getBookings().size()>bulkMaxSize){
+            throw new IllegalArgumentException("Cannot create more than "+bulkMaxSize+" bookings at once!");
+        }
+        log.info("Attempting to create {} bookings in bulk",request.getBookings().size());
         User currentUser=getCurrentUser();
-        if(hotel.getRoomsCount()<=0){
-            throw new NoAvailableRoomsException("Rooms are not available for this hotel, cannot book the room!");
+        Set<Long> hotelIds=request.getBookings().stream()
+                .map(BulkBookingItem::getHotelId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        Map<Long,Hotel> hotels=hotelRepository.findAllById(hotelIds).stream()
+                .collect(Collectors.toMap(Hotel::getId, Function.identity()));
+
+        List<BulkBookingResultDto> results=new ArrayList<>();
+        List<Booking> bookings=new ArrayList<>();
+        List<BulkBookingResultDto> booked=new ArrayList<>();
+        for(int index=0;index<request.getBookings().size();index++){
+            BulkBookingItem item=request.getBookings().get(index);
+            BulkBookingResultDto result=BulkBookingResultDto.builder()
+                    .index(index)
+                    .hotelId(item.getHotelId())
+                    .build();
+            try{
+                Hotel hotel=hotels.get(item.getHotelId());
+                if(hotel==null){
+                    throw new ResourceNotFoundException("Hotel with id " + item.getHotelId() + " does not exists!");
+                }
+                // Saved right away so the next reservation's database check counts it
+                bookings.add(bookingRepository.save(reserveBooking(hotel,currentUser,item.getCheckInDate(),item.getCheckOutDate())));
+                result.setSuccess(true);
+                booked.add(result);
+            }catch(NoAvailableRoomsException | ResourceNotFoundException | IllegalArgumentException exception){
+                result.setError(exception.getMessage());
+            }
+            results.add(result);
         }
-        hotel.setRoomsCount(hotel.getRoomsCount()-1);
-        Booking booking=Booking.builder()
-                .user(currentUser)
-                .hotel(hotel)
-                .bookingStatus(BookingStatus.ACTIVE)
-                .build();
-        bookingRepository.save(booking);
-        //hotelRepository.save(hotel);
 
-        return modelMapper.map(booking, BookingDto.class);
+        outboxService.recordAll(bookings,BookingEventType.CREATED);
+        hotelStatsService.recordAll(bookings);
+        for(int index=0;index<bookings.size();index++){
+            booked.get(index).setBooking(bookingMapper.toDto(bookings.get(index)));
+        }
+        log.info("Successfully created {} of {} bookings in bulk",bookings.size(),results.size());
+        return results;
     }
 
     @Override
@@ -65,54 +139,121 @@ public class BookingServiceImpl implements BookingService{
             "@bookingService.isHotelManagerOfBooking(#bookingId) or " +
             "@bookingService.isBookingOwner(#bookingId))")
     public BookingDto getBookingById(Long bookingId) {
-        Booking booking=bookingRepository.findById(bookingId).orElseThrow(()->new ResourceNotFoundException("Booking with id: "+bookingId+" not found!"));
-        return modelMapper.map(booking,BookingDto.class);
+        Booking booking=bookingAccessContext.getBooking(bookingId);
+        return bookingMapper.toDto(booking);
+    }
+
+    @Override
+    @PreAuthorize("hasAnyRole('CUSTOMER','ADMIN','HOTEL_MANAGER')")
+    public Optional<String> findBookingVersionTag(Long bookingId) {
+        User currentUser=getCurrentUser();
+        Optional<Long> version=switch(currentUser.getRole()){
+            case ADMIN -> bookingRepository.findVersionById(bookingId);
+            case HOTEL_MANAGER -> bookingRepository.findVersionByIdAndOwnerOrManager(bookingId,currentUser.getId());
+            default -> bookingRepository.findVersionByIdAndOwner(bookingId,currentUser.getId());
+        };
+        return version.map(String::valueOf);
     }
 
     @Override
     @PreAuthorize("hasAnyRole('ADMIN','CUSTOMER')")
     public List<BookingDto> getAllBookingsOfUser(Long userId) {
-        User user=userRepository.findById(userId).orElseThrow(()->new ResourceNotFoundException("User with id: "+userId+" does not exists!"));
-       User currentUser=getCurrentUser();
-       Role currentUserRole=currentUser.getRole();
-       if(currentUser.getId().equals(userId) || currentUserRole==Role.ADMIN){
-           return bookingRepository.findByUser(user).stream()
-                   .map(booking-> modelMapper.map(booking,BookingDto.class))
-                   .collect(Collectors.toList());
-       }
-       throw new UnauthorizedAccessException("You are not authorized to perform this operation");
+        checkBookingsCanBeViewed(userId);
+        List<BookingRepository.BookingSummary> bookings=bookingRepository.findByUserIdOrderByIdAsc(userId);
+        if(bookings.isEmpty()){
+            return new ArrayList<>();
+        }
+        Map<Long,List<GuestDto>> guestsByBooking=guestRepository.findSummariesByBookingIdIn(
+                        bookings.stream().map(BookingRepository.BookingSummary::getId).toList()).stream()
+                .collect(Collectors.groupingBy(GuestRepository.GuestSummary::getBookingId,
+                        Collectors.mapping(guest->bookingMapper.toDto(guest),Collectors.toList())));
+        return bookings.stream()
+                .map(booking->{
+                    BookingDto bookingDto=bookingMapper.toDto(booking);
+                    bookingDto.setGuests(guestsByBooking.getOrDefault(booking.getId(),new ArrayList<>()));
+                    return bookingDto;
+                })
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    @PreAuthorize("hasAnyRole('ADMIN','CUSTOMER')")
+    public CursorPageDto<BookingDto> getBookingsPageOfUser(Long userId, Long after, Integer size) {
+        checkBookingsCanBeViewed(userId);
+        int pageSize=paginationSettings.resolvePageSize(size);
+        log.info("Fetching {} bookings of user with id: {} after id: {}",pageSize,userId,after);
+        List<Booking> bookings=bookingRepository.findByUserIdAndIdGreaterThanOrderByIdAsc(userId,after==null ? 0L : after,Limit.of(pageSize+1));
+        return KeysetChunks.page(bookings,pageSize,bookingMapper::toDto,Booking::getId);
     }
 
     @Override
+    @PreAuthorize("hasAnyRole('ADMIN','CUSTOMER')")
+    public Stream<BookingDto> streamAllBookingsOfUser(Long userId) {
+        checkBookingsCanBeViewed(userId);
+        log.info("Streaming bookings of user with id: {}",userId);
+        int chunkSize=paginationSettings.getStreamChunkSize();
+        return KeysetChunks.stream(lastId->bookingRepository.findByUserIdAndIdGreaterThanOrderByIdAsc(userId,lastId,Limit.of(chunkSize)),
+                        Booking::getId,chunkSize,entityManager::clear)
+                .map(bookingMapper::toDto);
+    }
+
+    private void checkBookingsCanBeViewed(Long userId){
+        User currentUser=getCurrentUser();
+        if(currentUser.getId().equals(userId)){
+            return;
+        }
+        if(currentUser.getRole()!=Role.ADMIN){
+            throw new UnauthorizedAccessException("You are not authorized to perform this operation");
+        }
+        if(!userRepository.existsById(userId)){
+            throw new ResourceNotFoundException("User with id: "+userId+" does not exists!");
+        }
+    }
+
+    @Override
+    @Transactional
     @PreAuthorize("hasAnyRole('ADMIN','HOTEL_MANAGER') and " +
             "(hasRole('ADMIN') or " +
             "@bookingService.isHotelManagerOfBooking(#bookingId))")
     public BookingDto updateBookingStatusById(Long bookingId, UpdateBookingStatusRequest request) {
-        Booking booking=bookingRepository.findById(bookingId).orElseThrow(()->new ResourceNotFoundException("Booking with id: "+bookingId+" not found!"));
+        Booking booking=bookingAccessContext.getBooking(bookingId);
         if(booking.getBookingStatus()==BookingStatus.CANCELLED){
             throw new IllegalStateException("Booking with id: "+bookingId+" has already been cancelled!");
         }
+        BookingStatus fromStatus=booking.getBookingStatus();
+        boolean releasesRoom=isLive(fromStatus) && !isLive(request.getBookingStatus());
         booking.setBookingStatus(request.getBookingStatus());
-        return modelMapper.map(bookingRepository.save(booking),BookingDto.class);
+        booking=bookingRepository.save(booking);
+        outboxService.record(booking,BookingEventType.STATUS_CHANGED,fromStatus);
+        hotelStatsService.record(booking,fromStatus);
+        if(releasesRoom){
+            releaseRoom(booking);
+        }
+        return bookingMapper.toDto(booking);
     }
 
     @Override
+    @Transactional
     @PreAuthorize("hasRole('ADMIN')")
     public void deleteBookingById(Long bookingId) {
         log.info("fetching booking with id: {}",bookingId);
-        if(!bookingRepository.existsById(bookingId)){
-            throw new ResourceNotFoundException("Booking with id: "+bookingId+" does not exists!");
-        }
+        Booking booking=bookingAccessContext.getBooking(bookingId);
         log.info("Successfully fetched booking with id: {}",bookingId);
-        bookingRepository.deleteById(bookingId);
+        bookingRepository.delete(booking);
+        outboxService.recordDeleted(booking);
+        hotelStatsService.recordDeleted(booking);
+        if(isLive(booking.getBookingStatus())){
+            releaseRoom(booking);
+        }
         log.info("Successfully deleted booking with id: {}",bookingId);
     }
 
     @Override
-    @PreAuthorize("hasRole(`HOTEL_MANAGER`) and "+
+    @Transactional
+    @PreAuthorize("hasRole('HOTEL_MANAGER') and "+
             "@bookingService.isHotelManagerOfBooking(#bookingId)")
     public BookingDto cancelBooking(Long bookingId) {
-        Booking booking=bookingRepository.findById(bookingId).orElseThrow(()->new ResourceNotFoundException("Booking with id: "+bookingId+" does not exists!"));
+        Booking booking=bookingAccessContext.getBooking(bookingId);
         if(booking.getBookingStatus()==BookingStatus.CANCELLED){
             throw new IllegalStateException("Booking has already been cancelled");
         }
@@ -120,7 +261,11 @@ public class BookingServiceImpl implements BookingService{
             throw new IllegalStateException("Booking cannot be cancelled in current status");
         }
         booking.setBookingStatus(BookingStatus.CANCELLED);
-        return modelMapper.map(bookingRepository.save(booking),BookingDto.class);
+        booking=bookingRepository.save(booking);
+        outboxService.record(booking,BookingEventType.CANCELLED,BookingStatus.ACTIVE);
+        hotelStatsService.record(booking,BookingStatus.ACTIVE);
+        releaseRoom(booking);
+        return bookingMapper.toDto(booking);
     }
 
     @Override
@@ -130,7 +275,7 @@ public class BookingServiceImpl implements BookingService{
             "@bookingService.isHotelManagerOfBooking(#bookingId) or " +
             "@bookingService.isBookingOwner(#bookingId))")
     public BookingDto addGuests(Long bookingId,AddGuestRequest request) {
-        Booking booking=bookingRepository.findById(bookingId).orElseThrow(()->new ResourceNotFoundException("Booking with id: "+bookingId+" does not exists!"));
+        Booking booking=bookingAccessContext.getBooking(bookingId);
         if(booking.getBookingStatus()==BookingStatus.CANCELLED){
             throw new IllegalStateException("Booking has already been cancelled");
         }
@@ -140,19 +285,13 @@ public class BookingServiceImpl implements BookingService{
         if(booking.getBookingStatus()!=BookingStatus.ACTIVE){
             throw new IllegalStateException("Booking is not in active state to add guests!");
         }
-        int MAX_GUESTS_PER_BOOKING = 2;
-        if(booking.getGuests().size()+request.getGuests().size()> MAX_GUESTS_PER_BOOKING){
+        // The guests were fetched with the booking by the access query, so the size costs no statement
+        if(booking.getGuests().size()+request.getGuests().size()>MAX_GUESTS_PER_BOOKING){
             throw new MaximumGuestLimitReachedException("Cannot add more than 2 guests!");
         }
-        List<Guest> guestsList=request.getGuests().stream()
-                .map(guestDto ->{
-                    Guest guest=modelMapper.map(guestDto,Guest.class);
-                    guest.setBooking(booking);
-                    return guest;
-                } )
-                .collect(Collectors.toList());
-        booking.getGuests().addAll(guestsList);
-        return modelMapper.map(bookingRepository.save(booking),BookingDto.class);
+        booking.getGuests().addAll(guestRepository.saveAll(toGuests(booking,request.getGuests())));
+        entityManager.lock(booking,LockModeType.OPTIMISTIC_FORCE_INCREMENT);
+        return bookingMapper.toDto(booking);
     }
 
     @Override
@@ -162,7 +301,7 @@ public class BookingServiceImpl implements BookingService{
             "@bookingService.isHotelManagerOfBooking(#bookingId) or " +
             "@bookingService.isBookingOwner(#bookingId))")
     public BookingDto removeGuests(Long bookingId, RemoveGuestRequest request) {
-        Booking booking=bookingRepository.findById(bookingId).orElseThrow(()->new ResourceNotFoundException("Booking with id: "+bookingId+" does not exists!"));
+        Booking booking=bookingAccessContext.getBooking(bookingId);
         if(booking.getBookingStatus()==BookingStatus.CANCELLED){
             throw new IllegalStateException("Booking has already been cancelled");
         }
@@ -173,54 +312,135 @@ public class BookingServiceImpl implements BookingService{
             throw new IllegalStateException("Provide 1 or 2 guests to be removed");
         }
 
-        List<Guest> guestsToRemove=guestRepository.findAllById(request.getGuestIds());
-        booking.getGuests().removeAll(guestsToRemove);
-        return modelMapper.map(bookingRepository.save(booking),BookingDto.class);
+        Set<Long> guestIds=new HashSet<>(request.getGuestIds());
+        guestRepository.deleteByBookingIdAndIdIn(bookingId,guestIds);
+        entityManager.lock(booking,LockModeType.OPTIMISTIC_FORCE_INCREMENT);
+        // The loaded collection is left alone, removing from it would make orphan removal delete the rows again
+        BookingDto bookingDto=bookingMapper.toDto(booking);
+        bookingDto.getGuests().removeIf(guest->guestIds.contains(guest.getId()));
+        return bookingDto;
     }
 
     @Override
+    @Transactional
+    @PreAuthorize("hasAnyRole('CUSTOMER','ADMIN','HOTEL_MANAGER') and " +
+            "(hasRole('ADMIN') or " +
+            "@bookingService.isHotelManagerOfBooking(#bookingId) or " +
+            "@bookingService.isBookingOwner(#bookingId))")
+    public BookingDto replaceGuests(Long bookingId, ReplaceGuestsRequest request) {
+        Booking booking=bookingAccessContext.getBooking(bookingId);
+        if(booking.getBookingStatus()!=BookingStatus.ACTIVE){
+            throw new IllegalStateException("Booking is not in active state to replace guests!");
+        }
+        List<GuestDto> guests=request.getGuests()==null ? List.of() : request.getGuests();
+        if(guests.size()>MAX_GUESTS_PER_BOOKING){
+            throw new MaximumGuestLimitReachedException("Cannot add more than 2 guests!");
+        }
+        guestRepository.deleteByBookingId(bookingId);
+        List<Guest> saved=guestRepository.saveAll(toGuests(booking,guests));
+        entityManager.lock(booking,LockModeType.OPTIMISTIC_FORCE_INCREMENT);
+        BookingDto bookingDto=bookingMapper.toDto(booking);
+        bookingDto.setGuests(saved.stream().map(bookingMapper::toDto).collect(Collectors.toList()));
+        return bookingDto;
+    }
+
+    private List<Guest> toGuests(Booking booking, List<GuestDto> guestDtos){
+        return guestDtos.stream()
+                .map(guestDto ->{
+                    Guest guest=bookingMapper.toEntity(guestDto);
+                    guest.setBooking(booking);
+                    return guest;
+                } )
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    @Transactional
     @PreAuthorize("hasRole('HOTEL_MANAGER') and "+
             "@bookingService.isHotelManagerOfBooking(#bookingId)")
     public BookingDto checkInBooking(Long bookingId) {
-        Booking booking=bookingRepository.findById(bookingId)
-                .orElseThrow(()->new ResourceNotFoundException("Booking with id: "+bookingId+" does not exists!"));
+        Booking booking=bookingAccessContext.getBooking(bookingId);
         if(booking.getBookingStatus()!=BookingStatus.ACTIVE){
             throw new IllegalStateException("Booking cannot be checked in due to current status");
         }
         booking.setBookingStatus(BookingStatus.CHECKED_IN);
         booking.setCheckInTime(LocalDateTime.now());
-        return modelMapper.map(bookingRepository.save(booking), BookingDto.class);
+        booking=bookingRepository.save(booking);
+        outboxService.record(booking,BookingEventType.CHECKED_IN,BookingStatus.ACTIVE);
+        hotelStatsService.record(booking,BookingStatus.ACTIVE);
+        return bookingMapper.toDto(booking);
     }
 
     @Override
+    @Transactional
     @PreAuthorize("hasRole('HOTEL_MANAGER') and "+
             "@bookingService.isHotelManagerOfBooking(#bookingId)")
     public BookingDto checkOutBooking(Long bookingId) {
-        Booking booking=bookingRepository.findById(bookingId)
-                .orElseThrow(()->new ResourceNotFoundException("Booking with id: "+bookingId+" does not exists!"));
+        Booking booking=bookingAccessContext.getBooking(bookingId);
         if(booking.getBookingStatus()!=BookingStatus.CHECKED_IN){
             throw new IllegalStateException("Booking cannot be checked in due to current status");
         }
         booking.setBookingStatus(BookingStatus.CHECKED_OUT);
         booking.setCheckOutTime(LocalDateTime.now());
-        return modelMapper.map(bookingRepository.save(booking),BookingDto.class);
+        booking=bookingRepository.save(booking);
+        outboxService.record(booking,BookingEventType.CHECKED_OUT,BookingStatus.CHECKED_IN);
+        hotelStatsService.record(booking,BookingStatus.CHECKED_IN);
+        releaseRoom(booking);
+        return bookingMapper.toDto(booking);
     }
 
     public boolean isHotelManagerOfBooking(Long bookingId){
-        return bookingRepository.findById(bookingId)
+        return bookingAccessContext.findBooking(bookingId)
                 .map(booking -> {
                     User currentUser=getCurrentUser();
-                    return currentUser.getRole()==Role.HOTEL_MANAGER &&
-                            booking.getHotel().getHotelManager().getId().equals(currentUser.getId());
+                    User hotelManager=booking.getHotel().getHotelManager();
+                    return currentUser.getRole()==Role.HOTEL_MANAGER && hotelManager!=null &&
+                            hotelManager.getId().equals(currentUser.getId());
                 }).orElse(false);
     }
 
     public boolean isBookingOwner(Long bookingId){
-        return bookingRepository.findById(bookingId)
+        return bookingAccessContext.findBooking(bookingId)
                 .map(booking -> booking.getUser().getId().equals(getCurrentUser().getId()))
                 .orElse(false);
     }
 
+    private Booking reserveBooking(Hotel hotel, User user, LocalDate checkInDate, LocalDate checkOutDate){
+        LocalDate from=checkInOf(checkInDate);
+        LocalDate to=checkOutOf(from,checkOutDate);
+        availabilityService.reserve(hotel,from,to);
+        if(InventoryService.staysTonight(from,to,LocalDate.now())){
+            inventoryService.takeRoom(hotel.getId());
+        }
+        return Booking.builder()
+                .user(user)
+                .hotel(hotel)
+                .bookingStatus(BookingStatus.ACTIVE)
+                .checkInDate(from)
+                .checkOutDate(to)
+                .build();
+    }
+
+    private void releaseRoom(Booking booking){
+        LocalDate today=LocalDate.now();
+        availabilityService.release(booking,today);
+        if(InventoryService.staysTonight(booking.getCheckInDate(),booking.getCheckOutDate(),today)){
+            inventoryService.restoreRooms(Map.of(booking.getHotel().getId(),1));
+        }
+    }
+
+    private LocalDate checkInOf(LocalDate checkInDate){
+        return checkInDate!=null ? checkInDate : LocalDate.now();
+    }
+
+    private LocalDate checkOutOf(LocalDate checkInDate, LocalDate checkOutDate){
+        return checkOutDate!=null ? checkOutDate : checkInDate.plusDays(1);
+    }
+
+    private boolean isLive(BookingStatus bookingStatus){
+        return bookingStatus==BookingStatus.ACTIVE || bookingStatus==BookingStatus.CHECKED_IN;
+    }
+
     private User getCurrentUser(){
         return (User)SecurityContextHolder.getContext().getAuthentication().getPrincipal();
     }
@@ -0,0 +1,6 @@
+package com.crio.stayease.service;
+
+public enum HotelImportFormat {
+    CSV,
+    NDJSON
+}
@@ -0,0 +1,148 @@
+package com.crio.stayease.service;
+
+import com.crio.stayease.dto.HotelDto;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Reads hotel rows one record at a time from CSV with a header line or from newline delimited JSON,
+ * so an import never holds more of the body than the record being parsed.
+ */
+class HotelImportReader implements Closeable {
+
+    private static final List<String> REQUIRED_COLUMNS=List.of("name","location","roomscount");
+
+    private final BufferedReader reader;
+    private final HotelImportFormat format;
+    private final ObjectReader jsonReader;
+    private long line;
+    private int[] columns;
+
+    HotelImportReader(InputStream body, HotelImportFormat format, ObjectMapper objectMapper){
+        this.reader=new BufferedReader(new InputStreamReader(body,StandardCharsets.UTF_8));
+        this.format=format;
+        this.jsonReader=objectMapper.readerFor(HotelDto.class);
+    }
+
+    /**
+     * The next non-blank record, or null at the end of the body.
+     */
+    Row next() throws IOException {
+        String text;
+        do{
+            text=reader.readLine();
+            if(text==null){
+                return null;
+            }
+            line++;
+        }while(text.isBlank());
+        return format==HotelImportFormat.NDJSON ? readJson(text) : readCsv(text);
+    }
+
+    private Row readJson(String text){
+        try{
+            return new Row(line,jsonReader.readValue(text),null);
+        }catch(JsonProcessingException exception){
+            return new Row(line,null,"Malformed JSON: "+exception.getOriginalMessage());
+        }
+    }
+
+    private Row readCsv(String text) throws IOException {
+        long recordLine=line;
+        List<String> fields=new ArrayList<>();
+        StringBuilder field=new StringBuilder();
+        boolean quoted=false;
+        while(true){
+            for(int i=0;i<text.length();i++){
+                char c=text.charAt(i);
+                if(quoted){
+                    if(c=='"' && i+1<text.length() && text.charAt(i+1)=='"'){
+                        field.append('"');
+                        i++;
+                    }else if(c=='"'){
+                        quoted=false;
+                    }else{
+                        field.append(c);
+                    }
+                }else if(c=='"'){
+                    quoted=true;
+                }else if(c==','){
+                    fields.add(field.toString());
+                    field.setLength(0);
+                }else{
+                    field.append(c);
+                }
+            }
+            if(!quoted){
+                break;
+            }
+            // A quoted field runs on to the next line
+            text=reader.readLine();
+            if(text==null){
+                return new Row(recordLine,null,"Unterminated quoted field");
+            }
+            line++;
+            field.append('\n');
+        }
+        fields.add(field.toString());
+        if(columns==null){
+            return readHeader(recordLine,fields);
+        }
+        return toRow(recordLine,fields);
+    }
+
+    private Row readHeader(long headerLine, List<String> fields) throws IOException {
+        List<String> names=fields.stream()
+                .map(name->name.trim().replace("_","").toLowerCase(Locale.ROOT))
+                .toList();
+        List<String> missing=REQUIRED_COLUMNS.stream().filter(name->!names.contains(name)).toList();
+        if(!missing.isEmpty()){
+            throw new IllegalArgumentException("CSV header on line "+headerLine+" is missing the columns "+missing);
+        }
+        columns=new int[]{names.indexOf("name"),names.indexOf("location"),names.indexOf("description"),
+                names.indexOf("roomscount"),names.indexOf("totalrooms")};
+        return next();
+    }
+
+    private Row toRow(long recordLine, List<String> fields){
+        HotelDto hotel=new HotelDto();
+        hotel.setName(field(fields,columns[0]));
+        hotel.setLocation(field(fields,columns[1]));
+        hotel.setDescription(field(fields,columns[2]));
+        try{
+            String roomsCount=field(fields,columns[3]);
+            if(roomsCount==null){
+                return new Row(recordLine,hotel,"roomsCount is required");
+            }
+            hotel.setRoomsCount(Integer.parseInt(roomsCount));
+            String totalRooms=field(fields,columns[4]);
+            hotel.setTotalRooms(totalRooms==null ? null : Integer.valueOf(totalRooms));
+        }catch(NumberFormatException exception){
+            return new Row(recordLine,hotel,"roomsCount and totalRooms must be whole numbers");
+        }
+        return new Row(recordLine,hotel,null);
+    }
+
+    private static String field(List<String> fields, int column){
+        if(column<0 || column>=fields.size()){
+            return null;
+        }
+        String value=fields.get(column).trim();
+        return value.isEmpty() ? null : value;
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    record Row(long line, HotelDto hotel, String error) {
+    }
+}
@@ -0,0 +1,159 @@
+package com.crio.stayease.service;
+
+import com.crio.stayease.cache.HotelCache;
+import com.crio.stayease.dto.HotelDto;
+import com.crio.stayease.dto.HotelImportErrorDto;
+import com.crio.stayease.dto.HotelImportResultDto;
+import com.crio.stayease.repository.HotelRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Upserts hotels read from a streamed CSV or NDJSON body in chunks, one transaction and one JDBC batch per
+ * chunk. A hotel whose name already exists keeps its booked rooms: its location and description are
+ * replaced and its rooms move by the change in capacity.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class HotelImportService {
+
+    private static final int MAX_TEXT_LENGTH=255;
+    private static final String UPSERT="insert into hotel (name, location, description, rooms_count, total_rooms, version, created_at, updated_at) " +
+            "values (?, ?, ?, ?, ?, 0, ?, ?) on duplicate key update location=values(location), description=values(description), " +
+            "rooms_count=greatest(0, rooms_count+values(total_rooms)-total_rooms), " +
+            "total_rooms=values(total_rooms), version=version+1, updated_at=values(updated_at)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final HotelRepository hotelRepository;
+    private final HotelSearchService hotelSearchService;
+    private final HotelCache hotelCache;
+    private final AvailabilityService availabilityService;
+
+    @Value("${stayease.hotel-import.chunk-size:1000}")
+    private int chunkSize=1000;
+
+    @Value("${stayease.hotel-import.max-reported-errors:1000}")
+    private int maxReportedErrors=1000;
+
+    public HotelImportResultDto importHotels(InputStream body, HotelImportFormat format){
+        long start=System.currentTimeMillis();
+        HotelImportResultDto result=new HotelImportResultDto();
+        List<HotelImportReader.Row> chunk=new ArrayList<>(chunkSize);
+        try(HotelImportReader reader=new HotelImportReader(body,format,objectMapper)){
+            HotelImportReader.Row row;
+            while((row=reader.next())!=null){
+                result.setRowsRead(result.getRowsRead()+1);
+                String error=row.error()!=null ? row.error() : validate(row.hotel());
+                if(error!=null){
+                    reject(result,row,error);
+                    continue;
+                }
+                chunk.add(row);
+                if(chunk.size()==chunkSize){
+                    upsert(chunk,result);
+                    chunk.clear();
+                }
+            }
+            upsert(chunk,result);
+        }catch(IOException exception){
+            throw new UncheckedIOException("Could not read the hotel import",exception);
+        }
+        result.setDurationMs(System.currentTimeMillis()-start);
+        log.info("Imported {} of {} hotel rows in {} ms",result.getImported(),result.getRowsRead(),result.getDurationMs());
+        return result;
+    }
+
+    private void upsert(List<HotelImportReader.Row> chunk, HotelImportResultDto result){
+        if(chunk.isEmpty()){
+            return;
+        }
+        try{
+            write(chunk);
+            result.setImported(result.getImported()+chunk.size());
+            refresh(chunk);
+        }catch(DataAccessException exception){
+            // Retry the rows one by one so only the ones the database refuses are reported
+            List<HotelImportReader.Row> written=new ArrayList<>();
+            for(HotelImportReader.Row row:chunk){
+                try{
+                    write(List.of(row));
+                    written.add(row);
+                }catch(DataAccessException rowException){
+                    reject(result,row,rowException.getMostSpecificCause().getMessage());
+                }
+            }
+            result.setImported(result.getImported()+written.size());
+            refresh(written);
+        }
+    }
+
+    private void write(List<HotelImportReader.Row> rows){
+        Timestamp now=Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> arguments=new ArrayList<>(rows.size());
+        for(HotelImportReader.Row row:rows){
+            HotelDto hotel=row.hotel();
+            arguments.add(new Object[]{hotel.getName(),hotel.getLocation(),hotel.getDescription(),hotel.getRoomsCount(),
+                    hotel.getTotalRooms()!=null ? hotel.getTotalRooms() : hotel.getRoomsCount(),now,now});
+        }
+        transactionTemplate.executeWithoutResult(status->jdbcTemplate.batchUpdate(UPSERT,arguments));
+    }
+
+    private void refresh(List<HotelImportReader.Row> rows){
+        if(rows.isEmpty()){
+            return;
+        }
+        List<String> names=rows.stream().map(row->row.hotel().getName()).toList();
+        for(HotelRepository.HotelSearchFields hotel:hotelRepository.findSearchFieldsByNameIn(names)){
+            hotelSearchService.index(hotel.getId(),hotel.getName(),hotel.getLocation(),hotel.getDescription());
+            hotelCache.invalidate(hotel.getId());
+            availabilityService.evict(hotel.getId());
+        }
+    }
+
+    private String validate(HotelDto hotel){
+        if(hotel==null){
+            return "Row is empty";
+        }
+        if(hotel.getName()==null || hotel.getName().isBlank()){
+            return "name is required";
+        }
+        if(hotel.getLocation()==null || hotel.getLocation().isBlank()){
+            return "location is required";
+        }
+        if(hotel.getName().length()>MAX_TEXT_LENGTH || hotel.getLocation().length()>MAX_TEXT_LENGTH
+                || (hotel.getDescription()!=null && hotel.getDescription().length()>MAX_TEXT_LENGTH)){
+            return "name, location and description cannot be longer than "+MAX_TEXT_LENGTH+" characters";
+        }
+        if(hotel.getRoomsCount()<0){
+            return "roomsCount cannot be negative";
+        }
+        if(hotel.getTotalRooms()!=null && hotel.getTotalRooms()<hotel.getRoomsCount()){
+            return "totalRooms cannot be less than roomsCount";
+        }
+        return null;
+    }
+
+    private void reject(HotelImportResultDto result, HotelImportReader.Row row, String error){
+        result.setRejected(result.getRejected()+1);
+        if(result.getErrors().size()<maxReportedErrors){
+            result.getErrors().add(new HotelImportErrorDto(row.line(),row.hotel()!=null ? row.hotel().getName() : null,error));
+        }
+    }
+}
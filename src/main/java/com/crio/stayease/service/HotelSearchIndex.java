@@ -0,0 +1,317 @@
+package com.crio.stayease.service;
+
+import java.util.*;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Inverted index of hotel name, location and description tokens. Every token maps to a sorted array of
+ * hotel ids per field, so a query is a merge of sorted arrays, and a trie of all tokens lets the last
+ * query token match as a prefix while the user is still typing.
+ */
+class HotelSearchIndex {
+
+    static final int NAME_WEIGHT=3;
+    static final int LOCATION_WEIGHT=2;
+    static final int DESCRIPTION_WEIGHT=1;
+
+    private static final int MAX_PREFIX_EXPANSIONS=64;
+
+    private final Map<String,Postings> names=new HashMap<>();
+    private final Map<String,Postings> locations=new HashMap<>();
+    private final Map<String,Postings> descriptions=new HashMap<>();
+    private final Map<Long,IndexedHotel> hotels=new HashMap<>();
+    private final TrieNode trie=new TrieNode();
+    private final ReentrantReadWriteLock lock=new ReentrantReadWriteLock();
+
+    void put(long hotelId, String name, String location, String description){
+        IndexedHotel hotel=new IndexedHotel(tokenize(name),tokenize(location),tokenize(description));
+        lock.writeLock().lock();
+        try{
+            removeLocked(hotelId);
+            hotels.put(hotelId,hotel);
+            addAll(names,hotel.names(),hotelId);
+            addAll(locations,hotel.locations(),hotelId);
+            addAll(descriptions,hotel.descriptions(),hotelId);
+        }finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    void remove(long hotelId){
+        lock.writeLock().lock();
+        try{
+            removeLocked(hotelId);
+        }finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    int size(){
+        lock.readLock().lock();
+        try{
+            return hotels.size();
+        }finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Finds hotels matching every token of the query in any field and every token of the location in
+     * the location field, best score first and lowest id first among equal scores.
+     */
+    Matches search(String query, String location){
+        List<String> queryTokens=tokenize(query);
+        List<String> locationTokens=tokenize(location);
+        if(queryTokens.isEmpty() && locationTokens.isEmpty()){
+            return Matches.EMPTY;
+        }
+        lock.readLock().lock();
+        try{
+            Matches matches=null;
+            for(int i=0;i<queryTokens.size();i++){
+                boolean prefix=i==queryTokens.size()-1;
+                Matches tokenMatches=matchToken(queryTokens.get(i),prefix);
+                matches=matches==null ? tokenMatches : matches.intersect(tokenMatches,true);
+                if(matches.size==0){
+                    return Matches.EMPTY;
+                }
+            }
+            for(String token:locationTokens){
+                Matches tokenMatches=Matches.of(locations.get(token),LOCATION_WEIGHT);
+                matches=matches==null ? tokenMatches : matches.intersect(tokenMatches,queryTokens.isEmpty());
+                if(matches.size==0){
+                    return Matches.EMPTY;
+                }
+            }
+            return matches.ranked();
+        }finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private Matches matchToken(String token, boolean prefix){
+        List<String> expansions=prefix ? expand(token) : List.of(token);
+        Matches matches=Matches.EMPTY;
+        for(String expansion:expansions){
+            matches=matches.union(Matches.of(names.get(expansion),NAME_WEIGHT))
+                    .union(Matches.of(locations.get(expansion),LOCATION_WEIGHT))
+                    .union(Matches.of(descriptions.get(expansion),DESCRIPTION_WEIGHT));
+        }
+        return matches;
+    }
+
+    private List<String> expand(String prefix){
+        TrieNode node=trie;
+        for(int i=0;i<prefix.length() && node!=null;i++){
+            node=node.children.get(prefix.charAt(i));
+        }
+        List<String> tokens=new ArrayList<>();
+        if(node!=null){
+            collect(node,new StringBuilder(prefix),tokens);
+        }
+        return tokens;
+    }
+
+    private void collect(TrieNode node, StringBuilder path, List<String> tokens){
+        if(tokens.size()>=MAX_PREFIX_EXPANSIONS){
+            return;
+        }
+        if(node.word){
+            tokens.add(path.toString());
+        }
+        for(Map.Entry<Character,TrieNode> child:node.children.entrySet()){
+            path.append(child.getKey());
+            collect(child.getValue(),path,tokens);
+            path.setLength(path.length()-1);
+        }
+    }
+
+    private void removeLocked(long hotelId){
+        IndexedHotel previous=hotels.remove(hotelId);
+        if(previous==null){
+            return;
+        }
+        removeAll(names,previous.names(),hotelId);
+        removeAll(locations,previous.locations(),hotelId);
+        removeAll(descriptions,previous.descriptions(),hotelId);
+    }
+
+    private void addAll(Map<String,Postings> field, List<String> tokens, long hotelId){
+        for(String token:tokens){
+            field.computeIfAbsent(token,key->new Postings()).add(hotelId);
+            TrieNode node=trie;
+            for(int i=0;i<token.length();i++){
+                node=node.children.computeIfAbsent(token.charAt(i),key->new TrieNode());
+            }
+            node.word=true;
+        }
+    }
+
+    private void removeAll(Map<String,Postings> field, List<String> tokens, long hotelId){
+        for(String token:tokens){
+            Postings postings=field.get(token);
+            if(postings!=null && postings.remove(hotelId) && postings.size==0){
+                field.remove(token);
+                if(!names.containsKey(token) && !locations.containsKey(token) && !descriptions.containsKey(token)){
+                    unmark(token);
+                }
+            }
+        }
+    }
+
+    private void unmark(String token){
+        TrieNode node=trie;
+        for(int i=0;i<token.length() && node!=null;i++){
+            node=node.children.get(token.charAt(i));
+        }
+        if(node!=null){
+            node.word=false;
+        }
+    }
+
+    static List<String> tokenize(String text){
+        if(text==null || text.isBlank()){
+            return List.of();
+        }
+        Set<String> tokens=new LinkedHashSet<>();
+        for(String token:text.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+")){
+            if(!token.isEmpty()){
+                tokens.add(token);
+            }
+        }
+        return List.copyOf(tokens);
+    }
+
+    private record IndexedHotel(List<String> names, List<String> locations, List<String> descriptions) {
+    }
+
+    private static final class TrieNode {
+        private final TreeMap<Character,TrieNode> children=new TreeMap<>();
+        private boolean word;
+    }
+
+    /**
+     * Sorted, growable array of hotel ids.
+     */
+    private static final class Postings {
+        private long[] ids=new long[4];
+        private int size;
+
+        void add(long id){
+            int index=Arrays.binarySearch(ids,0,size,id);
+            if(index>=0){
+                return;
+            }
+            int insertAt=-index-1;
+            if(size==ids.length){
+                ids=Arrays.copyOf(ids,size*2);
+            }
+            System.arraycopy(ids,insertAt,ids,insertAt+1,size-insertAt);
+            ids[insertAt]=id;
+            size++;
+        }
+
+        boolean remove(long id){
+            int index=Arrays.binarySearch(ids,0,size,id);
+            if(index<0){
+                return false;
+            }
+            System.arraycopy(ids,index+1,ids,index,size-index-1);
+            size--;
+            return true;
+        }
+    }
+
+    /**
+     * Hotel ids with their scores, sorted by id until {@link #ranked()} orders them by score.
+     */
+    static final class Matches {
+        static final Matches EMPTY=new Matches(new long[0],new int[0],0);
+
+        final long[] ids;
+        final int[] scores;
+        final int size;
+
+        private Matches(long[] ids, int[] scores, int size){
+            this.ids=ids;
+            this.scores=scores;
+            this.size=size;
+        }
+
+        private static Matches of(Postings postings, int weight){
+            if(postings==null){
+                return EMPTY;
+            }
+            int[] scores=new int[postings.size];
+            Arrays.fill(scores,weight);
+            return new Matches(Arrays.copyOf(postings.ids,postings.size),scores,postings.size);
+        }
+
+        /**
+         * Ids in either side, keeping the best score of an id matched more than once.
+         */
+        private Matches union(Matches other){
+            if(other.size==0){
+                return this;
+            }
+            if(size==0){
+                return other;
+            }
+            long[] mergedIds=new long[size+other.size];
+            int[] mergedScores=new int[size+other.size];
+            int i=0,j=0,k=0;
+            while(i<size || j<other.size){
+                if(j==other.size || (i<size && ids[i]<other.ids[j])){
+                    mergedIds[k]=ids[i];
+                    mergedScores[k++]=scores[i++];
+                }else if(i==size || other.ids[j]<ids[i]){
+                    mergedIds[k]=other.ids[j];
+                    mergedScores[k++]=other.scores[j++];
+                }else{
+                    mergedIds[k]=ids[i];
+                    mergedScores[k++]=Math.max(scores[i++],other.scores[j++]);
+                }
+            }
+            return new Matches(mergedIds,mergedScores,k);
+        }
+
+        /**
+         * Ids on both sides, adding the other side's score only when it should count towards the rank.
+         */
+        private Matches intersect(Matches other, boolean addScores){
+            long[] commonIds=new long[Math.min(size,other.size)];
+            int[] commonScores=new int[commonIds.length];
+            int i=0,j=0,k=0;
+            while(i<size && j<other.size){
+                if(ids[i]<other.ids[j]){
+                    i++;
+                }else if(other.ids[j]<ids[i]){
+                    j++;
+                }else{
+                    commonIds[k]=ids[i];
+                    commonScores[k++]=addScores ? scores[i]+other.scores[j] : scores[i];
+                    i++;
+                    j++;
+                }
+            }
+            return new Matches(commonIds,commonScores,k);
+        }
+
+        private Matches ranked(){
+            // Inverted score in the high bits and position in the low bits, positions already follow the ids
+            long[] order=new long[size];
+            for(int i=0;i<size;i++){
+                order[i]=((long)(Integer.MAX_VALUE-scores[i])<<32) | i;
+            }
+            Arrays.sort(order);
+            long[] rankedIds=new long[size];
+            int[] rankedScores=new int[size];
+            for(int i=0;i<size;i++){
+                int position=(int)order[i];
+                rankedIds[i]=ids[position];
+                rankedScores[i]=scores[position];
+            }
+            return new Matches(rankedIds,rankedScores,size);
+        }
+    }
+}
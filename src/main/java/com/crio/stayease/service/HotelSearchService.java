@@ -0,0 +1,76 @@
+package com.crio.stayease.service;
+
+import com.crio.stayease.configs.PaginationSettings;
+import com.crio.stayease.dto.HotelDto;
+import com.crio.stayease.dto.HotelSearchResultDto;
+import com.crio.stayease.entity.Hotel;
+import com.crio.stayease.mapper.HotelMapper;
+import com.crio.stayease.repository.HotelRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class HotelSearchService {
+
+    private final HotelRepository hotelRepository;
+    private final HotelMapper hotelMapper;
+    private final PaginationSettings paginationSettings;
+    private final HotelSearchIndex index=new HotelSearchIndex();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild(){
+        log.info("Building hotel search index");
+        int chunkSize=paginationSettings.getStreamChunkSize();
+        KeysetChunks.stream(lastId->hotelRepository.findByIdGreaterThanOrderByIdAsc(lastId,Limit.of(chunkSize)),
+                        Hotel::getId,chunkSize,()->{})
+                .forEach(this::index);
+        log.info("Successfully indexed {} hotels for search",index.size());
+    }
+
+    public void index(Hotel hotel){
+        index(hotel.getId(),hotel.getName(),hotel.getLocation(),hotel.getDescription());
+    }
+
+    public void index(Long hotelId, String name, String location, String description){
+        index.put(hotelId,name,location,description);
+    }
+
+    public void remove(Long hotelId){
+        index.remove(hotelId);
+    }
+
+    public HotelSearchResultDto search(String query, String location, Integer page, Integer size){
+        int pageSize=paginationSettings.resolvePageSize(size);
+        int pageNumber=page==null ? 0 : page;
+        if(pageNumber<0){
+            throw new IllegalArgumentException("Page must not be negative!");
+        }
+        HotelSearchIndex.Matches matches=index.search(query,location);
+        long from=(long)pageNumber*pageSize;
+        if(from>=matches.size){
+            return new HotelSearchResultDto(List.of(),matches.size,pageNumber,pageSize);
+        }
+        List<Long> pageIds=new ArrayList<>();
+        for(int i=(int)from;i<Math.min(matches.size,from+pageSize);i++){
+            pageIds.add(matches.ids[i]);
+        }
+        Map<Long,Hotel> hotels=hotelRepository.findAllById(pageIds).stream()
+                .collect(Collectors.toMap(Hotel::getId,Function.identity()));
+        List<HotelDto> items=pageIds.stream()
+                .map(hotels::get)
+                .filter(Objects::nonNull)
+                .map(hotelMapper::toDto)
+                .toList();
+        return new HotelSearchResultDto(items,matches.size,pageNumber,pageSize);
+    }
+}
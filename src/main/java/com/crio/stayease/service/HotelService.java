@@ -1,15 +1,31 @@
 package com.crio.stayease.service;
 
+import com.crio.stayease.dto.CacheStatsDto;
+import com.crio.stayease.dto.CursorPageDto;
 import com.crio.stayease.dto.HotelDto;
+import com.crio.stayease.dto.HotelImportResultDto;
+import com.crio.stayease.dto.HotelStatsDto;
+import com.crio.stayease.dto.InventoryReconciliationDto;
 
+import java.io.InputStream;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface HotelService {
     HotelDto createNewHotel(HotelDto hotelDto);
     HotelDto getHotelById(Long id);
+    Optional<String> findHotelVersionTag(Long id);
     List<HotelDto> getAllHotels();
+    CursorPageDto<HotelDto> getHotelsPage(Long after, Integer size);
+    Stream<HotelDto> streamAllHotels();
     HotelDto updateHotelById(Long id,HotelDto hotelDto);
     HotelDto assignHotelManager(Long hotelId,Long userId);
     void deleteHotelById(Long id);
+    CacheStatsDto getHotelCacheStats();
+    HotelStatsDto getHotelStats(Long id);
+    List<HotelStatsDto> getManagedHotelStats();
+    InventoryReconciliationDto reconcileInventory();
+    HotelImportResultDto importHotels(InputStream body, HotelImportFormat format);
 
 }
@@ -1,39 +1,71 @@
 package com.crio.stayease.service;
 
+import com.crio.stayease.cache.AuthenticatedUserCache;
+import com.crio.stayease.cache.HotelCache;
+import com.crio.stayease.configs.PaginationSettings;
+import com.crio.stayease.dto.CacheStatsDto;
+import com.crio.stayease.dto.CursorPageDto;
 import com.crio.stayease.dto.HotelDto;
+import com.crio.stayease.dto.HotelImportResultDto;
+import com.crio.stayease.dto.HotelStatsDto;
+import com.crio.stayease.dto.InventoryReconciliationDto;
 import com.crio.stayease.entity.Hotel;
 import com.crio.stayease.entity.User;
 import com.crio.stayease.entity.enums.Role;
 import com.crio.stayease.exception.ResourceNotFoundException;
 import com.crio.stayease.exception.UnauthorizedAccessException;
+import com.crio.stayease.mapper.HotelMapper;
 import com.crio.stayease.repository.HotelRepository;
 import com.crio.stayease.repository.UserRepository;
+import jakarta.persistence.EntityManager;
 import jakarta.transaction.Transactional;
+import io.micrometer.core.annotation.Counted;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.modelmapper.ModelMapper;
+import org.springframework.data.domain.Limit;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 
+import java.io.InputStream;
 import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
+@Timed(value = "stayease.service", extraTags = {"component","hotel"})
+@Counted(value = "stayease.service.failures", extraTags = {"component","hotel"}, recordFailuresOnly = true)
 public class HotelServiceImpl implements HotelService{
 
     private final HotelRepository hotelRepository;
     private final UserRepository userRepository;
-    private final ModelMapper modelMapper;
+    private final AvailabilityService availabilityService;
+    private final HotelMapper hotelMapper;
+    private final AuthenticatedUserCache authenticatedUserCache;
+    private final HotelCache hotelCache;
+    private final HotelSearchService hotelSearchService;
+    private final HotelStatsService hotelStatsService;
+    private final InventoryReconciler inventoryReconciler;
+    private final HotelImportService hotelImportService;
+    private final PaginationSettings paginationSettings;
+    private final EntityManager entityManager;
 
     @Override
     @PreAuthorize("hasRole('ADMIN')")
     public HotelDto createNewHotel(HotelDto hotelDto) {
         log.info("Attempting to create new Hotel");
-        Hotel hotel=modelMapper.map(hotelDto,Hotel.class);
-        hotelDto=modelMapper.map(hotelRepository.save(hotel), HotelDto.class);
+        Hotel hotel=hotelMapper.toEntity(hotelDto);
+        if(hotel.getTotalRooms()==null){
+            hotel.setTotalRooms(hotel.getRoomsCount());
+        }
+        hotel=hotelRepository.save(hotel);
+        hotelSearchService.index(hotel);
+        hotelDto=hotelMapper.toDto(hotel);
         log.info("Successfully created Hotel with id: "+hotelDto.getId());
         return hotelDto;
     }
@@ -41,10 +73,26 @@ public class HotelServiceImpl implements HotelService{
     @Override
     @PreAuthorize("permitAll")
     public HotelDto getHotelById(Long id) {
+        HotelDto cached=hotelCache.get(id);
+        if(cached!=null){
+            return cached;
+        }
+        long version=hotelCache.currentVersion(id);
         log.info("Fetching hotel with id: {}",id);
         Hotel hotel=hotelRepository.findById(id).orElseThrow(()->new ResourceNotFoundException("Hotel with id "+id+" does not exists!"));
         log.info("Successfully fetched hotel with id: {}",id);
-        return modelMapper.map(hotel,HotelDto.class);
+        HotelDto hotelDto=hotelMapper.toDto(hotel);
+        hotelCache.put(id,hotelDto,version);
+        return hotelDto;
+    }
+
+    @Override
+    @PreAuthorize("permitAll")
+    public Optional<String> findHotelVersionTag(Long id) {
+        // The manager is part of the hotel representation, so its last change is part of the tag
+        return hotelRepository.findVersionById(id)
+                .map(version->version.getVersion()+"-"+Objects.toString(version.getManagerId(),"none")+"-"+
+                        Objects.toString(version.getManagerUpdatedAt(),"none"));
     }
 
     @Override
@@ -52,12 +100,31 @@ public class HotelServiceImpl implements HotelService{
     public List<HotelDto> getAllHotels() {
         log.info("Attempting to fetch all the hotels");
         return hotelRepository.findAll().stream()
-                .map(hotel->modelMapper.map(hotel,HotelDto.class))
+                .map(hotel->hotelMapper.toDto(hotel))
                 .collect(Collectors.toList());
     }
 
     @Override
-    @PreAuthorize("hasRole(`HOTEL_MANAGER`)")
+    @PreAuthorize("permitAll")
+    public CursorPageDto<HotelDto> getHotelsPage(Long after, Integer size) {
+        int pageSize=paginationSettings.resolvePageSize(size);
+        log.info("Fetching {} hotels after id: {}",pageSize,after);
+        List<Hotel> hotels=hotelRepository.findByIdGreaterThanOrderByIdAsc(after==null ? 0L : after,Limit.of(pageSize+1));
+        return KeysetChunks.page(hotels,pageSize,hotelMapper::toDto,Hotel::getId);
+    }
+
+    @Override
+    @PreAuthorize("permitAll")
+    public Stream<HotelDto> streamAllHotels() {
+        log.info("Attempting to stream all the hotels");
+        int chunkSize=paginationSettings.getStreamChunkSize();
+        return KeysetChunks.stream(lastId->hotelRepository.findByIdGreaterThanOrderByIdAsc(lastId,Limit.of(chunkSize)),
+                        Hotel::getId,chunkSize,entityManager::clear)
+                .map(hotelMapper::toDto);
+    }
+
+    @Override
+    @PreAuthorize("hasRole('HOTEL_MANAGER')")
     public HotelDto updateHotelById(Long id, HotelDto hotelDto) {
         log.info("Fetching hotel with id: {}",id);
         Hotel hotel=hotelRepository.findById(id).orElseThrow(()->new ResourceNotFoundException("Hotel with id "+id+" does not exists!"));
@@ -68,10 +135,13 @@ public class HotelServiceImpl implements HotelService{
         }
 
         log.info("Attempting to update hotel with id: {}",id);
-        modelMapper.map(hotelDto,hotel);
+        hotelMapper.updateEntity(hotelDto,hotel);
         hotel=hotelRepository.save(hotel);
+        hotelSearchService.index(hotel);
+        hotelCache.invalidate(id);
+        availabilityService.evict(id);
         log.info("Successfully updated hotel with id: {}",id);
-        return modelMapper.map(hotel,HotelDto.class);
+        return hotelMapper.toDto(hotel);
     }
 
     @Override
@@ -88,7 +158,9 @@ public class HotelServiceImpl implements HotelService{
        hotel.setHotelManager(user);
 
        hotelRepository.save(hotel);
-       return modelMapper.map(hotel,HotelDto.class);
+       hotelCache.invalidate(hotelId);
+       authenticatedUserCache.invalidateUser(userId);
+       return hotelMapper.toDto(hotel);
     }
 
     @Override
@@ -100,8 +172,51 @@ public class HotelServiceImpl implements HotelService{
         }
         log.info("Attempting to delete hotel with id: "+id);
         hotelRepository.deleteById(id);
+        hotelSearchService.remove(id);
+        hotelCache.invalidate(id);
+        availabilityService.evict(id);
         log.info("Successfully deleted hotel with id: "+id);
     }
+    @Override
+    @PreAuthorize("hasRole('ADMIN')")
+    public CacheStatsDto getHotelCacheStats() {
+        return hotelCache.stats();
+    }
+
+    @Override
+    @PreAuthorize("hasAnyRole('ADMIN','HOTEL_MANAGER')")
+    public HotelStatsDto getHotelStats(Long id) {
+        HotelRepository.ManagedHotelCapacity hotel=hotelRepository.findCapacityById(id)
+                .orElseThrow(()->new ResourceNotFoundException("Hotel with id "+id+" does not exists!"));
+        User currentUser=getCurrentUser();
+        if(currentUser.getRole()!=Role.ADMIN && !currentUser.getId().equals(hotel.getManagerId())){
+            throw new UnauthorizedAccessException("You are not authorized to perform this operation!");
+        }
+        return hotelStatsService.getStats(hotel);
+    }
+
+    @Override
+    @PreAuthorize("hasRole('HOTEL_MANAGER')")
+    public List<HotelStatsDto> getManagedHotelStats() {
+        return hotelRepository.findCapacitiesByManagerId(getCurrentUser().getId()).stream()
+                .map(hotelStatsService::getStats)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    @PreAuthorize("hasRole('ADMIN')")
+    public InventoryReconciliationDto reconcileInventory() {
+        log.info("Reconciling the rooms of all hotels");
+        return inventoryReconciler.reconcile();
+    }
+
+    @Override
+    @PreAuthorize("hasRole('ADMIN')")
+    public HotelImportResultDto importHotels(InputStream body, HotelImportFormat format) {
+        log.info("Importing hotels from {}",format);
+        return hotelImportService.importHotels(body,format);
+    }
+
     private User getCurrentUser(){
         return (User)SecurityContextHolder.getContext().getAuthentication().getPrincipal();
     }
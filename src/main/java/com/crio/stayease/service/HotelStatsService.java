@@ -0,0 +1,149 @@
+package com.crio.stayease.service;
+
+import com.crio.stayease.dto.HotelStatsDto;
+import com.crio.stayease.entity.Booking;
+import com.crio.stayease.entity.enums.BookingStatus;
+import com.crio.stayease.repository.BookingRepository;
+import com.crio.stayease.repository.HotelRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Per-hotel booking counts by status, moved by every booking transition when its transaction commits
+ * and recomputed from the booking table on a fixed delay. A transition committed while a reconciliation
+ * is reading may be counted twice or not at all until the next one.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class HotelStatsService {
+
+    private static final BookingStatus[] STATUSES=BookingStatus.values();
+
+    private final BookingRepository bookingRepository;
+    private volatile ConcurrentHashMap<Long,AtomicLongArray> counts=new ConcurrentHashMap<>();
+
+    @Value("${stayease.hotel-stats.reconcile-chunk-size:50000}")
+    private long reconcileChunkSize=50000;
+
+    @Value("${stayease.hotel-stats.reconcile-parallelism:4}")
+    private int reconcileParallelism=4;
+
+    public void record(Booking booking, BookingStatus fromStatus){
+        record(booking.getHotel().getId(),fromStatus,booking.getBookingStatus());
+    }
+
+    public void record(Long hotelId, BookingStatus fromStatus, BookingStatus toStatus){
+        afterCommit(()->apply(hotelId,fromStatus,toStatus));
+    }
+
+    public void recordAll(List<Booking> bookings){
+        if(bookings.isEmpty()){
+            return;
+        }
+        List<Long> hotelIds=bookings.stream().map(booking->booking.getHotel().getId()).toList();
+        afterCommit(()->hotelIds.forEach(hotelId->apply(hotelId,null,BookingStatus.ACTIVE)));
+    }
+
+    public void recordDeleted(Booking booking){
+        Long hotelId=booking.getHotel().getId();
+        BookingStatus status=booking.getBookingStatus();
+        afterCommit(()->apply(hotelId,status,null));
+    }
+
+    public HotelStatsDto getStats(HotelRepository.HotelCapacity hotel){
+        AtomicLongArray hotelCounts=counts.get(hotel.getId());
+        long[] byStatus=new long[STATUSES.length];
+        if(hotelCounts!=null){
+            for(int i=0;i<byStatus.length;i++){
+                byStatus[i]=hotelCounts.get(i);
+            }
+        }
+        long active=byStatus[BookingStatus.ACTIVE.ordinal()];
+        long checkedIn=byStatus[BookingStatus.CHECKED_IN.ordinal()];
+        int capacity=hotel.getTotalRooms();
+        double occupancy=capacity>0 ? Math.min(100.0,(active+checkedIn)*100.0/capacity) : 0.0;
+        return HotelStatsDto.builder()
+                .hotelId(hotel.getId())
+                .active(active)
+                .checkedIn(checkedIn)
+                .checkedOut(byStatus[BookingStatus.CHECKED_OUT.ordinal()])
+                .cancelled(byStatus[BookingStatus.CANCELLED.ordinal()])
+                .capacity(capacity)
+                .roomsCount(hotel.getRoomsCount())
+                .occupancyPercent(Math.round(occupancy*10)/10.0)
+                .build();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(initialDelayString = "${stayease.hotel-stats.reconcile-interval-ms:600000}",
+            fixedDelayString = "${stayease.hotel-stats.reconcile-interval-ms:600000}")
+    public synchronized void reconcile(){
+        BookingRepository.IdRange range=bookingRepository.findIdRange();
+        if(range==null || range.getMinId()==null){
+            counts=new ConcurrentHashMap<>();
+            return;
+        }
+        List<Callable<List<BookingRepository.HotelStatusCount>>> chunks=new ArrayList<>();
+        for(long fromId=range.getMinId();fromId<=range.getMaxId();fromId+=reconcileChunkSize){
+            long chunkFrom=fromId;
+            long chunkTo=Math.min(range.getMaxId(),fromId+reconcileChunkSize-1);
+            chunks.add(()->bookingRepository.countByHotelAndStatusBetween(chunkFrom,chunkTo));
+        }
+        ConcurrentHashMap<Long,AtomicLongArray> next=new ConcurrentHashMap<>();
+        try(ExecutorService executor=Executors.newFixedThreadPool(Math.max(1,Math.min(reconcileParallelism,chunks.size())))){
+            for(Future<List<BookingRepository.HotelStatusCount>> chunk:executor.invokeAll(chunks)){
+                for(BookingRepository.HotelStatusCount count:chunk.get()){
+                    next.computeIfAbsent(count.getHotelId(),id->new AtomicLongArray(STATUSES.length))
+                            .addAndGet(count.getBookingStatus().ordinal(),count.getBookings());
+                }
+            }
+        }catch(InterruptedException exception){
+            Thread.currentThread().interrupt();
+            return;
+        }catch(ExecutionException exception){
+            log.warn("Could not reconcile hotel stats, keeping the current counts",exception.getCause());
+            return;
+        }
+        counts=next;
+        log.info("Reconciled booking stats of {} hotels from {} chunks",next.size(),chunks.size());
+    }
+
+    private void apply(Long hotelId, BookingStatus fromStatus, BookingStatus toStatus){
+        if(fromStatus==toStatus){
+            return;
+        }
+        AtomicLongArray hotelCounts=counts.computeIfAbsent(hotelId,id->new AtomicLongArray(STATUSES.length));
+        if(fromStatus!=null){
+            hotelCounts.decrementAndGet(fromStatus.ordinal());
+        }
+        if(toStatus!=null){
+            hotelCounts.incrementAndGet(toStatus.ordinal());
+        }
+    }
+
+    private void afterCommit(Runnable update){
+        if(TransactionSynchronizationManager.isSynchronizationActive()){
+            // Counts only move for transitions that actually commit
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    update.run();
+                }
+            });
+            return;
+        }
+        update.run();
+    }
+}
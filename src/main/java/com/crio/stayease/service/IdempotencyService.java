@@ -0,0 +1,200 @@
+package com.crio.stayease.service;
+
+import com.crio.stayease.cache.BoundedTtlCache;
+import com.crio.stayease.entity.IdempotencyRecord;
+import com.crio.stayease.entity.User;
+import com.crio.stayease.exception.IdempotencyKeyReusedException;
+import com.crio.stayease.repository.IdempotencyRecordRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Base64;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Replays the stored response of a request that already completed under the same Idempotency-Key
+ * instead of executing it again. Completed responses live in memory and in the idempotency_record
+ * table, which is written in the same transaction as the request itself. Each key is bound to a hash of the
+ * request body it was first used with, and reusing it for a different body is rejected.
+ */
+@Service
+@Slf4j
+public class IdempotencyService {
+
+    private static final int MAX_KEY_LENGTH=100;
+
+    private final IdempotencyRecordRepository idempotencyRecordRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final BoundedTtlCache<String,CompletedRequest> responses;
+    private final ConcurrentHashMap<String,InFlightRequest> inFlight=new ConcurrentHashMap<>();
+    private final long ttlMinutes;
+
+    public IdempotencyService(IdempotencyRecordRepository idempotencyRecordRepository,
+                              TransactionTemplate transactionTemplate,
+                              ObjectMapper objectMapper,
+                              @Value("${stayease.idempotency.max-entries:10000}") int maxEntries,
+                              @Value("${stayease.idempotency.ttl-minutes:1440}") long ttlMinutes){
+        this.idempotencyRecordRepository=idempotencyRecordRepository;
+        this.transactionTemplate=transactionTemplate;
+        this.objectMapper=objectMapper;
+        this.ttlMinutes=ttlMinutes;
+        this.responses=new BoundedTtlCache<>(maxEntries,ttlMinutes*60*1000);
+    }
+
+    public <T> T execute(String idempotencyKey, String operation, Object request, Class<T> responseType, Supplier<T> action){
+        if(idempotencyKey==null || idempotencyKey.isBlank()){
+            return action.get();
+        }
+        if(idempotencyKey.length()>MAX_KEY_LENGTH){
+            throw new IllegalArgumentException("Idempotency-Key cannot be longer than "+MAX_KEY_LENGTH+" characters!");
+        }
+        String key=getCurrentUser().getId()+":"+operation+":"+idempotencyKey;
+        String requestHash=hash(request);
+        CompletedRequest cached=responses.get(key);
+        if(cached!=null){
+            checkSameRequest(cached.requestHash(),requestHash);
+            log.info("Replaying response for idempotency key: {}",key);
+            return responseType.cast(cached.response());
+        }
+
+        InFlightRequest execution=new InFlightRequest(requestHash,new CompletableFuture<>());
+        InFlightRequest running=inFlight.putIfAbsent(key,execution);
+        if(running!=null){
+            checkSameRequest(running.requestHash(),requestHash);
+            return responseType.cast(await(running.response()));
+        }
+        try{
+            T response=executeOnce(key,requestHash,responseType,action);
+            execution.response().complete(response);
+            return response;
+        }catch(RuntimeException exception){
+            execution.response().completeExceptionally(exception);
+            throw exception;
+        }finally {
+            inFlight.remove(key,execution);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${stayease.idempotency.purge-interval-ms:3600000}")
+    public void purgeExpired(){
+        int purged=idempotencyRecordRepository.deleteExpired(LocalDateTime.now());
+        if(purged>0){
+            log.info("Purged {} expired idempotency records",purged);
+        }
+    }
+
+    private <T> T executeOnce(String key, String requestHash, Class<T> responseType, Supplier<T> action){
+        IdempotencyRecord existing=idempotencyRecordRepository.findById(key).orElse(null);
+        if(existing!=null && existing.getExpiresAt().isAfter(LocalDateTime.now())){
+            return replay(key,requestHash,existing,responseType);
+        }
+        LocalDateTime expiresAt=LocalDateTime.now().plusMinutes(ttlMinutes);
+        T response;
+        try{
+            response=transactionTemplate.execute(status->{
+                if(existing!=null){
+                    // The purge job has not removed the expired record yet, the new response takes over its key
+                    idempotencyRecordRepository.deleteExpired(key,LocalDateTime.now());
+                }
+                T result=action.get();
+                idempotencyRecordRepository.saveAndFlush(new IdempotencyRecord(key,requestHash,write(result),expiresAt,null));
+                return result;
+            });
+        }catch(DataIntegrityViolationException exception){
+            // Another instance completed the same request first, its response is the one to return
+            T stored=idempotencyRecordRepository.findById(key)
+                    .filter(record->record.getExpiresAt().isAfter(LocalDateTime.now()))
+                    .map(record->replay(key,requestHash,record,responseType))
+                    .orElse(null);
+            if(stored==null){
+                throw exception;
+            }
+            return stored;
+        }
+        responses.put(key,new CompletedRequest(requestHash,response),toEpochMillis(expiresAt));
+        return response;
+    }
+
+    private <T> T replay(String key, String requestHash, IdempotencyRecord record, Class<T> responseType){
+        // Records stored before request hashes were kept have none and are replayed as before
+        String storedHash=record.getRequestHash()!=null ? record.getRequestHash() : requestHash;
+        checkSameRequest(storedHash,requestHash);
+        log.info("Replaying stored response for idempotency key: {}",key);
+        T response=read(record.getResponse(),responseType);
+        responses.put(key,new CompletedRequest(storedHash,response),toEpochMillis(record.getExpiresAt()));
+        return response;
+    }
+
+    private void checkSameRequest(String storedHash, String requestHash){
+        if(!storedHash.equals(requestHash)){
+            throw new IdempotencyKeyReusedException("Idempotency-Key was already used for a different request!");
+        }
+    }
+
+    private Object await(CompletableFuture<Object> running){
+        try{
+            return running.join();
+        }catch(CompletionException exception){
+            if(exception.getCause() instanceof RuntimeException cause){
+                throw cause;
+            }
+            throw exception;
+        }
+    }
+
+    private String write(Object response){
+        try{
+            return objectMapper.writeValueAsString(response);
+        }catch(JsonProcessingException exception){
+            throw new IllegalStateException("Could not store response for idempotent request",exception);
+        }
+    }
+
+    private String hash(Object request){
+        try{
+            byte[] hash=MessageDigest.getInstance("SHA-256").digest(objectMapper.writeValueAsBytes(request));
+            return Base64.getEncoder().encodeToString(hash);
+        }catch(JsonProcessingException exception){
+            throw new IllegalArgumentException("Could not read the body of the idempotent request",exception);
+        }catch(NoSuchAlgorithmException exception){
+            throw new IllegalStateException("SHA-256 is not available",exception);
+        }
+    }
+
+    private <T> T read(String response, Class<T> responseType){
+        try{
+            return objectMapper.readValue(response,responseType);
+        }catch(JsonProcessingException exception){
+            throw new IllegalStateException("Could not read stored response of idempotent request",exception);
+        }
+    }
+
+    private long toEpochMillis(LocalDateTime dateTime){
+        return dateTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    private User getCurrentUser(){
+        return (User)SecurityContextHolder.getContext().getAuthentication().getPrincipal();
+    }
+
+    private record CompletedRequest(String requestHash, Object response) {
+    }
+
+    private record InFlightRequest(String requestHash, CompletableFuture<Object> response) {
+    }
+}
@@ -0,0 +1,133 @@
+package com.crio.stayease.service;
+
+import com.crio.stayease.cache.HotelCache;
+import com.crio.stayease.dto.InventoryDriftDto;
+import com.crio.stayease.dto.InventoryReconciliationDto;
+import com.crio.stayease.repository.BookingRepository;
+import com.crio.stayease.repository.HotelRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.stream.Collectors;
+
+/**
+ * Recomputes every hotel's rooms as its capacity minus the live bookings staying tonight, which also moves
+ * the count to the new night when it runs after midnight. Hotels are split across a
+ * fork-join pool, each partition counts its bookings with one grouped query and writes its corrections
+ * in one JDBC batch. A correction only applies if the hotel's version is still the one that was read,
+ * so a booking made meanwhile wins and the hotel is left for the next run.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class InventoryReconciler {
+
+    private static final String CORRECT_ROOMS="update hotel set rooms_count=?, version=version+1 where id=? and version=?";
+
+    private final HotelRepository hotelRepository;
+    private final BookingRepository bookingRepository;
+    private final HotelCache hotelCache;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${stayease.inventory.reconcile-partition-size:500}")
+    private int partitionSize=500;
+
+    @Value("${stayease.inventory.reconcile-parallelism:4}")
+    private int parallelism=4;
+
+    @Scheduled(cron = "${stayease.inventory.reconcile-cron:0 5 0 * * *}")
+    public void scheduledReconcile(){
+        reconcile();
+    }
+
+    public synchronized InventoryReconciliationDto reconcile(){
+        long start=System.currentTimeMillis();
+        LocalDate tonight=LocalDate.now();
+        List<HotelRepository.HotelInventory> hotels=hotelRepository.findAllInventory();
+        List<InventoryDriftDto> drifts;
+        try(ForkJoinPool pool=new ForkJoinPool(Math.max(1,parallelism))){
+            drifts=hotels.isEmpty() ? List.of() : pool.invoke(new PartitionTask(hotels,tonight));
+        }
+        int corrected=(int)drifts.stream().filter(InventoryDriftDto::isCorrected).count();
+        InventoryReconciliationDto result=InventoryReconciliationDto.builder()
+                .hotelsChecked(hotels.size())
+                .hotelsCorrected(corrected)
+                .hotelsSkipped(drifts.size()-corrected)
+                .durationMs(System.currentTimeMillis()-start)
+                .drifts(drifts)
+                .build();
+        log.info("Reconciled rooms of {} hotels, corrected {} and skipped {} changed meanwhile",
+                result.getHotelsChecked(),result.getHotelsCorrected(),result.getHotelsSkipped());
+        return result;
+    }
+
+    private List<InventoryDriftDto> reconcilePartition(List<HotelRepository.HotelInventory> hotels, LocalDate tonight){
+        Map<Long,Long> liveBookings=bookingRepository.countStayingByHotelIdIn(
+                        hotels.stream().map(HotelRepository.HotelInventory::getId).toList(),AvailabilityService.LIVE_STATUSES,tonight).stream()
+                .collect(Collectors.toMap(BookingRepository.HotelBookingCount::getHotelId,BookingRepository.HotelBookingCount::getBookings));
+        List<InventoryDriftDto> drifts=new ArrayList<>();
+        List<Object[]> corrections=new ArrayList<>();
+        for(HotelRepository.HotelInventory hotel:hotels){
+            long live=liveBookings.getOrDefault(hotel.getId(),0L);
+            int expected=(int)Math.max(0,hotel.getTotalRooms()-live);
+            if(expected==hotel.getRoomsCount()){
+                continue;
+            }
+            drifts.add(InventoryDriftDto.builder()
+                    .hotelId(hotel.getId())
+                    .capacity(hotel.getTotalRooms())
+                    .liveBookings(live)
+                    .recordedRooms(hotel.getRoomsCount())
+                    .expectedRooms(expected)
+                    .drift(hotel.getRoomsCount()-expected)
+                    .build());
+            corrections.add(new Object[]{expected,hotel.getId(),hotel.getVersion()});
+        }
+        if(corrections.isEmpty()){
+            return drifts;
+        }
+        int[] updated=transactionTemplate.execute(status->jdbcTemplate.batchUpdate(CORRECT_ROOMS,corrections));
+        for(int i=0;i<drifts.size();i++){
+            InventoryDriftDto drift=drifts.get(i);
+            drift.setCorrected(updated!=null && updated[i]!=0);
+            if(drift.isCorrected()){
+                hotelCache.invalidate(drift.getHotelId());
+            }
+        }
+        return drifts;
+    }
+
+    private final class PartitionTask extends RecursiveTask<List<InventoryDriftDto>> {
+        private final List<HotelRepository.HotelInventory> hotels;
+        private final LocalDate tonight;
+
+        private PartitionTask(List<HotelRepository.HotelInventory> hotels, LocalDate tonight){
+            this.hotels=hotels;
+            this.tonight=tonight;
+        }
+
+        @Override
+        protected List<InventoryDriftDto> compute(){
+            if(hotels.size()<=partitionSize){
+                return reconcilePartition(hotels,tonight);
+            }
+            int middle=hotels.size()/2;
+            PartitionTask left=new PartitionTask(hotels.subList(0,middle),tonight);
+            left.fork();
+            List<InventoryDriftDto> right=new PartitionTask(hotels.subList(middle,hotels.size()),tonight).compute();
+            List<InventoryDriftDto> drifts=new ArrayList<>(left.join());
+            drifts.addAll(right);
+            return drifts;
+        }
+    }
+}
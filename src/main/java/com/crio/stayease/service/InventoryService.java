@@ -0,0 +1,56 @@
+package com.crio.stayease.service;
+
+import com.crio.stayease.cache.HotelCache;
+import com.crio.stayease.repository.HotelRepository;
+import io.micrometer.core.annotation.Counted;
+import io.micrometer.core.annotation.Timed;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Keeps {@code Hotel.roomsCount} as the rooms free tonight. It is bookkeeping only, whether a stay can be
+ * sold is decided by the nightly ledger of {@link AvailabilityService}. Stays covering tonight take and give
+ * back rooms in the booking's transaction, and the nightly reconcile moves the count to the new night.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@Timed(value = "stayease.service", extraTags = {"component","inventory"})
+@Counted(value = "stayease.service.failures", extraTags = {"component","inventory"}, recordFailuresOnly = true)
+public class InventoryService {
+
+    private final HotelRepository hotelRepository;
+    private final HotelCache hotelCache;
+
+    /**
+     * Whether a stay holds one of tonight's rooms. Bookings made before stays had dates always do.
+     */
+    public static boolean staysTonight(LocalDate checkInDate, LocalDate checkOutDate, LocalDate today){
+        return checkInDate==null || checkOutDate==null || (!checkInDate.isAfter(today) && checkOutDate.isAfter(today));
+    }
+
+    public void takeRoom(Long hotelId){
+        if(hotelRepository.decrementRoomsCount(hotelId)==0){
+            // The ledger already sold the stay, so a count at zero is drift for the reconcile to correct
+            log.warn("Rooms of hotel with id: {} are already at zero",hotelId);
+            return;
+        }
+        hotelCache.invalidate(hotelId);
+    }
+
+    /**
+     * Hands rooms of released bookings back to their hotels, in hotel id order so concurrent releases
+     * lock hotel rows in the same order.
+     */
+    public void restoreRooms(Map<Long,Integer> roomsByHotel){
+        for(Map.Entry<Long,Integer> hotel:new TreeMap<>(roomsByHotel).entrySet()){
+            hotelRepository.incrementRoomsCount(hotel.getKey(),hotel.getValue());
+            hotelCache.invalidate(hotel.getKey());
+        }
+    }
+}
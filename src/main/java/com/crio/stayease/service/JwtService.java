@@ -2,8 +2,10 @@ package com.crio.stayease.service;
 
 import com.crio.stayease.entity.User;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
@@ -15,39 +17,76 @@ import java.util.Date;
 @Service
 @RequiredArgsConstructor
 public class JwtService {
+    public static final long REFRESH_TOKEN_TTL_MILLIS=1000L*60*60*24*30*6;
+
     @Value("${jwt.secretKey}")
     private String jwtSecretKey;
 
+    private SecretKey secretKey;
+    private JwtParser jwtParser;
+
+    @PostConstruct
+    void init(){
+        secretKey=Keys.hmacShaKeyFor(jwtSecretKey.getBytes(StandardCharsets.UTF_8));
+        jwtParser=Jwts.parser()
+                .verifyWith(secretKey)
+                .build();
+    }
+
     public String generateAccessToken(User user){
+        return generateAccessToken(user.getId().toString(),user.getEmail(),user.getRole().toString());
+    }
+
+    /**
+     * Access token for the user a refresh token was issued to, built from its claims alone.
+     */
+    public String generateAccessToken(Claims refreshClaims){
+        return generateAccessToken(refreshClaims.getSubject(),refreshClaims.get("email",String.class),
+                refreshClaims.get("roles",String.class));
+    }
+
+    public String generateRefreshToken(User user, long jti){
+        return generateRefreshToken(user.getId().toString(),user.getEmail(),user.getRole().toString(),jti,
+                new Date(System.currentTimeMillis()+REFRESH_TOKEN_TTL_MILLIS));
+    }
+
+    /**
+     * Replaces a used refresh token with one under a new id, ending when the original login would have.
+     */
+    public String rotateRefreshToken(Claims refreshClaims, long jti){
+        return generateRefreshToken(refreshClaims.getSubject(),refreshClaims.get("email",String.class),
+                refreshClaims.get("roles",String.class),jti,refreshClaims.getExpiration());
+    }
+
+    private String generateAccessToken(String userId, String email, String role){
         return Jwts.builder()
-                .subject(user.getId().toString())
-                .claim("email",user.getEmail())
-                .claim("roles",user.getRole().toString())
+                .subject(userId)
+                .claim("email",email)
+                .claim("roles",role)
                 .issuedAt(new Date())
                 .expiration(new Date(System.currentTimeMillis()+(1000*60*10)))
-                .signWith(getSecretKey())
+                .signWith(secretKey)
                 .compact();
     }
 
-    public String generateRefreshToken(User user){
+    private String generateRefreshToken(String userId, String email, String role, long jti, Date expiration){
         return Jwts.builder()
-                .subject(user.getId().toString())
+                .id(Long.toString(jti))
+                .subject(userId)
+                .claim("email",email)
+                .claim("roles",role)
                 .issuedAt(new Date())
-                .expiration(new Date(System.currentTimeMillis()+(1000L*60*60*24*30*6)))
-                .signWith(getSecretKey())
+                .expiration(expiration)
+                .signWith(secretKey)
                 .compact();
     }
 
     public Long getUserIdFromToken(String token){
-        Claims claims=Jwts.parser()
-                .verifyWith(getSecretKey())
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
-        return Long.valueOf(claims.getSubject());
+        return Long.valueOf(parseToken(token).getSubject());
     }
 
-    private SecretKey getSecretKey(){
-        return Keys.hmacShaKeyFor(jwtSecretKey.getBytes(StandardCharsets.UTF_8));
+    public Claims parseToken(String token){
+        return jwtParser.parseSignedClaims(token)
+                .getPayload();
     }
 }
@@ -0,0 +1,40 @@
+package com.crio.stayease.service;
+
+import com.crio.stayease.dto.CursorPageDto;
+
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * Helpers for reading rows ordered by id in keyset chunks ("id greater than the last id seen").
+ */
+final class KeysetChunks {
+
+    private KeysetChunks(){
+    }
+
+    /**
+     * Builds a page from rows fetched with a limit of pageSize+1, the extra row only tells whether more rows follow.
+     */
+    static <E,T> CursorPageDto<T> page(List<E> rows, int pageSize, Function<E,T> mapper, Function<E,Long> idOf){
+        boolean hasMore=rows.size()>pageSize;
+        List<E> pageRows=hasMore ? rows.subList(0,pageSize) : rows;
+        Long nextCursor=hasMore ? idOf.apply(pageRows.get(pageRows.size()-1)) : null;
+        return new CursorPageDto<>(pageRows.stream().map(mapper).toList(),nextCursor,hasMore);
+    }
+
+    /**
+     * Lazily walks all rows chunk by chunk. The first chunk is read right away, the following ones only
+     * as the stream is consumed, and afterChunk runs once a chunk has been fully consumed.
+     */
+    static <E> Stream<E> stream(Function<Long,List<E>> fetchAfter, Function<E,Long> idOf, int chunkSize, Runnable afterChunk){
+        List<E> first=fetchAfter.apply(0L);
+        return Stream.iterate(first, chunk->!chunk.isEmpty(), chunk->{
+                    Long lastId=idOf.apply(chunk.get(chunk.size()-1));
+                    afterChunk.run();
+                    return chunk.size()<chunkSize ? List.of() : fetchAfter.apply(lastId);
+                })
+                .flatMap(List::stream);
+    }
+}
@@ -0,0 +1,109 @@
+package com.crio.stayease.service;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Booked rooms per night of a single hotel, kept in a segment tree so that reserving
+ * a stay and finding the busiest night of a range are both O(log n).
+ */
+class NightlyLedger {
+
+    private final int capacity;
+    private final LocalDate firstNight;
+    private final int nights;
+    private final int leaves;
+    private final int[] max;
+    private final int[] pending;
+    private final ReentrantLock lock=new ReentrantLock();
+
+    NightlyLedger(int capacity, LocalDate firstNight, int nights){
+        this.capacity=capacity;
+        this.firstNight=firstNight;
+        this.nights=nights;
+        int size=1;
+        while(size<nights){
+            size<<=1;
+        }
+        this.leaves=size;
+        this.max=new int[2*size];
+        this.pending=new int[2*size];
+    }
+
+    int getCapacity(){
+        return capacity;
+    }
+
+    boolean covers(LocalDate from, LocalDate to){
+        return !from.isBefore(firstNight) && indexOf(to)<=nights;
+    }
+
+    int availableRooms(LocalDate from, LocalDate to){
+        lock.lock();
+        try{
+            return capacity-query(1,0,leaves,indexOf(from),indexOf(to));
+        }finally {
+            lock.unlock();
+        }
+    }
+
+    boolean tryReserve(LocalDate from, LocalDate to){
+        int start=indexOf(from);
+        int end=indexOf(to);
+        lock.lock();
+        try{
+            if(capacity-query(1,0,leaves,start,end)<=0){
+                return false;
+            }
+            update(1,0,leaves,start,end,1);
+            return true;
+        }finally {
+            lock.unlock();
+        }
+    }
+
+    void add(LocalDate from, LocalDate to, int rooms){
+        int start=Math.max(0,indexOf(from));
+        int end=Math.min(nights,indexOf(to));
+        if(start>=end){
+            return;
+        }
+        lock.lock();
+        try{
+            update(1,0,leaves,start,end,rooms);
+        }finally {
+            lock.unlock();
+        }
+    }
+
+    private int indexOf(LocalDate night){
+        return (int)ChronoUnit.DAYS.between(firstNight,night);
+    }
+
+    private int query(int node, int nodeStart, int nodeEnd, int start, int end){
+        if(end<=nodeStart || nodeEnd<=start){
+            return 0;
+        }
+        if(start<=nodeStart && nodeEnd<=end){
+            return max[node];
+        }
+        int mid=(nodeStart+nodeEnd)>>>1;
+        return pending[node]+Math.max(query(2*node,nodeStart,mid,start,end),query(2*node+1,mid,nodeEnd,start,end));
+    }
+
+    private void update(int node, int nodeStart, int nodeEnd, int start, int end, int rooms){
+        if(end<=nodeStart || nodeEnd<=start){
+            return;
+        }
+        if(start<=nodeStart && nodeEnd<=end){
+            max[node]+=rooms;
+            pending[node]+=rooms;
+            return;
+        }
+        int mid=(nodeStart+nodeEnd)>>>1;
+        update(2*node,nodeStart,mid,start,end,rooms);
+        update(2*node+1,mid,nodeEnd,start,end,rooms);
+        max[node]=pending[node]+Math.max(max[2*node],max[2*node+1]);
+    }
+}
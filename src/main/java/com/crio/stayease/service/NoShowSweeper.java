@@ -0,0 +1,137 @@
+package com.crio.stayease.service;
+
+import com.crio.stayease.entity.enums.BookingStatus;
+import com.crio.stayease.repository.BookingRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Cancels ACTIVE bookings whose check-in date passed without a check-in and hands their remaining nights back.
+ * Bookings made before stays had dates count as checking in on the day they were made.
+ * Each chunk locks its bookings, cancels them with one guarded UPDATE and restores the hotels' rooms in
+ * the same transaction. A run stops after a fixed number of chunks and pauses between them, so the
+ * sweeper never holds hotel rows for long while bookings are being made. The pauses happen on the sweeper's own
+ * scheduler thread, not on the one the other scheduled jobs share.
+ */
+@Component
+@ConditionalOnProperty(name = "stayease.no-show.sweeper-enabled", matchIfMissing = true)
+@Slf4j
+public class NoShowSweeper {
+
+    private final BookingRepository bookingRepository;
+    private final InventoryService inventoryService;
+    private final AvailabilityService availabilityService;
+    private final OutboxService outboxService;
+    private final HotelStatsService hotelStatsService;
+    private final TransactionTemplate transactionTemplate;
+    private final Counter sweptBookings;
+    private final Timer chunkTimer;
+    private final int chunkSize;
+    private final int maxChunksPerRun;
+    private final long chunkPauseMs;
+    private final int graceDays;
+
+    public NoShowSweeper(BookingRepository bookingRepository,
+                         InventoryService inventoryService,
+                         AvailabilityService availabilityService,
+                         OutboxService outboxService,
+                         HotelStatsService hotelStatsService,
+                         TransactionTemplate transactionTemplate,
+                         MeterRegistry meterRegistry,
+                         @Value("${stayease.no-show.chunk-size:200}") int chunkSize,
+                         @Value("${stayease.no-show.max-chunks-per-run:20}") int maxChunksPerRun,
+                         @Value("${stayease.no-show.chunk-pause-ms:200}") long chunkPauseMs,
+                         @Value("${stayease.no-show.grace-days:1}") int graceDays){
+        this.bookingRepository=bookingRepository;
+        this.inventoryService=inventoryService;
+        this.availabilityService=availabilityService;
+        this.outboxService=outboxService;
+        this.hotelStatsService=hotelStatsService;
+        this.transactionTemplate=transactionTemplate;
+        this.sweptBookings=Counter.builder("stayease.no-show.swept")
+                .description("No-show bookings cancelled and released")
+                .register(meterRegistry);
+        this.chunkTimer=Timer.builder("stayease.no-show.chunk")
+                .description("Time to release one chunk of no-show bookings")
+                .register(meterRegistry);
+        this.chunkSize=chunkSize;
+        this.maxChunksPerRun=maxChunksPerRun;
+        this.chunkPauseMs=chunkPauseMs;
+        this.graceDays=graceDays;
+    }
+
+    @Scheduled(scheduler = "noShowScheduler", initialDelayString = "${stayease.no-show.sweep-interval-ms:300000}",
+            fixedDelayString = "${stayease.no-show.sweep-interval-ms:300000}")
+    public void sweep(){
+        LocalDate cutoff=LocalDate.now().minusDays(graceDays);
+        long afterId=0;
+        int swept=0;
+        for(int chunk=0;chunk<maxChunksPerRun;chunk++){
+            long lastId=afterId;
+            List<BookingRepository.StaleBooking> released=chunkTimer.record(()->
+                    transactionTemplate.execute(status->releaseChunk(cutoff,lastId)));
+            if(released==null || released.isEmpty()){
+                break;
+            }
+            sweptBookings.increment(released.size());
+            swept+=released.size();
+            afterId=released.get(released.size()-1).getId();
+            if(released.size()<chunkSize){
+                break;
+            }
+            try{
+                Thread.sleep(chunkPauseMs);
+            }catch(InterruptedException exception){
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        if(swept>0){
+            log.info("Released {} no-show bookings that were due before {}",swept,cutoff);
+        }
+    }
+
+    private List<BookingRepository.StaleBooking> releaseChunk(LocalDate cutoff, long afterId){
+        List<BookingRepository.StaleBooking> stale=bookingRepository.findStaleForUpdate(BookingStatus.ACTIVE,cutoff,cutoff.atStartOfDay(),
+                afterId,Limit.of(chunkSize));
+        if(stale.isEmpty()){
+            return stale;
+        }
+        int updated=bookingRepository.updateStatusByIdIn(stale.stream().map(BookingRepository.StaleBooking::getId).toList(),
+                BookingStatus.ACTIVE,BookingStatus.CANCELLED,LocalDateTime.now());
+        if(updated!=stale.size()){
+            // The rows are locked, so a mismatch means a writer got past the lock, roll back rather than free rooms twice
+            throw new IllegalStateException("Expected to release "+stale.size()+" no-show bookings but updated "+updated);
+        }
+        Map<Long,Integer> roomsByHotel=new HashMap<>();
+        LocalDate today=LocalDate.now();
+        for(BookingRepository.StaleBooking booking:stale){
+            if(InventoryService.staysTonight(booking.getCheckInDate(),booking.getCheckOutDate(),today)){
+                roomsByHotel.merge(booking.getHotelId(),1,Integer::sum);
+            }
+            if(booking.getCheckOutDate()!=null && booking.getCheckOutDate().isAfter(today)){
+                availabilityService.release(booking.getHotelId(),today,booking.getCheckOutDate());
+            }
+            hotelStatsService.record(booking.getHotelId(),BookingStatus.ACTIVE,BookingStatus.CANCELLED);
+        }
+        if(!roomsByHotel.isEmpty()){
+            inventoryService.restoreRooms(roomsByHotel);
+        }
+        outboxService.recordNoShows(stale);
+        return stale;
+    }
+}
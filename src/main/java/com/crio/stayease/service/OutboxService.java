@@ -0,0 +1,82 @@
+package com.crio.stayease.service;
+
+import com.crio.stayease.entity.Booking;
+import com.crio.stayease.entity.OutboxEvent;
+import com.crio.stayease.entity.enums.BookingEventType;
+import com.crio.stayease.entity.enums.BookingStatus;
+import com.crio.stayease.repository.BookingRepository;
+import com.crio.stayease.repository.OutboxEventRepository;
+import jakarta.transaction.Transactional;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Writes booking events into the outbox table. Events must be written in the transaction that changes
+ * the booking, so that both commit or roll back together.
+ */
+@Service
+@RequiredArgsConstructor
+public class OutboxService {
+
+    private final OutboxEventRepository outboxEventRepository;
+
+    /**
+     * The booking is flushed first, so its version is the one the change wrote and orders the event among the
+     * booking's other events.
+     */
+    @Transactional(Transactional.TxType.MANDATORY)
+    public void record(Booking booking, BookingEventType eventType, BookingStatus fromStatus){
+        outboxEventRepository.flush();
+        outboxEventRepository.save(toEvent(booking,eventType,fromStatus,booking.getVersion(),LocalDateTime.now()));
+    }
+
+    @Transactional(Transactional.TxType.MANDATORY)
+    public void recordDeleted(Booking booking){
+        OutboxEvent event=toEvent(booking,BookingEventType.DELETED,booking.getBookingStatus(),booking.getVersion()+1,LocalDateTime.now());
+        event.setToStatus(null);
+        outboxEventRepository.save(event);
+    }
+
+    @Transactional(Transactional.TxType.MANDATORY)
+    public void recordAll(List<Booking> bookings, BookingEventType eventType){
+        outboxEventRepository.flush();
+        LocalDateTime now=LocalDateTime.now();
+        outboxEventRepository.saveAll(bookings.stream()
+                .map(booking->toEvent(booking,eventType,null,booking.getVersion(),now))
+                .toList());
+    }
+
+    @Transactional(Transactional.TxType.MANDATORY)
+    public void recordNoShows(List<BookingRepository.StaleBooking> bookings){
+        LocalDateTime now=LocalDateTime.now();
+        outboxEventRepository.saveAll(bookings.stream()
+                .map(booking->OutboxEvent.builder()
+                        .bookingId(booking.getId())
+                        .bookingSequence(booking.getVersion()+1)
+                        .hotelId(booking.getHotelId())
+                        .userId(booking.getUserId())
+                        .eventType(BookingEventType.CANCELLED)
+                        .fromStatus(BookingStatus.ACTIVE)
+                        .toStatus(BookingStatus.CANCELLED)
+                        .occurredAt(now)
+                        .build())
+                .toList());
+    }
+
+    private OutboxEvent toEvent(Booking booking, BookingEventType eventType, BookingStatus fromStatus, Long bookingSequence,
+                                LocalDateTime occurredAt){
+        return OutboxEvent.builder()
+                .bookingId(booking.getId())
+                .bookingSequence(bookingSequence)
+                .hotelId(booking.getHotel().getId())
+                .userId(booking.getUser().getId())
+                .eventType(eventType)
+                .fromStatus(fromStatus)
+                .toStatus(booking.getBookingStatus())
+                .occurredAt(occurredAt)
+                .build();
+    }
+}
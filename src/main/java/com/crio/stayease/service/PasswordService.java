@@ -1,24 +1,29 @@
 package com.crio.stayease.service;
 
+import com.crio.stayease.cache.AuthenticatedUserCache;
 import com.crio.stayease.dto.UpdatePasswordRequest;
 import com.crio.stayease.dto.UserDto;
 import com.crio.stayease.entity.User;
 import com.crio.stayease.exception.ResourceNotFoundException;
+import com.crio.stayease.mapper.UserMapper;
 import com.crio.stayease.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.modelmapper.ModelMapper;
 import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
 @Service
 @Slf4j
 @RequiredArgsConstructor
-public class PasswordService {
+public class PasswordService implements UserDetailsPasswordService {
     private final PasswordEncoder passwordEncoder;
     private final UserRepository userRepository;
-    private final ModelMapper modelMapper;
+    private final UserMapper userMapper;
+    private final AuthenticatedUserCache authenticatedUserCache;
+    private final RefreshTokenStore refreshTokenStore;
 
     @PreAuthorize("hasRole('CUSTOMER') and #id==principal.id")
     public UserDto updateUserPassword(Long id, UpdatePasswordRequest request) {
@@ -33,8 +38,25 @@ public class PasswordService {
         }
         log.info("Attempting to set new password");
         user.setPassword(encodePassword(request.getPassword()));
+        user=userRepository.save(user);
+        authenticatedUserCache.invalidateUser(id);
+        refreshTokenStore.revokeAll(id);
         log.info("New Password is set successfully");
-        return modelMapper.map(userRepository.save(user),UserDto.class);
+        return userMapper.toDto(user);
+    }
+
+    /**
+     * Called by the authentication provider after a successful login whose stored hash was made with a lower
+     * work factor than the one configured now.
+     */
+    @Override
+    public UserDetails updatePassword(UserDetails userDetails, String newPassword) {
+        User user=(User)userDetails;
+        log.info("Rehashing password of user with id: "+user.getId());
+        user.setPassword(newPassword);
+        user=userRepository.save(user);
+        authenticatedUserCache.invalidateUser(user.getId());
+        return user;
     }
 
     private String encodePassword(String password){
@@ -0,0 +1,75 @@
+package com.crio.stayease.service;
+
+import com.crio.stayease.entity.RefreshToken;
+import com.crio.stayease.repository.RefreshTokenRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * Issues refresh token ids and remembers which were used or revoked. Every id can be used once: using it again
+ * means the token was stolen, and every refresh token of that user is revoked.
+ * <p>
+ * Each id is a row in the refresh_token table, written before the id is handed out. Uses and revocations are
+ * conditional updates of those rows, so every instance answers the same and only one of two concurrent uses of
+ * an id wins. Ids that a crash took out of the pooled sequence were never handed out and have no row, so they are
+ * the only ones treated as revoked after a restart.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class RefreshTokenStore {
+
+    public enum Outcome {
+        VALID,
+        REVOKED,
+        REPLAYED
+    }
+
+    private final RefreshTokenRepository refreshTokenRepository;
+
+    public long issue(Long userId){
+        return refreshTokenRepository.save(RefreshToken.builder()
+                .userId(userId)
+                .issuedAt(LocalDateTime.now())
+                .build()).getJti();
+    }
+
+    /**
+     * Marks the id used, the caller may only honour the token on {@link Outcome#VALID}.
+     */
+    public Outcome consume(Long userId, long jti){
+        if(refreshTokenRepository.markUsed(jti,userId,LocalDateTime.now())==1){
+            return Outcome.VALID;
+        }
+        RefreshToken token=refreshTokenRepository.findById(jti).orElse(null);
+        if(token==null || !token.getUserId().equals(userId) || token.isRevoked()){
+            return Outcome.REVOKED;
+        }
+        revokeAll(userId);
+        return Outcome.REPLAYED;
+    }
+
+    /**
+     * Revokes every refresh token issued to the user so far.
+     */
+    public void revokeAll(Long userId){
+        refreshTokenRepository.revokeAllByUserId(userId);
+    }
+
+    /**
+     * A refresh token never outlives the login it was issued for, so its row is no longer needed once the longest
+     * possible login has ended.
+     */
+    @Scheduled(fixedDelayString = "${stayease.refresh-tokens.purge-interval-ms:3600000}")
+    public void purgeExpired(){
+        int purged=refreshTokenRepository.deleteIssuedBefore(LocalDateTime.now().minus(JwtService.REFRESH_TOKEN_TTL_MILLIS,ChronoUnit.MILLIS));
+        if(purged>0){
+            log.info("Purged {} expired refresh tokens",purged);
+        }
+    }
+}
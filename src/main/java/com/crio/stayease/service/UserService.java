@@ -1,5 +1,6 @@
 package com.crio.stayease.service;
 
+import com.crio.stayease.dto.CursorPageDto;
 import com.crio.stayease.dto.UpdatePasswordRequest;
 import com.crio.stayease.dto.UpdateUserRoleRequest;
 import com.crio.stayease.dto.UserDto;
@@ -8,11 +9,14 @@ import com.crio.stayease.entity.enums.Role;
 import org.springframework.security.core.userdetails.UserDetailsService;
 
 import java.util.List;
+import java.util.stream.Stream;
 
 public interface UserService extends UserDetailsService {
     UserDto getUserById(Long id);
     User findUserById(Long id);
     List<UserDto> getAllUsers();
+    CursorPageDto<UserDto> getUsersPage(Long after, Integer size);
+    Stream<UserDto> streamAllUsers();
     UserDto updateUserById(Long id,UserDto userDto);
     void deleteUserById(Long id);
     UserDto updateUserRole(Long id, UpdateUserRoleRequest request);
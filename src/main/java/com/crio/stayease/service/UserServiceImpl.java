@@ -1,33 +1,55 @@
 package com.crio.stayease.service;
 
+import com.crio.stayease.cache.AuthenticatedUserCache;
+import com.crio.stayease.cache.HotelCache;
+import com.crio.stayease.cache.RegisteredEmailFilter;
+import com.crio.stayease.configs.PaginationSettings;
+import com.crio.stayease.dto.CursorPageDto;
 import com.crio.stayease.dto.UpdatePasswordRequest;
 import com.crio.stayease.dto.UpdateUserRoleRequest;
 import com.crio.stayease.dto.UserDto;
 import com.crio.stayease.entity.User;
 import com.crio.stayease.exception.ResourceNotFoundException;
+import com.crio.stayease.mapper.UserMapper;
 import com.crio.stayease.repository.UserRepository;
+import jakarta.persistence.EntityManager;
+import io.micrometer.core.annotation.Counted;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.modelmapper.ModelMapper;
+import org.springframework.data.domain.Limit;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
+@Timed(value = "stayease.service", extraTags = {"component","user"})
+@Counted(value = "stayease.service.failures", extraTags = {"component","user"}, recordFailuresOnly = true)
 public class UserServiceImpl implements UserService{
 
     private final UserRepository userRepository;
-    private final ModelMapper modelMapper;
+    private final UserMapper userMapper;
+    private final AuthenticatedUserCache authenticatedUserCache;
+    private final HotelCache hotelCache;
+    private final RegisteredEmailFilter registeredEmailFilter;
+    private final RefreshTokenStore refreshTokenStore;
+    private final PaginationSettings paginationSettings;
+    private final EntityManager entityManager;
 
     @Override
     public User loadUserByUsername(String username) throws UsernameNotFoundException {
         log.info("Fetching user with email: "+username);
        User user=userRepository.findByEmail(username).orElseThrow(()->new ResourceNotFoundException("User with email: "+username+" does not exists!"));
+       if(!registeredEmailFilter.mightBeRegistered(username)){
+           // Registered on another instance since this filter was built, a login must not be refused on its word
+           registeredEmailFilter.add(user.getEmail());
+       }
        log.info("Successfully fetched user with email: "+username);
        return user;
     }
@@ -38,7 +60,7 @@ public class UserServiceImpl implements UserService{
         log.info("Fetching user with id: "+id);
         User user=userRepository.findById(id).orElseThrow(()->new ResourceNotFoundException("User with id: "+id+" does not exists!"));
         log.info("Successfully fetched user with id: "+id);
-        return modelMapper.map(user,UserDto.class);
+        return userMapper.toDto(user);
     }
 
     @Override
@@ -52,10 +74,29 @@ public class UserServiceImpl implements UserService{
     public List<UserDto> getAllUsers() {
         log.info("Fetching All Users");
         return userRepository.findAll().stream()
-                .map(user->modelMapper.map(user,UserDto.class))
+                .map(user->userMapper.toDto(user))
                 .collect(Collectors.toList());
     }
 
+    @Override
+    @PreAuthorize("hasRole('ADMIN')")
+    public CursorPageDto<UserDto> getUsersPage(Long after, Integer size) {
+        int pageSize=paginationSettings.resolvePageSize(size);
+        log.info("Fetching {} users after id: {}",pageSize,after);
+        List<User> users=userRepository.findByIdGreaterThanOrderByIdAsc(after==null ? 0L : after,Limit.of(pageSize+1));
+        return KeysetChunks.page(users,pageSize,userMapper::toDto,User::getId);
+    }
+
+    @Override
+    @PreAuthorize("hasRole('ADMIN')")
+    public Stream<UserDto> streamAllUsers() {
+        log.info("Streaming All Users");
+        int chunkSize=paginationSettings.getStreamChunkSize();
+        return KeysetChunks.stream(lastId->userRepository.findByIdGreaterThanOrderByIdAsc(lastId,Limit.of(chunkSize)),
+                        User::getId,chunkSize,entityManager::clear)
+                .map(userMapper::toDto);
+    }
+
     @Override
     @PreAuthorize("hasRole('ADMIN') or (hasRole('CUSTOMER') and #id==principal.id)")
     public UserDto updateUserById(Long id, UserDto userDto) {
@@ -64,10 +105,14 @@ public class UserServiceImpl implements UserService{
         log.info("Successfully fetched user with id: "+id);
 
         log.info("Attempting to update user with id: "+id);
-        modelMapper.map(userDto,user);
+        userMapper.updateEntity(userDto,user);
+        registeredEmailFilter.add(user.getEmail());
         user=userRepository.save(user);
+        authenticatedUserCache.invalidateUser(id);
+        refreshTokenStore.revokeAll(id);
+        hotelCache.invalidateAll();
         log.info("Successfully updated user with id: "+id);
-        return modelMapper.map(user,UserDto.class);
+        return userMapper.toDto(user);
     }
 
     @Override
@@ -79,6 +124,9 @@ public class UserServiceImpl implements UserService{
         }
         log.info("Attempting to delete user by id: "+id);
         userRepository.deleteById(id);
+        authenticatedUserCache.invalidateUser(id);
+        refreshTokenStore.revokeAll(id);
+        hotelCache.invalidateAll();
         log.info("Successfully deleted user by id: "+id);
     }
 
@@ -90,8 +138,11 @@ public class UserServiceImpl implements UserService{
         log.info("Attempting to update role of user with id: "+id);
         user.setRole(request.getRole());
         user=userRepository.save(user);
+        authenticatedUserCache.invalidateUser(id);
+        refreshTokenStore.revokeAll(id);
+        hotelCache.invalidateAll();
         log.info("Successfully updated user role with user id: "+id);
-        return modelMapper.map(user,UserDto.class);
+        return userMapper.toDto(user);
     }
 
 }
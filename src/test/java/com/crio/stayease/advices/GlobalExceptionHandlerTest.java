@@ -0,0 +1,49 @@
+package com.crio.stayease.advices;
+
+import com.crio.stayease.exception.IdempotencyKeyReusedException;
+import com.crio.stayease.exception.NoAvailableRoomsException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class GlobalExceptionHandlerTest {
+
+    private final GlobalExceptionHandler globalExceptionHandler = new GlobalExceptionHandler();
+
+    @Test
+    @DisplayName("Invalid arguments are answered with 400")
+    void handleIllegalArgumentException() {
+        // Act
+        ResponseEntity<ApiError> response = globalExceptionHandler.handleIllegalArgumentException(
+                new IllegalArgumentException("Check-in date cannot be in the past!"));
+
+        // Assert
+        assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+        assertEquals("Check-in date cannot be in the past!", response.getBody().getMessage());
+    }
+
+    @Test
+    @DisplayName("Sold out stays are answered with 409")
+    void handleNoAvailableRoomsException() {
+        // Act
+        ResponseEntity<ApiError> response = globalExceptionHandler.handleNoAvailableRoomsException(
+                new NoAvailableRoomsException("Rooms are not available for this hotel!"));
+
+        // Assert
+        assertEquals(HttpStatus.CONFLICT, response.getStatusCode());
+    }
+
+    @Test
+    @DisplayName("Reused idempotency keys are answered with 422")
+    void handleIdempotencyKeyReusedException() {
+        // Act
+        ResponseEntity<ApiError> response = globalExceptionHandler.handleIdempotencyKeyReusedException(
+                new IdempotencyKeyReusedException("Idempotency-Key was already used for a different request!"));
+
+        // Assert
+        assertEquals(HttpStatus.UNPROCESSABLE_ENTITY, response.getStatusCode());
+    }
+}
@@ -0,0 +1,109 @@
+package com.crio.stayease.benchmark;
+
+import com.crio.stayease.dto.BulkBookingItem;
+import com.crio.stayease.dto.BulkBookingRequest;
+import com.crio.stayease.dto.BulkBookingResultDto;
+import com.crio.stayease.entity.Hotel;
+import com.crio.stayease.entity.User;
+import com.crio.stayease.entity.enums.Role;
+import com.crio.stayease.repository.HotelRepository;
+import com.crio.stayease.repository.UserRepository;
+import com.crio.stayease.service.BookingService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+@Tag("benchmark")
+public class BookingBulkBenchmarkTest {
+    private static final int HOTELS = 20;
+    private static final int BATCH_SIZE = 100;
+    private static final int ROUNDS = 20;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private HotelRepository hotelRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private final List<Long> hotelIds = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        User user = new User();
+        user.setEmail("bulk-benchmark@test.com");
+        user.setFirstName("Bulk");
+        user.setLastName("Benchmark");
+        user.setPassword("password");
+        user.setRole(Role.CUSTOMER);
+        user = userRepository.save(user);
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(user, null, user.getAuthorities()));
+
+        for (int i = 0; i < HOTELS; i++) {
+            Hotel hotel = new Hotel();
+            hotel.setName("Benchmark Hotel " + i);
+            hotel.setLocation("Benchmark City");
+            hotel.setRoomsCount(1_000_000);
+            hotel.setTotalRooms(1_000_000);
+            hotelIds.add(hotelRepository.save(hotel).getId());
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void bulkBookingCostPerBooking() {
+        // Warm up both paths before measuring
+        runSingle(BATCH_SIZE);
+        runBulk(BATCH_SIZE);
+
+        long singleNanos = 0;
+        long bulkNanos = 0;
+        for (int round = 0; round < ROUNDS; round++) {
+            singleNanos += runSingle(BATCH_SIZE);
+            bulkNanos += runBulk(BATCH_SIZE);
+        }
+
+        double singlePerBooking = singleNanos / 1_000.0 / (ROUNDS * BATCH_SIZE);
+        double bulkPerBooking = bulkNanos / 1_000.0 / (ROUNDS * BATCH_SIZE);
+        System.out.printf("single booking path: %.1f us/booking%n", singlePerBooking);
+        System.out.printf("bulk booking path:   %.1f us/booking (%.1fx)%n", bulkPerBooking, singlePerBooking / bulkPerBooking);
+    }
+
+    private long runSingle(int bookings) {
+        long start = System.nanoTime();
+        for (int i = 0; i < bookings; i++) {
+            bookingService.createNewBooking(hotelIds.get(i % HOTELS), null);
+        }
+        return System.nanoTime() - start;
+    }
+
+    private long runBulk(int bookings) {
+        List<BulkBookingItem> items = new ArrayList<>();
+        for (int i = 0; i < bookings; i++) {
+            items.add(new BulkBookingItem(hotelIds.get(i % HOTELS), null, null));
+        }
+        long start = System.nanoTime();
+        List<BulkBookingResultDto> results = bookingService.createBulkBookings(new BulkBookingRequest(items));
+        long elapsed = System.nanoTime() - start;
+        assertTrue(results.stream().allMatch(BulkBookingResultDto::isSuccess));
+        return elapsed;
+    }
+}
@@ -0,0 +1,134 @@
+package com.crio.stayease.benchmark;
+
+import com.crio.stayease.StayeaseApplication;
+import com.crio.stayease.entity.Hotel;
+import com.crio.stayease.entity.User;
+import com.crio.stayease.entity.enums.Role;
+import com.crio.stayease.repository.HotelRepository;
+import com.crio.stayease.repository.UserRepository;
+import com.crio.stayease.service.JwtService;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Boots the application once on platform threads and once with the virtual profile, both against the embedded
+ * database with the same Tomcat and connection pool limits, and drives the same blocking JDBC endpoint with more
+ * concurrent clients than Tomcat has threads.
+ */
+@Tag("benchmark")
+public class RequestExecutionBenchmarkTest {
+    private static final int CLIENTS = 400;
+    private static final int WARMUP_REQUESTS_PER_CLIENT = 5;
+    private static final int REQUESTS_PER_CLIENT = 25;
+    private static final int TOMCAT_THREADS = 50;
+    private static final int POOL_SIZE = 32;
+    private static final int HOTELS = 200;
+
+    @Test
+    void platformVersusVirtualThreads() throws Exception {
+        Result platform = run(false);
+        Result virtual = run(true);
+
+        System.out.printf("platform threads: %8.0f req/s, p50 %6.2f ms, p99 %6.2f ms%n",
+                platform.throughput(), platform.p50Millis(), platform.p99Millis());
+        System.out.printf("virtual threads:  %8.0f req/s, p50 %6.2f ms, p99 %6.2f ms%n",
+                virtual.throughput(), virtual.p50Millis(), virtual.p99Millis());
+    }
+
+    private Result run(boolean virtualThreads) throws Exception {
+        String mode = virtualThreads ? "virtual" : "platform";
+        SpringApplicationBuilder builder = new SpringApplicationBuilder(StayeaseApplication.class)
+                .properties("server.port=0",
+                        "server.tomcat.threads.max=" + TOMCAT_THREADS,
+                        "spring.datasource.url=jdbc:h2:mem:benchmark-" + mode + ";MODE=MySQL;NON_KEYWORDS=USER,VALUE;DB_CLOSE_DELAY=-1",
+                        "spring.datasource.hikari.maximum-pool-size=" + POOL_SIZE,
+                        "spring.jpa.properties.hibernate.generate_statistics=false",
+                        "logging.level.root=WARN");
+        if (virtualThreads) {
+            builder.profiles("virtual");
+        }
+        try (ConfigurableApplicationContext context = builder.run()) {
+            String token = seed(context);
+            String port = context.getEnvironment().getProperty("local.server.port");
+            URI uri = URI.create("http://localhost:" + port + "/api/v1/stayease/hotels/page?size=20");
+            HttpRequest request = HttpRequest.newBuilder(uri).header("Authorization", "Bearer " + token).GET().build();
+
+            try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor();
+                 HttpClient httpClient = HttpClient.newBuilder().executor(clients).build()) {
+                drive(clients, httpClient, request, WARMUP_REQUESTS_PER_CLIENT);
+                long start = System.nanoTime();
+                long[] latencies = drive(clients, httpClient, request, REQUESTS_PER_CLIENT);
+                long elapsed = System.nanoTime() - start;
+                Arrays.sort(latencies);
+                return new Result(latencies.length * 1_000_000_000.0 / elapsed,
+                        latencies[latencies.length / 2] / 1_000_000.0,
+                        latencies[(int) (latencies.length * 0.99)] / 1_000_000.0);
+            }
+        }
+    }
+
+    private long[] drive(ExecutorService clients, HttpClient httpClient, HttpRequest request, int requestsPerClient) throws Exception {
+        long[] latencies = new long[CLIENTS * requestsPerClient];
+        AtomicInteger failures = new AtomicInteger();
+        List<Future<?>> running = new ArrayList<>();
+        for (int client = 0; client < CLIENTS; client++) {
+            int offset = client * requestsPerClient;
+            running.add(clients.submit(() -> {
+                for (int i = 0; i < requestsPerClient; i++) {
+                    long start = System.nanoTime();
+                    HttpResponse<Void> response = httpClient.send(request, HttpResponse.BodyHandlers.discarding());
+                    latencies[offset + i] = System.nanoTime() - start;
+                    if (response.statusCode() != 200) {
+                        failures.incrementAndGet();
+                    }
+                }
+                return null;
+            }));
+        }
+        for (Future<?> future : running) {
+            future.get();
+        }
+        assertEquals(0, failures.get());
+        return latencies;
+    }
+
+    private String seed(ConfigurableApplicationContext context) {
+        UserRepository userRepository = context.getBean(UserRepository.class);
+        HotelRepository hotelRepository = context.getBean(HotelRepository.class);
+        User user = new User();
+        user.setEmail("execution-benchmark@test.com");
+        user.setFirstName("Execution");
+        user.setLastName("Benchmark");
+        user.setPassword("password");
+        user.setRole(Role.CUSTOMER);
+        user = userRepository.save(user);
+        for (int i = 0; i < HOTELS; i++) {
+            Hotel hotel = new Hotel();
+            hotel.setName("Execution Benchmark Hotel " + i);
+            hotel.setLocation("Benchmark City");
+            hotel.setRoomsCount(10);
+            hotel.setTotalRooms(10);
+            hotelRepository.save(hotel);
+        }
+        return context.getBean(JwtService.class).generateAccessToken(user);
+    }
+
+    private record Result(double throughput, double p50Millis, double p99Millis) {
+    }
+}
@@ -0,0 +1,78 @@
+package com.crio.stayease.cache;
+
+import com.crio.stayease.entity.User;
+import com.crio.stayease.entity.enums.Role;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Date;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class AuthenticatedUserCacheTest {
+
+    private AuthenticatedUserCache authenticatedUserCache;
+    private User testUser;
+    private Date expiresAt;
+
+    @BeforeEach
+    void setUp() {
+        authenticatedUserCache = new AuthenticatedUserCache(100, 60_000);
+
+        testUser = new User();
+        testUser.setId(1L);
+        testUser.setEmail("user@test.com");
+        testUser.setRole(Role.CUSTOMER);
+
+        expiresAt = new Date(System.currentTimeMillis() + 60_000);
+    }
+
+    @Test
+    @DisplayName("Cached user is returned for the same token only")
+    void get_ReturnsCachedUser() {
+        // Act
+        authenticatedUserCache.put("token", testUser, authenticatedUserCache.currentVersion(1L), expiresAt);
+
+        // Assert
+        assertSame(testUser, authenticatedUserCache.get("token"));
+        assertNull(authenticatedUserCache.get("other-token"));
+    }
+
+    @Test
+    @DisplayName("Invalidated user is not served from the cache")
+    void invalidateUser_DropsCachedUser() {
+        // Arrange
+        authenticatedUserCache.put("token", testUser, authenticatedUserCache.currentVersion(1L), expiresAt);
+
+        // Act
+        authenticatedUserCache.invalidateUser(1L);
+
+        // Assert
+        assertNull(authenticatedUserCache.get("token"));
+    }
+
+    @Test
+    @DisplayName("User loaded before an invalidation is never cached")
+    void put_StaleVersionIsIgnored() {
+        // Arrange
+        long version = authenticatedUserCache.currentVersion(1L);
+        authenticatedUserCache.invalidateUser(1L);
+
+        // Act
+        authenticatedUserCache.put("token", testUser, version, expiresAt);
+
+        // Assert
+        assertNull(authenticatedUserCache.get("token"));
+    }
+
+    @Test
+    @DisplayName("Entries do not outlive the token")
+    void put_ExpiresWithToken() {
+        // Act
+        authenticatedUserCache.put("token", testUser, authenticatedUserCache.currentVersion(1L), new Date(System.currentTimeMillis() - 1));
+
+        // Assert
+        assertNull(authenticatedUserCache.get("token"));
+    }
+}
@@ -0,0 +1,74 @@
+package com.crio.stayease.cache;
+
+import com.crio.stayease.dto.CacheStatsDto;
+import com.crio.stayease.dto.HotelDto;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class HotelCacheTest {
+
+    private HotelCache hotelCache;
+    private HotelDto testHotelDto;
+
+    @BeforeEach
+    void setUp() {
+        hotelCache = new HotelCache(2, 60_000);
+
+        testHotelDto = new HotelDto();
+        testHotelDto.setId(1L);
+        testHotelDto.setName("Test Hotel");
+    }
+
+    @Test
+    @DisplayName("Hotel loaded before an invalidation is not cached")
+    void put_WithStaleVersion_IsIgnored() {
+        // Arrange
+        long version = hotelCache.currentVersion(1L);
+        hotelCache.invalidate(1L);
+
+        // Act
+        hotelCache.put(1L, testHotelDto, version);
+
+        // Assert
+        assertNull(hotelCache.get(1L));
+    }
+
+    @Test
+    @DisplayName("Invalidating all hotels drops every entry")
+    void invalidateAll_DropsEveryHotel() {
+        // Arrange
+        hotelCache.put(1L, testHotelDto, hotelCache.currentVersion(1L));
+        hotelCache.put(2L, testHotelDto, hotelCache.currentVersion(2L));
+
+        // Act
+        hotelCache.invalidateAll();
+
+        // Assert
+        assertNull(hotelCache.get(1L));
+        assertNull(hotelCache.get(2L));
+    }
+
+    @Test
+    @DisplayName("Statistics count hits, misses and size evictions")
+    void stats_CountsHitsMissesAndEvictions() {
+        // Arrange
+        hotelCache.put(1L, testHotelDto, hotelCache.currentVersion(1L));
+        hotelCache.put(2L, testHotelDto, hotelCache.currentVersion(2L));
+        hotelCache.put(3L, testHotelDto, hotelCache.currentVersion(3L));
+
+        // Act
+        hotelCache.get(1L);
+        hotelCache.get(3L);
+        CacheStatsDto stats = hotelCache.stats();
+
+        // Assert
+        assertEquals(2, stats.getSize());
+        assertEquals(1, stats.getHitCount());
+        assertEquals(1, stats.getMissCount());
+        assertEquals(1, stats.getEvictionCount());
+        assertEquals(0.5, stats.getHitRate());
+    }
+}
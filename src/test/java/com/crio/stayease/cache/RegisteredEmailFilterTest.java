@@ -0,0 +1,102 @@
+package com.crio.stayease.cache;
+
+import com.crio.stayease.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class RegisteredEmailFilterTest {
+    @Mock
+    private UserRepository userRepository;
+
+    private RegisteredEmailFilter registeredEmailFilter;
+
+    @BeforeEach
+    void setUp() {
+        registeredEmailFilter = new RegisteredEmailFilter(userRepository, 0.01, 1000);
+    }
+
+    @Test
+    @DisplayName("Every email is a maybe until the first build")
+    void mightBeRegistered_BeforeBuild_IsTrue() {
+        // Act & Assert
+        assertTrue(registeredEmailFilter.mightBeRegistered("nobody@example.com"));
+    }
+
+    @Test
+    @DisplayName("Registered emails match regardless of case and unknown emails are turned away")
+    void rebuild_LoadsRegisteredEmails() {
+        // Arrange
+        List<UserRepository.UserEmail> emails = List.of(email(1L, "first@example.com"), email(2L, "Second@Example.com"));
+        when(userRepository.count()).thenReturn(2L);
+        when(userRepository.findEmailsByIdGreaterThan(anyLong(), any(Limit.class))).thenReturn(emails);
+
+        // Act
+        registeredEmailFilter.rebuild();
+
+        // Assert
+        assertTrue(registeredEmailFilter.mightBeRegistered("first@example.com"));
+        assertTrue(registeredEmailFilter.mightBeRegistered("second@example.com"));
+        assertTrue(registeredEmailFilter.mightBeRegistered("FIRST@example.com"));
+        assertFalse(registeredEmailFilter.mightBeRegistered("nobody@example.com"));
+    }
+
+    @Test
+    @DisplayName("An email added while the table was being read survives the rebuild")
+    void rebuild_KeepsRecentlyAddedEmails() {
+        // Arrange
+        when(userRepository.count()).thenReturn(0L);
+        when(userRepository.findEmailsByIdGreaterThan(anyLong(), any(Limit.class))).thenAnswer(invocation -> {
+            // Signup not committed yet, so the scan does not see it
+            registeredEmailFilter.add("racing@example.com");
+            return List.of();
+        });
+
+        // Act
+        registeredEmailFilter.rebuild();
+
+        // Assert
+        assertTrue(registeredEmailFilter.mightBeRegistered("racing@example.com"));
+    }
+
+    @Test
+    @DisplayName("False positives stay near the configured rate")
+    void mightBeRegistered_FalsePositiveRate() {
+        // Arrange
+        BloomFilter filter = new BloomFilter(10_000, 0.01);
+        for (int i = 0; i < 10_000; i++) {
+            filter.add("user" + i + "@example.com");
+        }
+
+        // Act
+        int falsePositives = 0;
+        for (int i = 0; i < 10_000; i++) {
+            assertTrue(filter.mightContain("user" + i + "@example.com"));
+            if (filter.mightContain("other" + i + "@example.com")) {
+                falsePositives++;
+            }
+        }
+
+        // Assert
+        assertTrue(falsePositives < 200, "false positives: " + falsePositives);
+    }
+
+    private UserRepository.UserEmail email(Long id, String email) {
+        UserRepository.UserEmail userEmail = mock(UserRepository.UserEmail.class);
+        when(userEmail.getId()).thenReturn(id);
+        when(userEmail.getEmail()).thenReturn(email);
+        return userEmail;
+    }
+}
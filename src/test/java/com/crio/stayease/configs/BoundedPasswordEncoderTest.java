@@ -0,0 +1,115 @@
+package com.crio.stayease.configs;
+
+import com.crio.stayease.exception.PasswordHashingBusyException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BoundedPasswordEncoderTest {
+
+    private ThreadPoolExecutor executor;
+    private MeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        executor = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(1));
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("Hashes made on the pool can be matched on the pool")
+    void encodeAndMatches_RunOnThePool() {
+        // Arrange
+        BoundedPasswordEncoder encoder = new BoundedPasswordEncoder(new BCryptPasswordEncoder(4), executor, 5_000, meterRegistry);
+
+        // Act
+        String hash = encoder.encode("password");
+
+        // Assert
+        assertTrue(encoder.matches("password", hash));
+        assertFalse(encoder.matches("wrong", hash));
+        assertEquals(1, meterRegistry.get("stayease.password.hashing").tag("operation", "encode").timer().count());
+        assertEquals(2, meterRegistry.get("stayease.password.hashing").tag("operation", "matches").timer().count());
+    }
+
+    @Test
+    @DisplayName("A full queue is refused immediately instead of waiting")
+    void encode_WhenSaturated_IsRejected() throws Exception {
+        // Arrange
+        CountDownLatch release = new CountDownLatch(1);
+        BoundedPasswordEncoder encoder = new BoundedPasswordEncoder(blockingEncoder(release), executor, 5_000, meterRegistry);
+        // One hash running and one queued
+        ExecutorService callers = Executors.newFixedThreadPool(2);
+        Future<String> running = callers.submit(() -> encoder.encode("first"));
+        Future<String> queued = callers.submit(() -> encoder.encode("second"));
+        while (executor.getQueue().size() < 1) {
+            Thread.sleep(5);
+        }
+
+        // Act & Assert
+        assertThrows(PasswordHashingBusyException.class, () -> encoder.encode("third"));
+        assertEquals(1, meterRegistry.get("stayease.password.hashing.rejected").counter().count());
+        release.countDown();
+        assertEquals("hash", running.get(5, TimeUnit.SECONDS));
+        assertEquals("hash", queued.get(5, TimeUnit.SECONDS));
+        callers.shutdown();
+    }
+
+    @Test
+    @DisplayName("A hash that does not finish within the wait limit fails fast")
+    void encode_WhenTooSlow_IsRejected() {
+        // Arrange
+        CountDownLatch release = new CountDownLatch(1);
+        BoundedPasswordEncoder encoder = new BoundedPasswordEncoder(blockingEncoder(release), executor, 50, meterRegistry);
+
+        // Act & Assert
+        assertThrows(PasswordHashingBusyException.class, () -> encoder.encode("password"));
+        release.countDown();
+    }
+
+    @Test
+    @DisplayName("Hashes made with a lower work factor than configured ask to be upgraded")
+    void upgradeEncoding_WithWeakerHash_IsTrue() {
+        // Arrange
+        String weakHash = new BCryptPasswordEncoder(4).encode("password");
+        String currentHash = new BCryptPasswordEncoder(5).encode("password");
+        BoundedPasswordEncoder encoder = new BoundedPasswordEncoder(new BCryptPasswordEncoder(5), executor, 5_000, meterRegistry);
+
+        // Act & Assert
+        assertTrue(encoder.upgradeEncoding(weakHash));
+        assertFalse(encoder.upgradeEncoding(currentHash));
+    }
+
+    private PasswordEncoder blockingEncoder(CountDownLatch release) {
+        return new PasswordEncoder() {
+            @Override
+            public String encode(CharSequence rawPassword) {
+                try {
+                    release.await();
+                } catch (InterruptedException exception) {
+                    Thread.currentThread().interrupt();
+                }
+                return "hash";
+            }
+
+            @Override
+            public boolean matches(CharSequence rawPassword, String encodedPassword) {
+                return true;
+            }
+        };
+    }
+}
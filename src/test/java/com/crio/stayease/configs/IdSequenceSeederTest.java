@@ -0,0 +1,57 @@
+package com.crio.stayease.configs;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+public class IdSequenceSeederTest {
+    private static final long EXISTING_ID = 5_000_000L;
+
+    @Autowired
+    private IdSequenceSeeder idSequenceSeeder;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("delete from outbox_event where id = ?", EXISTING_ID);
+    }
+
+    @Test
+    @DisplayName("Moves the sequence past a row written before sequences were used")
+    void afterSingletonsInstantiated_existingRowAboveSequence_sequenceMovedPastIt() {
+        // Arrange
+        jdbcTemplate.update("insert into outbox_event (id, booking_id, hotel_id, user_id, event_type, occurred_at) "
+                + "values (?, 1, 1, 1, 'CREATED', current_timestamp)", EXISTING_ID);
+
+        // Act
+        idSequenceSeeder.afterSingletonsInstantiated();
+
+        // Assert
+        Long next = jdbcTemplate.queryForObject("select next value for outbox_event_seq", Long.class);
+        assertTrue(next - 49 > EXISTING_ID, "the next pooled block must start above the existing id");
+        Long following = jdbcTemplate.queryForObject("select next value for outbox_event_seq", Long.class);
+        assertEquals(50, following - next, "the increment is restored after the jump");
+    }
+
+    @Test
+    @DisplayName("Never moves a sequence backwards")
+    void afterSingletonsInstantiated_sequenceAlreadyAhead_notMovedBack() {
+        // Arrange
+        Long before = jdbcTemplate.queryForObject("select next value for outbox_event_seq", Long.class);
+
+        // Act
+        idSequenceSeeder.afterSingletonsInstantiated();
+
+        // Assert
+        Long after = jdbcTemplate.queryForObject("select next value for outbox_event_seq", Long.class);
+        assertTrue(after > before);
+    }
+}
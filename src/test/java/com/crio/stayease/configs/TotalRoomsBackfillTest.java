@@ -0,0 +1,106 @@
+package com.crio.stayease.configs;
+
+import com.crio.stayease.entity.Booking;
+import com.crio.stayease.entity.Hotel;
+import com.crio.stayease.entity.User;
+import com.crio.stayease.entity.enums.BookingStatus;
+import com.crio.stayease.entity.enums.Role;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+public class TotalRoomsBackfillTest {
+    @Autowired
+    private TotalRoomsBackfill totalRoomsBackfill;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private User customer;
+    private Hotel hotel;
+
+    @BeforeEach
+    void setUp() {
+        LocalDate today = LocalDate.now();
+        transactionTemplate.executeWithoutResult(status -> {
+            customer = new User();
+            customer.setEmail(UUID.randomUUID() + "@test.com");
+            customer.setFirstName("Test");
+            customer.setLastName("User");
+            customer.setPassword("password");
+            customer.setRole(Role.CUSTOMER);
+            entityManager.persist(customer);
+
+            hotel = new Hotel();
+            hotel.setName("Legacy Hotel " + UUID.randomUUID());
+            hotel.setLocation("Test Location");
+            hotel.setRoomsCount(3);
+            hotel.setTotalRooms(3);
+            entityManager.persist(hotel);
+
+            entityManager.persist(booking(BookingStatus.ACTIVE, today, today.plusDays(2)));
+            entityManager.persist(booking(BookingStatus.CHECKED_IN, null, null));
+            entityManager.persist(booking(BookingStatus.ACTIVE, today.plusDays(1), today.plusDays(2)));
+            entityManager.persist(booking(BookingStatus.CANCELLED, today, today.plusDays(1)));
+        });
+        jdbcTemplate.update("update hotel set total_rooms = null where id = ?", hotel.getId());
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("delete from booking where hotel_id = ?", hotel.getId());
+        jdbcTemplate.update("delete from hotel where id = ?", hotel.getId());
+        jdbcTemplate.update("delete from user where id = ?", customer.getId());
+    }
+
+    @Test
+    @DisplayName("A hotel without total rooms gets its free rooms plus the live stays of tonight")
+    void afterSingletonsInstantiated_missingTotalRooms_backfilled() {
+        // Act
+        totalRoomsBackfill.afterSingletonsInstantiated();
+
+        // Assert
+        assertEquals(5, jdbcTemplate.queryForObject("select total_rooms from hotel where id = ?", Integer.class, hotel.getId()));
+    }
+
+    @Test
+    @DisplayName("A configured total is left alone")
+    void afterSingletonsInstantiated_totalRoomsSet_notChanged() {
+        // Arrange
+        jdbcTemplate.update("update hotel set total_rooms = 9 where id = ?", hotel.getId());
+
+        // Act
+        totalRoomsBackfill.afterSingletonsInstantiated();
+
+        // Assert
+        assertEquals(9, jdbcTemplate.queryForObject("select total_rooms from hotel where id = ?", Integer.class, hotel.getId()));
+    }
+
+    private Booking booking(BookingStatus status, LocalDate checkIn, LocalDate checkOut) {
+        return Booking.builder()
+                .user(customer)
+                .hotel(hotel)
+                .bookingStatus(status)
+                .checkInDate(checkIn)
+                .checkOutDate(checkOut)
+                .build();
+    }
+}
@@ -0,0 +1,68 @@
+package com.crio.stayease.event;
+
+import com.crio.stayease.entity.enums.BookingEventType;
+import com.crio.stayease.entity.enums.BookingStatus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BookingEventBusTest {
+
+    private final List<Long> received = new CopyOnWriteArrayList<>();
+    private BookingEventBus bookingEventBus;
+
+    @BeforeEach
+    void setUp() {
+        BookingEventListener slowListener = event -> {
+            try {
+                Thread.sleep(20);
+            } catch (InterruptedException exception) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            received.add(event.eventId());
+        };
+        bookingEventBus = new BookingEventBus(List.of(slowListener), 16, 100, 5000);
+        bookingEventBus.start();
+    }
+
+    @Test
+    @DisplayName("Stopping the bus dispatches every accepted event first")
+    void stop_DrainsAcceptedEvents() throws InterruptedException {
+        // Arrange
+        for (long id = 1; id <= 10; id++) {
+            assertTrue(bookingEventBus.publish(event(id)));
+        }
+
+        // Act
+        bookingEventBus.stop();
+
+        // Assert
+        assertEquals(List.of(1L, 2L, 3L, 4L, 5L, 6L, 7L, 8L, 9L, 10L), received);
+        assertEquals(0, bookingEventBus.pending());
+    }
+
+    @Test
+    @DisplayName("A stopped bus refuses new events so they stay in the outbox")
+    void publish_AfterStop_Refused() throws InterruptedException {
+        // Arrange
+        bookingEventBus.stop();
+
+        // Act
+        boolean published = bookingEventBus.publish(event(1L));
+
+        // Assert
+        assertFalse(published);
+        assertTrue(received.isEmpty());
+    }
+
+    private BookingEvent event(Long id) {
+        return new BookingEvent(id, id, 0L, 1L, 1L, BookingEventType.CREATED, null, BookingStatus.ACTIVE, LocalDateTime.now());
+    }
+}
@@ -0,0 +1,93 @@
+package com.crio.stayease.event;
+
+import com.crio.stayease.entity.OutboxEvent;
+import com.crio.stayease.entity.enums.BookingEventType;
+import com.crio.stayease.entity.enums.BookingStatus;
+import com.crio.stayease.repository.OutboxEventRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class OutboxRelayTest {
+
+    @Mock
+    private OutboxEventRepository outboxEventRepository;
+
+    @Mock
+    private BookingEventBus bookingEventBus;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @InjectMocks
+    private OutboxRelay outboxRelay;
+
+    private OutboxEvent first;
+    private OutboxEvent second;
+
+    @BeforeEach
+    void setUp() {
+        first = event(1L);
+        second = event(2L);
+        lenient().when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+                invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+    }
+
+    @Test
+    @DisplayName("Relayed events are acknowledged in one batch and the next batch is claimed")
+    void relay_AcknowledgesBatch() throws InterruptedException {
+        // Arrange
+        when(outboxEventRepository.claimBatch(any(Limit.class))).thenReturn(List.of(first, second)).thenReturn(List.of());
+        when(bookingEventBus.publish(any(BookingEvent.class))).thenReturn(true);
+
+        // Act
+        outboxRelay.relay();
+
+        // Assert
+        verify(bookingEventBus, times(2)).publish(any(BookingEvent.class));
+        verify(outboxEventRepository, times(1)).deleteByIdIn(List.of(1L, 2L));
+        verify(outboxEventRepository, times(2)).claimBatch(any(Limit.class));
+        verify(transactionTemplate, times(2)).execute(any());
+    }
+
+    @Test
+    @DisplayName("Events the full bus did not accept stay in the outbox")
+    void relay_StopsWhenBusIsFull() throws InterruptedException {
+        // Arrange
+        when(outboxEventRepository.claimBatch(any(Limit.class))).thenReturn(List.of(first, second));
+        when(bookingEventBus.publish(any(BookingEvent.class))).thenReturn(true, false);
+
+        // Act
+        outboxRelay.relay();
+
+        // Assert
+        verify(outboxEventRepository, times(1)).deleteByIdIn(List.of(1L));
+        verify(outboxEventRepository, times(1)).claimBatch(any(Limit.class));
+    }
+
+    private OutboxEvent event(Long id) {
+        return OutboxEvent.builder()
+                .id(id)
+                .bookingId(id)
+                .hotelId(1L)
+                .userId(1L)
+                .eventType(BookingEventType.CREATED)
+                .toStatus(BookingStatus.ACTIVE)
+                .occurredAt(LocalDateTime.now())
+                .build();
+    }
+}
@@ -0,0 +1,83 @@
+package com.crio.stayease.metrics;
+
+import com.crio.stayease.entity.enums.BookingStatus;
+import com.crio.stayease.repository.BookingRepository;
+import com.crio.stayease.repository.HotelRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class InventoryGaugesTest {
+    @Mock
+    private HotelRepository hotelRepository;
+
+    @Mock
+    private BookingRepository bookingRepository;
+
+    private MeterRegistry meterRegistry;
+    private InventoryGauges inventoryGauges;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        inventoryGauges = new InventoryGauges(hotelRepository, bookingRepository, meterRegistry);
+        inventoryGauges.register();
+    }
+
+    @Test
+    @DisplayName("Refresh publishes remaining rooms per hotel and drops hotels that are gone")
+    void refresh_PublishesRoomsPerHotel() {
+        // Arrange
+        HotelRepository.HotelCapacity first = capacity(1L, 7);
+        HotelRepository.HotelCapacity second = capacity(2L, 0);
+        when(hotelRepository.findAllCapacities()).thenReturn(List.of(first, second)).thenReturn(List.of(first));
+        when(bookingRepository.countByStatus()).thenReturn(List.of());
+
+        // Act
+        inventoryGauges.refresh();
+        double secondHotelRooms = meterRegistry.get("stayease.hotel.rooms.remaining").tag("hotel", "2").gauge().value();
+        inventoryGauges.refresh();
+
+        // Assert
+        assertEquals(7, meterRegistry.get("stayease.hotel.rooms.remaining").tag("hotel", "1").gauge().value());
+        assertEquals(0, secondHotelRooms);
+        assertNull(meterRegistry.find("stayease.hotel.rooms.remaining").tag("hotel", "2").gauge());
+    }
+
+    @Test
+    @DisplayName("Refresh publishes every booking status, zero when there are no bookings in it")
+    void refresh_PublishesEveryStatus() {
+        // Arrange
+        BookingRepository.StatusCount active = mock(BookingRepository.StatusCount.class);
+        when(active.getBookingStatus()).thenReturn(BookingStatus.ACTIVE);
+        when(active.getBookings()).thenReturn(12L);
+        when(hotelRepository.findAllCapacities()).thenReturn(List.of());
+        when(bookingRepository.countByStatus()).thenReturn(List.of(active));
+
+        // Act
+        inventoryGauges.refresh();
+
+        // Assert
+        assertEquals(12, meterRegistry.get("stayease.bookings").tag("status", "ACTIVE").gauge().value());
+        assertEquals(0, meterRegistry.get("stayease.bookings").tag("status", "CANCELLED").gauge().value());
+        assertEquals(BookingStatus.values().length, meterRegistry.find("stayease.bookings").gauges().size());
+    }
+
+    private HotelRepository.HotelCapacity capacity(Long id, int roomsCount) {
+        HotelRepository.HotelCapacity capacity = mock(HotelRepository.HotelCapacity.class);
+        when(capacity.getId()).thenReturn(id);
+        when(capacity.getRoomsCount()).thenReturn(roomsCount);
+        return capacity;
+    }
+}
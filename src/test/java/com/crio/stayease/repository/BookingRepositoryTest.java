@@ -0,0 +1,108 @@
+package com.crio.stayease.repository;
+
+import com.crio.stayease.entity.Booking;
+import com.crio.stayease.entity.Hotel;
+import com.crio.stayease.entity.User;
+import com.crio.stayease.entity.enums.BookingStatus;
+import com.crio.stayease.entity.enums.Role;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+public class BookingRepositoryTest {
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private User customer;
+    private Hotel hotel;
+    private Booking overdue;
+    private Booking legacyOld;
+    private Booking legacyNew;
+    private Booking upcoming;
+
+    @BeforeEach
+    void setUp() {
+        LocalDate today = LocalDate.now();
+        transactionTemplate.executeWithoutResult(status -> {
+            customer = new User();
+            customer.setEmail(UUID.randomUUID() + "@test.com");
+            customer.setFirstName("Test");
+            customer.setLastName("User");
+            customer.setPassword("password");
+            customer.setRole(Role.CUSTOMER);
+            entityManager.persist(customer);
+
+            hotel = new Hotel();
+            hotel.setName("Sweep Hotel " + UUID.randomUUID());
+            hotel.setLocation("Test Location");
+            hotel.setRoomsCount(3);
+            hotel.setTotalRooms(3);
+            entityManager.persist(hotel);
+
+            overdue = booking(today.minusDays(2), today.minusDays(1));
+            legacyOld = booking(null, null);
+            legacyNew = booking(null, null);
+            upcoming = booking(today.plusDays(1), today.plusDays(2));
+        });
+        jdbcTemplate.update("update booking set created_at = ? where id = ?", today.minusDays(3).atStartOfDay(), legacyOld.getId());
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("delete from booking where hotel_id = ?", hotel.getId());
+        jdbcTemplate.update("delete from hotel where id = ?", hotel.getId());
+        jdbcTemplate.update("delete from user where id = ?", customer.getId());
+    }
+
+    @Test
+    @DisplayName("Bookings without a check-in date are stale once created before the cutoff day")
+    void findStaleForUpdate_LegacyBookingsByCreatedAt() {
+        // Arrange
+        LocalDate cutoff = LocalDate.now();
+
+        // Act
+        List<Long> stale = transactionTemplate.execute(status -> bookingRepository
+                .findStaleForUpdate(BookingStatus.ACTIVE, cutoff, cutoff.atStartOfDay(), 0L, Limit.of(1000))
+                .stream().map(BookingRepository.StaleBooking::getId)
+                .filter(id -> List.of(overdue.getId(), legacyOld.getId(), legacyNew.getId(), upcoming.getId()).contains(id))
+                .toList());
+
+        // Assert
+        assertEquals(List.of(overdue.getId(), legacyOld.getId()), stale);
+    }
+
+    private Booking booking(LocalDate checkIn, LocalDate checkOut) {
+        Booking booking = Booking.builder()
+                .user(customer)
+                .hotel(hotel)
+                .bookingStatus(BookingStatus.ACTIVE)
+                .checkInDate(checkIn)
+                .checkOutDate(checkOut)
+                .build();
+        entityManager.persist(booking);
+        return booking;
+    }
+}
@@ -0,0 +1,88 @@
+package com.crio.stayease.repository;
+
+import com.crio.stayease.entity.OutboxEvent;
+import com.crio.stayease.entity.enums.BookingEventType;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+public class OutboxEventRepositoryTest {
+    private static final long FIRST_BOOKING = 900_001L;
+    private static final long SECOND_BOOKING = 900_002L;
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private OutboxEvent created;
+    private OutboxEvent cancelled;
+    private OutboxEvent other;
+
+    @BeforeEach
+    void setUp() {
+        // The cancellation gets the lower id, as it would when another instance's id block is lower
+        cancelled = outboxEventRepository.save(event(FIRST_BOOKING, 1L, BookingEventType.CANCELLED));
+        created = outboxEventRepository.save(event(FIRST_BOOKING, 0L, BookingEventType.CREATED));
+        other = outboxEventRepository.save(event(SECOND_BOOKING, 0L, BookingEventType.CREATED));
+    }
+
+    @AfterEach
+    void tearDown() {
+        outboxEventRepository.deleteByIdIn(List.of(created.getId(), cancelled.getId(), other.getId()));
+    }
+
+    @Test
+    @DisplayName("Only the earliest event of each booking is claimed")
+    void claimBatch_EarliestEventPerBooking() {
+        // Act
+        List<Long> claimed = transactionTemplate.execute(status -> ids(outboxEventRepository.claimBatch(Limit.of(10))));
+
+        // Assert
+        assertEquals(List.of(created.getId(), other.getId()), claimed);
+    }
+
+    @Test
+    @DisplayName("A booking's next event is claimed once the earlier one is relayed")
+    void claimBatch_NextEventAfterEarlierRelayed() {
+        // Arrange
+        transactionTemplate.executeWithoutResult(status ->
+                outboxEventRepository.deleteByIdIn(ids(outboxEventRepository.claimBatch(Limit.of(10)))));
+
+        // Act
+        List<Long> claimed = transactionTemplate.execute(status -> ids(outboxEventRepository.claimBatch(Limit.of(10))));
+
+        // Assert
+        assertEquals(List.of(cancelled.getId()), claimed);
+    }
+
+    private List<Long> ids(List<OutboxEvent> events) {
+        return events.stream()
+                .filter(event -> event.getBookingId() == FIRST_BOOKING || event.getBookingId() == SECOND_BOOKING)
+                .map(OutboxEvent::getId)
+                .toList();
+    }
+
+    private OutboxEvent event(long bookingId, long bookingSequence, BookingEventType eventType) {
+        return OutboxEvent.builder()
+                .bookingId(bookingId)
+                .bookingSequence(bookingSequence)
+                .hotelId(1L)
+                .userId(1L)
+                .eventType(eventType)
+                .occurredAt(LocalDateTime.now())
+                .build();
+    }
+}
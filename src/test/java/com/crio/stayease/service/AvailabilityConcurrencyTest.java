@@ -0,0 +1,127 @@
+package com.crio.stayease.service;
+
+import com.crio.stayease.entity.Booking;
+import com.crio.stayease.entity.Hotel;
+import com.crio.stayease.entity.User;
+import com.crio.stayease.entity.enums.BookingStatus;
+import com.crio.stayease.entity.enums.Role;
+import com.crio.stayease.exception.NoAvailableRoomsException;
+import com.crio.stayease.repository.BookingRepository;
+import com.crio.stayease.repository.HotelRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+public class AvailabilityConcurrencyTest {
+    @Autowired
+    private AvailabilityService availabilityService;
+
+    @Autowired
+    private HotelRepository hotelRepository;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private User customer;
+    private Hotel hotel;
+
+    @BeforeEach
+    void setUp() {
+        transactionTemplate.executeWithoutResult(status -> {
+            customer = new User();
+            customer.setEmail(UUID.randomUUID() + "@test.com");
+            customer.setFirstName("Test");
+            customer.setLastName("User");
+            customer.setPassword("password");
+            customer.setRole(Role.CUSTOMER);
+            entityManager.persist(customer);
+
+            hotel = new Hotel();
+            hotel.setName("Last Room Hotel " + UUID.randomUUID());
+            hotel.setLocation("Test Location");
+            hotel.setRoomsCount(1);
+            hotel.setTotalRooms(1);
+            entityManager.persist(hotel);
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("delete from booking where hotel_id = ?", hotel.getId());
+        jdbcTemplate.update("delete from hotel where id = ?", hotel.getId());
+        jdbcTemplate.update("delete from user where id = ?", customer.getId());
+    }
+
+    @Test
+    @DisplayName("Two instances with their own ledgers never sell the same last room")
+    void reserve_TwoInstances_LastRoomSoldOnce() throws Exception {
+        // Arrange
+        AvailabilityService otherInstance = new AvailabilityService(hotelRepository, bookingRepository);
+        LocalDate night = LocalDate.now().plusDays(3);
+        int requests = 16;
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService threads = Executors.newFixedThreadPool(requests);
+        List<Future<Boolean>> results = new ArrayList<>();
+
+        // Act
+        for (int i = 0; i < requests; i++) {
+            AvailabilityService instance = i % 2 == 0 ? availabilityService : otherInstance;
+            results.add(threads.submit(() -> {
+                start.await();
+                try {
+                    transactionTemplate.executeWithoutResult(status -> {
+                        instance.reserve(hotel, night, night.plusDays(1));
+                        bookingRepository.save(Booking.builder()
+                                .user(customer)
+                                .hotel(hotel)
+                                .bookingStatus(BookingStatus.ACTIVE)
+                                .checkInDate(night)
+                                .checkOutDate(night.plusDays(1))
+                                .build());
+                    });
+                    return true;
+                } catch (NoAvailableRoomsException exception) {
+                    return false;
+                }
+            }));
+        }
+        start.countDown();
+        int sold = 0;
+        for (Future<Boolean> result : results) {
+            sold += result.get(30, TimeUnit.SECONDS) ? 1 : 0;
+        }
+        threads.shutdown();
+
+        // Assert
+        assertEquals(1, sold);
+        assertEquals(1, jdbcTemplate.queryForObject("select count(*) from booking where hotel_id = ?", Integer.class, hotel.getId()));
+    }
+}
@@ -0,0 +1,263 @@
+package com.crio.stayease.service;
+
+import com.crio.stayease.dto.AvailabilityDto;
+import com.crio.stayease.entity.Booking;
+import com.crio.stayease.entity.Hotel;
+import com.crio.stayease.exception.NoAvailableRoomsException;
+import com.crio.stayease.repository.BookingRepository;
+import com.crio.stayease.repository.HotelRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class AvailabilityServiceTest {
+    @Mock
+    private HotelRepository hotelRepository;
+
+    @Mock
+    private BookingRepository bookingRepository;
+
+    @InjectMocks
+    private AvailabilityService availabilityService;
+
+    private Hotel testHotel;
+    private LocalDate today;
+
+    @BeforeEach
+    void setUp() {
+        testHotel = new Hotel();
+        testHotel.setId(1L);
+        testHotel.setName("Test Hotel");
+        testHotel.setRoomsCount(2);
+        testHotel.setTotalRooms(2);
+
+        today = LocalDate.now();
+    }
+
+    @Test
+    @DisplayName("Overlapping stays use up the rooms of shared nights only")
+    void reserve_OverlappingStays() {
+        // Arrange
+        when(bookingRepository.findStayRangesByHotelId(eq(1L), any(), eq(today))).thenReturn(Collections.emptyList());
+        availabilityService.reserve(testHotel, today, today.plusDays(3));
+        availabilityService.reserve(testHotel, today.plusDays(2), today.plusDays(5));
+
+        // Act & Assert
+        assertThrows(NoAvailableRoomsException.class, () ->
+                availabilityService.reserve(testHotel, today.plusDays(1), today.plusDays(4)));
+        availabilityService.reserve(testHotel, today.plusDays(3), today.plusDays(4));
+        assertEquals(1, availabilityService.getAvailability(1L, today, today.plusDays(2)).getAvailableRooms());
+        assertEquals(2, availabilityService.getAvailability(1L, today.plusDays(5), today.plusDays(7)).getAvailableRooms());
+    }
+
+    @Test
+    @DisplayName("Concurrent reservations never oversell a night")
+    void reserve_ConcurrentRequestsDoNotOversell() throws Exception {
+        // Arrange
+        testHotel.setTotalRooms(50);
+        when(bookingRepository.findStayRangesByHotelId(eq(1L), any(), eq(today))).thenReturn(Collections.emptyList());
+        int threads = 400;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger booked = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+        List<Future<?>> futures = new ArrayList<>();
+
+        // Act
+        for (int i = 0; i < threads; i++) {
+            futures.add(executor.submit(() -> {
+                start.await();
+                try {
+                    availabilityService.reserve(testHotel, today, today.plusDays(1));
+                    booked.incrementAndGet();
+                } catch (NoAvailableRoomsException exception) {
+                    rejected.incrementAndGet();
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(30, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+
+        // Assert
+        assertEquals(50, booked.get());
+        assertEquals(threads - 50, rejected.get());
+        assertTrue(availabilityService.isSoldOut(1L, today, today.plusDays(1)));
+        assertFalse(availabilityService.isSoldOut(1L, today.plusDays(1), today.plusDays(2)));
+    }
+
+    @Test
+    @DisplayName("A hotel whose ledger is not loaded is not reported sold out")
+    void isSoldOut_UnknownHotel() {
+        // Act & Assert
+        assertFalse(availabilityService.isSoldOut(1L, today, today.plusDays(1)));
+        verifyNoInteractions(hotelRepository, bookingRepository);
+    }
+
+    @Test
+    @DisplayName("Released stay frees its nights again")
+    void release_FreesNights() {
+        // Arrange
+        when(bookingRepository.findStayRangesByHotelId(eq(1L), any(), eq(today))).thenReturn(Collections.emptyList());
+        availabilityService.reserve(testHotel, today, today.plusDays(2));
+        availabilityService.reserve(testHotel, today, today.plusDays(2));
+        Booking booking = Booking.builder()
+                .hotel(testHotel)
+                .checkInDate(today)
+                .checkOutDate(today.plusDays(2))
+                .build();
+
+        // Act
+        availabilityService.release(booking, today);
+
+        // Assert
+        assertEquals(1, availabilityService.getAvailability(1L, today, today.plusDays(2)).getAvailableRooms());
+    }
+
+    @Test
+    @DisplayName("Stay released in a transaction that rolls back is freed only once")
+    void release_RolledBackTransaction() {
+        // Arrange
+        when(bookingRepository.findStayRangesByHotelId(eq(1L), any(), eq(today))).thenReturn(Collections.emptyList());
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            availabilityService.reserve(testHotel, today, today.plusDays(2));
+            availabilityService.release(1L, today, today.plusDays(2));
+
+            // Act
+            TransactionSynchronizationManager.getSynchronizations()
+                    .forEach(synchronization -> synchronization.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        // Assert
+        assertEquals(2, availabilityService.getAvailability(1L, today, today.plusDays(2)).getAvailableRooms());
+    }
+
+    @Test
+    @DisplayName("A stay pending in an open transaction survives a ledger rebuild")
+    void evict_KeepsPendingStays() {
+        // Arrange
+        when(hotelRepository.findById(1L)).thenReturn(Optional.of(testHotel));
+        when(bookingRepository.findStayRangesByHotelId(eq(1L), any(), eq(today))).thenReturn(Collections.emptyList());
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            availabilityService.reserve(testHotel, today, today.plusDays(2));
+
+            // Act
+            availabilityService.evict(1L);
+            AvailabilityDto pending = availabilityService.getAvailability(1L, today, today.plusDays(2));
+            TransactionSynchronizationManager.getSynchronizations()
+                    .forEach(synchronization -> synchronization.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+
+            // Assert
+            assertEquals(1, pending.getAvailableRooms());
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        assertEquals(2, availabilityService.getAvailability(1L, today, today.plusDays(2)).getAvailableRooms());
+    }
+
+    @Test
+    @DisplayName("A stay committing while the bookings are read is carried into the rebuilt ledger")
+    void evict_KeepsStaysCommittedDuringRebuild() {
+        // Arrange
+        when(hotelRepository.findById(1L)).thenReturn(Optional.of(testHotel));
+        when(bookingRepository.findStayRangesByHotelId(eq(1L), any(), eq(today))).thenReturn(Collections.emptyList());
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            availabilityService.reserve(testHotel, today, today.plusDays(2));
+            List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+            availabilityService.evict(1L);
+            when(bookingRepository.findStayRangesByHotelId(eq(1L), any(), eq(today))).thenAnswer(invocation -> {
+                // The transaction commits after the read took its snapshot
+                synchronizations.forEach(synchronization -> synchronization.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+                return Collections.emptyList();
+            });
+
+            // Act
+            AvailabilityDto result = availabilityService.getAvailability(1L, today, today.plusDays(2));
+
+            // Assert
+            assertEquals(1, result.getAvailableRooms());
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    @DisplayName("Availability is rebuilt from live bookings")
+    void rebuild_LoadsLiveBookings() {
+        // Arrange
+        BookingRepository.StayRange stay = mock(BookingRepository.StayRange.class);
+        when(stay.getHotelId()).thenReturn(1L);
+        when(stay.getCheckInDate()).thenReturn(today.plusDays(1));
+        when(stay.getCheckOutDate()).thenReturn(today.plusDays(3));
+        HotelRepository.HotelCapacity capacity = mock(HotelRepository.HotelCapacity.class);
+        when(capacity.getId()).thenReturn(1L);
+        when(capacity.getTotalRooms()).thenReturn(1);
+        when(bookingRepository.findStayRanges(any(), eq(today))).thenReturn(List.of(stay));
+        when(hotelRepository.findCapacitiesByIdIn(any())).thenReturn(List.of(capacity));
+
+        // Act
+        availabilityService.rebuild();
+        AvailabilityDto result = availabilityService.getAvailability(1L, today, today.plusDays(2));
+
+        // Assert
+        assertEquals(0, result.getAvailableRooms());
+        assertEquals(1, availabilityService.getAvailability(1L, today.plusDays(3), today.plusDays(4)).getAvailableRooms());
+        verify(hotelRepository, never()).findById(1L);
+    }
+
+    @Test
+    @DisplayName("Reject stays that end before they start")
+    void getAvailability_InvalidRange() {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () ->
+                availabilityService.getAvailability(1L, today.plusDays(2), today.plusDays(1)));
+    }
+
+    @Test
+    @DisplayName("Unknown hotel is loaded once for availability")
+    void getAvailability_LoadsHotel() {
+        // Arrange
+        when(hotelRepository.findById(1L)).thenReturn(Optional.of(testHotel));
+        when(bookingRepository.findStayRangesByHotelId(eq(1L), any(), eq(today))).thenReturn(Collections.emptyList());
+
+        // Act
+        availabilityService.getAvailability(1L, today, today.plusDays(1));
+        AvailabilityDto result = availabilityService.getAvailability(1L, today, today.plusDays(1));
+
+        // Assert
+        assertEquals(2, result.getAvailableRooms());
+        verify(hotelRepository, times(1)).findById(1L);
+    }
+}
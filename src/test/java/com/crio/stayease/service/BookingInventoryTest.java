@@ -0,0 +1,124 @@
+package com.crio.stayease.service;
+
+import com.crio.stayease.dto.BookingDto;
+import com.crio.stayease.dto.CreateBookingRequest;
+import com.crio.stayease.entity.Hotel;
+import com.crio.stayease.entity.User;
+import com.crio.stayease.entity.enums.Role;
+import com.crio.stayease.exception.NoAvailableRoomsException;
+import com.crio.stayease.repository.HotelRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@Transactional
+public class BookingInventoryTest {
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private HotelRepository hotelRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private User customer;
+    private User hotelManager;
+    private Hotel hotel;
+
+    @BeforeEach
+    void setUp() {
+        customer = newUser(Role.CUSTOMER);
+        hotelManager = newUser(Role.HOTEL_MANAGER);
+
+        hotel = new Hotel();
+        hotel.setName("Inventory Hotel " + UUID.randomUUID());
+        hotel.setLocation("Test Location");
+        hotel.setRoomsCount(2);
+        hotel.setTotalRooms(2);
+        hotel.setHotelManager(hotelManager);
+        entityManager.persist(hotel);
+        entityManager.flush();
+
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    @DisplayName("Selling out one night leaves the other nights on sale")
+    void createNewBooking_SoldOutNightDoesNotBlockOtherNights() {
+        // Arrange
+        authenticate(customer);
+        LocalDate nightA = LocalDate.now().plusDays(1);
+        LocalDate nightB = LocalDate.now().plusDays(2);
+        for (int i = 0; i < 2; i++) {
+            bookingService.createNewBooking(hotel.getId(), new CreateBookingRequest(nightA, nightA.plusDays(1)));
+        }
+
+        // Act
+        assertThrows(NoAvailableRoomsException.class, () ->
+                bookingService.createNewBooking(hotel.getId(), new CreateBookingRequest(nightA, nightA.plusDays(1))));
+        BookingDto result = bookingService.createNewBooking(hotel.getId(), new CreateBookingRequest(nightB, nightB.plusDays(1)));
+
+        // Assert
+        assertEquals(nightB, result.getCheckInDate());
+        assertEquals(2, roomsCount(), "future stays do not take tonight's rooms");
+    }
+
+    @Test
+    @DisplayName("Tonight's stay takes one of tonight's rooms and cancelling it gives the room back")
+    void cancelBooking_RestoresTonightsRoom() {
+        // Arrange
+        authenticate(customer);
+        BookingDto booking = bookingService.createNewBooking(hotel.getId(), null);
+        assertEquals(1, roomsCount());
+        authenticate(hotelManager);
+
+        // Act
+        bookingService.cancelBooking(booking.getId());
+
+        // Assert
+        assertEquals(2, roomsCount());
+    }
+
+    private int roomsCount() {
+        return hotelRepository.findCapacityById(hotel.getId()).orElseThrow().getRoomsCount();
+    }
+
+    private User newUser(Role role) {
+        User user = new User();
+        user.setEmail(UUID.randomUUID() + "@test.com");
+        user.setFirstName("Test");
+        user.setLastName("User");
+        user.setPassword("password");
+        user.setRole(role);
+        entityManager.persist(user);
+        return user;
+    }
+
+    private void authenticate(User user) {
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(user, null, user.getAuthorities()));
+    }
+}
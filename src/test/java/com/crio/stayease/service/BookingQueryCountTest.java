@@ -0,0 +1,260 @@
+package com.crio.stayease.service;
+
+import com.crio.stayease.dto.AddGuestRequest;
+import com.crio.stayease.dto.GuestDto;
+import com.crio.stayease.dto.RemoveGuestRequest;
+import com.crio.stayease.dto.ReplaceGuestsRequest;
+import com.crio.stayease.entity.Booking;
+import com.crio.stayease.entity.Guest;
+import com.crio.stayease.entity.Hotel;
+import com.crio.stayease.entity.OutboxEvent;
+import com.crio.stayease.entity.User;
+import com.crio.stayease.entity.enums.BookingEventType;
+import com.crio.stayease.entity.enums.BookingStatus;
+import com.crio.stayease.entity.enums.Role;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@Transactional
+public class BookingQueryCountTest {
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+    private User customer;
+    private User hotelManager;
+    private Booking booking;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        customer = newUser(Role.CUSTOMER);
+        hotelManager = newUser(Role.HOTEL_MANAGER);
+
+        Hotel hotel = new Hotel();
+        hotel.setName("Query Count Hotel " + UUID.randomUUID());
+        hotel.setLocation("Test Location");
+        hotel.setRoomsCount(10);
+        hotel.setTotalRooms(10);
+        hotel.setHotelManager(hotelManager);
+        entityManager.persist(hotel);
+
+        booking = Booking.builder()
+                .user(customer)
+                .hotel(hotel)
+                .bookingStatus(BookingStatus.ACTIVE)
+                .checkInDate(LocalDate.now())
+                .checkOutDate(LocalDate.now().plusDays(1))
+                .guests(new ArrayList<>())
+                .build();
+        entityManager.persist(booking);
+        for (int i = 0; i < 2; i++) {
+            entityManager.persist(new Guest(null, "Guest", "Number " + i, "guest" + i + "@test.com", booking));
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    @DisplayName("Owner reads a booking with a single SELECT")
+    void getBookingById_SingleSelect() {
+        // Arrange
+        authenticate(customer);
+        statistics.clear();
+
+        // Act
+        var result = bookingService.getBookingById(booking.getId());
+
+        // Assert
+        assertEquals(2, result.getGuests().size());
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    @DisplayName("Hotel manager checks a booking in with a single SELECT")
+    void checkInBooking_SingleSelect() {
+        // Arrange
+        authenticate(hotelManager);
+        // Take the pooled outbox id block up front so the check-in does not fetch one, the pool reads the sequence twice on first use
+        for (int i = 0; i < 2; i++) {
+            entityManager.persist(OutboxEvent.builder().bookingId(booking.getId()).hotelId(booking.getHotel().getId())
+                    .userId(customer.getId()).eventType(BookingEventType.CREATED).occurredAt(LocalDateTime.now()).build());
+        }
+        entityManager.flush();
+        statistics.clear();
+
+        // Act
+        var result = bookingService.checkInBooking(booking.getId());
+
+        // Assert
+        assertEquals(BookingStatus.CHECKED_IN, result.getBookingStatus());
+        // The booking UPDATE is flushed before the outbox event so the event carries the new version
+        assertEquals(1, statistics.getEntityUpdateCount());
+        assertEquals(2, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    @DisplayName("Owner lists their bookings with one SELECT for bookings and one for guests")
+    void getAllBookingsOfUser_TwoSelects() {
+        // Arrange
+        authenticate(customer);
+        for (int i = 0; i < 5; i++) {
+            Booking other = Booking.builder()
+                    .user(entityManager.getReference(User.class, customer.getId()))
+                    .hotel(entityManager.getReference(Hotel.class, booking.getHotel().getId()))
+                    .bookingStatus(BookingStatus.ACTIVE)
+                    .guests(new ArrayList<>())
+                    .build();
+            entityManager.persist(other);
+            entityManager.persist(new Guest(null, "Guest", "Other " + i, "other" + i + "@test.com", other));
+        }
+        entityManager.flush();
+        entityManager.clear();
+        statistics.clear();
+
+        // Act
+        var result = bookingService.getAllBookingsOfUser(customer.getId());
+
+        // Assert
+        assertEquals(6, result.size());
+        assertEquals(2, result.get(0).getGuests().size());
+        assertEquals(1, result.get(5).getGuests().size());
+        assertEquals(2, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    @DisplayName("Adding guests costs a SELECT and one batched INSERT")
+    void addGuests_ConstantStatements() {
+        // Arrange
+        authenticate(customer);
+        entityManager.createQuery("delete from Guest g where g.booking.id=:bookingId")
+                .setParameter("bookingId", booking.getId()).executeUpdate();
+        statistics.clear();
+
+        // Act
+        var result = bookingService.addGuests(booking.getId(), new AddGuestRequest(List.of(newGuest(), newGuest())));
+        entityManager.flush();
+
+        // Assert, the forced version UPDATE runs at commit which the test transaction never reaches
+        assertEquals(2, result.getGuests().size());
+        assertEquals(2, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    @DisplayName("Removing guests costs a SELECT and one DELETE")
+    void removeGuests_ConstantStatements() {
+        // Arrange
+        authenticate(customer);
+        List<Long> guestIds = entityManager.createQuery("select g.id from Guest g where g.booking.id=:bookingId", Long.class)
+                .setParameter("bookingId", booking.getId()).getResultList();
+        statistics.clear();
+
+        // Act
+        var result = bookingService.removeGuests(booking.getId(), new RemoveGuestRequest(guestIds));
+        entityManager.flush();
+
+        // Assert
+        assertTrue(result.getGuests().isEmpty());
+        assertEquals(2, statistics.getPrepareStatementCount());
+        assertEquals(0L, countGuests());
+    }
+
+    @Test
+    @DisplayName("Replacing guests costs a SELECT, one DELETE and one batched INSERT")
+    void replaceGuests_ConstantStatements() {
+        // Arrange
+        authenticate(customer);
+        statistics.clear();
+
+        // Act
+        var result = bookingService.replaceGuests(booking.getId(), new ReplaceGuestsRequest(List.of(newGuest(), newGuest())));
+        entityManager.flush();
+
+        // Assert
+        assertEquals(2, result.getGuests().size());
+        assertEquals(3, statistics.getPrepareStatementCount());
+        assertEquals(2L, countGuests());
+    }
+
+    @Test
+    @DisplayName("Unrelated customer is denied after a single SELECT")
+    void getBookingById_DeniedSingleSelect() {
+        // Arrange
+        authenticate(newUser(Role.CUSTOMER));
+        entityManager.flush();
+        statistics.clear();
+
+        // Act & Assert
+        assertThrows(AccessDeniedException.class, () ->
+                bookingService.getBookingById(booking.getId()));
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    private GuestDto newGuest() {
+        GuestDto guest = new GuestDto();
+        guest.setFirstName("New");
+        guest.setLastName("Guest");
+        guest.setEmail(UUID.randomUUID() + "@test.com");
+        return guest;
+    }
+
+    private long countGuests() {
+        return entityManager.createQuery("select count(g) from Guest g where g.booking.id=:bookingId", Long.class)
+                .setParameter("bookingId", booking.getId()).getSingleResult();
+    }
+
+    private User newUser(Role role) {
+        User user = new User();
+        user.setEmail(UUID.randomUUID() + "@test.com");
+        user.setFirstName("Test");
+        user.setLastName("User");
+        user.setPassword("password");
+        user.setRole(role);
+        entityManager.persist(user);
+        return user;
+    }
+
+    private void authenticate(User user) {
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(user, null, user.getAuthorities()));
+    }
+}
@@ -2,20 +2,31 @@ package com.crio.stayease.service;
 
 import com.crio.stayease.dto.AddGuestRequest;
 import com.crio.stayease.dto.BookingDto;
+import com.crio.stayease.dto.BulkBookingItem;
+import com.crio.stayease.dto.BulkBookingRequest;
+import com.crio.stayease.dto.BulkBookingResultDto;
+import com.crio.stayease.dto.CreateBookingRequest;
 import com.crio.stayease.dto.GuestDto;
+import com.crio.stayease.dto.RemoveGuestRequest;
+import com.crio.stayease.dto.ReplaceGuestsRequest;
 import com.crio.stayease.dto.UpdateBookingStatusRequest;
 import com.crio.stayease.entity.Booking;
 import com.crio.stayease.entity.Guest;
 import com.crio.stayease.entity.Hotel;
 import com.crio.stayease.entity.User;
+import com.crio.stayease.entity.enums.BookingEventType;
 import com.crio.stayease.entity.enums.BookingStatus;
 import com.crio.stayease.entity.enums.Role;
 import com.crio.stayease.exception.MaximumGuestLimitReachedException;
 import com.crio.stayease.exception.NoAvailableRoomsException;
+import com.crio.stayease.exception.UnauthorizedAccessException;
+import com.crio.stayease.mapper.BookingMapper;
 import com.crio.stayease.repository.BookingRepository;
 import com.crio.stayease.repository.GuestRepository;
 import com.crio.stayease.repository.HotelRepository;
 import com.crio.stayease.repository.UserRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.LockModeType;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -23,17 +34,20 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.modelmapper.ModelMapper;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.test.context.support.WithMockUser;
 
+import java.time.LocalDate;
 import java.util.*;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -51,7 +65,25 @@ public class BookingServiceImplTest {
     private GuestRepository guestRepository;
 
     @Mock
-    private ModelMapper modelMapper;
+    private BookingAccessContext bookingAccessContext;
+
+    @Mock
+    private InventoryService inventoryService;
+
+    @Mock
+    private AvailabilityService availabilityService;
+
+    @Mock
+    private BookingMapper bookingMapper;
+
+    @Mock
+    private EntityManager entityManager;
+
+    @Mock
+    private OutboxService outboxService;
+
+    @Mock
+    private HotelStatsService hotelStatsService;
 
     @InjectMocks
     private BookingServiceImpl bookingService;
@@ -101,15 +133,34 @@ public class BookingServiceImplTest {
         // Arrange
         when(hotelRepository.findById(1L)).thenReturn(Optional.of(testHotel));
         when(bookingRepository.save(any(Booking.class))).thenReturn(testBooking);
-        when(modelMapper.map(any(Booking.class), eq(BookingDto.class))).thenReturn(testBookingDto);
+        when(bookingMapper.toDto(any(Booking.class))).thenReturn(testBookingDto);
 
         // Act
-        BookingDto result = bookingService.createNewBooking(1L);
+        BookingDto result = bookingService.createNewBooking(1L, null);
 
         // Assert
         assertNotNull(result);
-        assertEquals(testHotel.getRoomsCount(), 4); // Decreased by 1
+        verify(availabilityService).reserve(testHotel, LocalDate.now(), LocalDate.now().plusDays(1));
+        verify(inventoryService, times(1)).takeRoom(1L);
         verify(bookingRepository, times(1)).save(any(Booking.class));
+        verify(outboxService).record(any(Booking.class), eq(BookingEventType.CREATED), isNull());
+    }
+
+    @Test
+    @DisplayName("Booking a future stay leaves tonight's rooms alone")
+    @WithMockUser(roles = "CUSTOMER")
+    void createNewBooking_FutureStay() {
+        // Arrange
+        LocalDate checkIn = LocalDate.now().plusDays(3);
+        when(hotelRepository.findById(1L)).thenReturn(Optional.of(testHotel));
+        when(bookingMapper.toDto(any(Booking.class))).thenReturn(testBookingDto);
+
+        // Act
+        bookingService.createNewBooking(1L, new CreateBookingRequest(checkIn, checkIn.plusDays(2)));
+
+        // Assert
+        verify(availabilityService).reserve(testHotel, checkIn, checkIn.plusDays(2));
+        verify(inventoryService, never()).takeRoom(any());
     }
 
     @Test
@@ -117,12 +168,55 @@ public class BookingServiceImplTest {
     @WithMockUser(roles = "CUSTOMER")
     void createNewBooking_NoRoomsAvailable() {
         // Arrange
-        testHotel.setRoomsCount(0);
         when(hotelRepository.findById(1L)).thenReturn(Optional.of(testHotel));
+        doThrow(new NoAvailableRoomsException("Rooms are not available for this hotel, cannot book the room!"))
+                .when(availabilityService).reserve(eq(testHotel), any(LocalDate.class), any(LocalDate.class));
 
         // Act & Assert
         assertThrows(NoAvailableRoomsException.class, () ->
-                bookingService.createNewBooking(1L));
+                bookingService.createNewBooking(1L, null));
+        verify(bookingRepository, never()).save(any(Booking.class));
+        verify(inventoryService, never()).takeRoom(any());
+    }
+
+    @Test
+    @DisplayName("Reject booking for sold out hotel without loading it")
+    @WithMockUser(roles = "CUSTOMER")
+    void createNewBooking_SoldOut() {
+        // Arrange
+        when(availabilityService.isSoldOut(1L, LocalDate.now(), LocalDate.now().plusDays(1))).thenReturn(true);
+
+        // Act & Assert
+        assertThrows(NoAvailableRoomsException.class, () ->
+                bookingService.createNewBooking(1L, null));
+        verify(hotelRepository, never()).findById(1L);
+    }
+
+    @Test
+    @DisplayName("Create bulk bookings and report failed items")
+    @WithMockUser(roles = "CUSTOMER")
+    void createBulkBookings_PartialFailure() {
+        // Arrange
+        BulkBookingRequest request = new BulkBookingRequest(List.of(
+                new BulkBookingItem(1L, null, null),
+                new BulkBookingItem(2L, null, null),
+                new BulkBookingItem(1L, null, null)));
+        when(hotelRepository.findAllById(any())).thenReturn(List.of(testHotel));
+        doNothing().doThrow(new NoAvailableRoomsException("Rooms are not available for this hotel, cannot book the room!"))
+                .when(availabilityService).reserve(eq(testHotel), any(LocalDate.class), any(LocalDate.class));
+        when(bookingRepository.save(any(Booking.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(bookingMapper.toDto(any(Booking.class))).thenReturn(testBookingDto);
+
+        // Act
+        List<BulkBookingResultDto> result = bookingService.createBulkBookings(request);
+
+        // Assert
+        assertEquals(3, result.size());
+        assertTrue(result.get(0).isSuccess());
+        assertNotNull(result.get(0).getBooking());
+        assertFalse(result.get(1).isSuccess());
+        assertFalse(result.get(2).isSuccess());
+        verify(bookingRepository, times(1)).save(any(Booking.class));
     }
 
     @Test
@@ -130,15 +224,15 @@ public class BookingServiceImplTest {
     @WithMockUser(roles = "CUSTOMER")
     void getBookingById_Success() {
         // Arrange
-        when(bookingRepository.findById(1L)).thenReturn(Optional.of(testBooking));
-        when(modelMapper.map(testBooking, BookingDto.class)).thenReturn(testBookingDto);
+        when(bookingAccessContext.getBooking(1L)).thenReturn(testBooking);
+        when(bookingMapper.toDto(testBooking)).thenReturn(testBookingDto);
 
         // Act
         BookingDto result = bookingService.getBookingById(1L);
 
         // Assert
         assertNotNull(result);
-        verify(bookingRepository, times(1)).findById(1L);
+        verify(bookingAccessContext, times(1)).getBooking(1L);
     }
 
     @Test
@@ -146,10 +240,15 @@ public class BookingServiceImplTest {
     @WithMockUser(roles = "CUSTOMER")
     void getAllBookingsOfUser_Success() {
         // Arrange
-        List<Booking> bookings = Arrays.asList(testBooking);
-        when(userRepository.findById(1L)).thenReturn(Optional.of(testUser));
-        when(bookingRepository.findByUser(testUser)).thenReturn(bookings);
-        when(modelMapper.map(any(Booking.class), eq(BookingDto.class))).thenReturn(testBookingDto);
+        BookingRepository.BookingSummary summary = mock(BookingRepository.BookingSummary.class);
+        GuestRepository.GuestSummary guest = mock(GuestRepository.GuestSummary.class);
+        GuestDto guestDto = new GuestDto();
+        when(summary.getId()).thenReturn(1L);
+        when(guest.getBookingId()).thenReturn(1L);
+        when(bookingRepository.findByUserIdOrderByIdAsc(1L)).thenReturn(List.of(summary));
+        when(guestRepository.findSummariesByBookingIdIn(List.of(1L))).thenReturn(List.of(guest));
+        when(bookingMapper.toDto(summary)).thenReturn(testBookingDto);
+        when(bookingMapper.toDto(guest)).thenReturn(guestDto);
 
         // Act
         List<BookingDto> result = bookingService.getAllBookingsOfUser(1L);
@@ -157,6 +256,18 @@ public class BookingServiceImplTest {
         // Assert
         assertNotNull(result);
         assertEquals(1, result.size());
+        assertEquals(List.of(guestDto), result.get(0).getGuests());
+        verify(userRepository, never()).findById(any());
+    }
+
+    @Test
+    @DisplayName("Customer cannot list the bookings of another user")
+    @WithMockUser(roles = "CUSTOMER")
+    void getAllBookingsOfUser_OtherUser() {
+        // Act & Assert
+        assertThrows(UnauthorizedAccessException.class, () ->
+                bookingService.getAllBookingsOfUser(2L));
+        verify(bookingRepository, never()).findByUserIdOrderByIdAsc(any());
     }
 
     @Test
@@ -167,9 +278,9 @@ public class BookingServiceImplTest {
         UpdateBookingStatusRequest request = new UpdateBookingStatusRequest();
         request.setBookingStatus(BookingStatus.CHECKED_IN);
 
-        when(bookingRepository.findById(1L)).thenReturn(Optional.of(testBooking));
+        when(bookingAccessContext.getBooking(1L)).thenReturn(testBooking);
         when(bookingRepository.save(any(Booking.class))).thenReturn(testBooking);
-        when(modelMapper.map(testBooking, BookingDto.class)).thenReturn(testBookingDto);
+        when(bookingMapper.toDto(testBooking)).thenReturn(testBookingDto);
 
         // Act
         BookingDto result = bookingService.updateBookingStatusById(1L, request);
@@ -177,6 +288,42 @@ public class BookingServiceImplTest {
         // Assert
         assertNotNull(result);
         verify(bookingRepository, times(1)).save(any(Booking.class));
+        verify(inventoryService, never()).restoreRooms(any());
+    }
+
+    @Test
+    @DisplayName("Moving a booking out of a live status hands its room back")
+    @WithMockUser(roles = "HOTEL_MANAGER")
+    void updateBookingStatusById_ReleasesRoom() {
+        // Arrange
+        UpdateBookingStatusRequest request = new UpdateBookingStatusRequest();
+        request.setBookingStatus(BookingStatus.CHECKED_OUT);
+        testBooking.setCheckInDate(LocalDate.now());
+        testBooking.setCheckOutDate(LocalDate.now().plusDays(1));
+        when(bookingAccessContext.getBooking(1L)).thenReturn(testBooking);
+        when(bookingRepository.save(any(Booking.class))).thenReturn(testBooking);
+
+        // Act
+        bookingService.updateBookingStatusById(1L, request);
+
+        // Assert
+        verify(availabilityService).release(eq(testBooking), any(LocalDate.class));
+        verify(inventoryService).restoreRooms(Map.of(1L, 1));
+    }
+
+    @Test
+    @DisplayName("Version tag of a booking is looked up within the customer's own bookings")
+    void findBookingVersionTag_ScopedToOwner() {
+        // Arrange
+        when(bookingRepository.findVersionByIdAndOwner(1L, 1L)).thenReturn(Optional.of(3L));
+
+        // Act
+        Optional<String> result = bookingService.findBookingVersionTag(1L);
+
+        // Assert
+        assertEquals(Optional.of("3"), result);
+        verify(bookingRepository, never()).findVersionById(any());
+        verify(bookingAccessContext, never()).getBooking(any());
     }
 
     @Test
@@ -188,17 +335,20 @@ public class BookingServiceImplTest {
         List<GuestDto> guestDtos = Arrays.asList(new GuestDto());
         request.setGuests(guestDtos);
 
-        when(bookingRepository.findById(1L)).thenReturn(Optional.of(testBooking));
-        when(bookingRepository.save(any(Booking.class))).thenReturn(testBooking);
-        when(modelMapper.map(testBooking, BookingDto.class)).thenReturn(testBookingDto);
-        when(modelMapper.map(any(GuestDto.class), eq(Guest.class))).thenReturn(new Guest()); // Fix
+        when(bookingAccessContext.getBooking(1L)).thenReturn(testBooking);
+        when(bookingMapper.toDto(testBooking)).thenReturn(testBookingDto);
+        when(bookingMapper.toEntity(any(GuestDto.class))).thenReturn(new Guest()); // Fix
+        when(guestRepository.saveAll(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
 
         // Act
         BookingDto result = bookingService.addGuests(1L, request);
 
         // Assert
         assertNotNull(result);
-        verify(bookingRepository, times(1)).save(any(Booking.class));
+        assertEquals(1, testBooking.getGuests().size());
+        assertSame(testBooking, testBooking.getGuests().get(0).getBooking());
+        verify(bookingRepository, never()).save(any(Booking.class));
+        verify(entityManager).lock(testBooking, LockModeType.OPTIMISTIC_FORCE_INCREMENT);
     }
 
     @Test
@@ -210,21 +360,84 @@ public class BookingServiceImplTest {
         List<GuestDto> guestDtos = Arrays.asList(new GuestDto(), new GuestDto(), new GuestDto());
         request.setGuests(guestDtos);
 
-        when(bookingRepository.findById(1L)).thenReturn(Optional.of(testBooking));
+        when(bookingAccessContext.getBooking(1L)).thenReturn(testBooking);
 
         // Act & Assert
         assertThrows(MaximumGuestLimitReachedException.class, () ->
                 bookingService.addGuests(1L, request));
     }
 
+    @Test
+    @DisplayName("Remove guests with a bulk delete scoped to the booking")
+    @WithMockUser(roles = "CUSTOMER")
+    void removeGuests_BulkDelete() {
+        // Arrange
+        RemoveGuestRequest request = new RemoveGuestRequest(List.of(7L));
+        GuestDto kept = new GuestDto();
+        kept.setId(8L);
+        GuestDto removed = new GuestDto();
+        removed.setId(7L);
+        testBookingDto.setGuests(new ArrayList<>(List.of(kept, removed)));
+
+        when(bookingAccessContext.getBooking(1L)).thenReturn(testBooking);
+        when(bookingMapper.toDto(testBooking)).thenReturn(testBookingDto);
+
+        // Act
+        BookingDto result = bookingService.removeGuests(1L, request);
+
+        // Assert
+        assertEquals(List.of(kept), result.getGuests());
+        verify(guestRepository).deleteByBookingIdAndIdIn(1L, Set.of(7L));
+        verify(guestRepository, never()).findAllById(any());
+        verify(entityManager).lock(testBooking, LockModeType.OPTIMISTIC_FORCE_INCREMENT);
+    }
+
+    @Test
+    @DisplayName("Replace guests deletes the old list and inserts the new one")
+    @WithMockUser(roles = "CUSTOMER")
+    void replaceGuests_Success() {
+        // Arrange
+        ReplaceGuestsRequest request = new ReplaceGuestsRequest(List.of(new GuestDto(), new GuestDto()));
+        GuestDto mapped = new GuestDto();
+
+        when(bookingAccessContext.getBooking(1L)).thenReturn(testBooking);
+        when(bookingMapper.toDto(testBooking)).thenReturn(testBookingDto);
+        when(bookingMapper.toEntity(any(GuestDto.class))).thenAnswer(invocation -> new Guest());
+        when(bookingMapper.toDto(any(Guest.class))).thenReturn(mapped);
+        when(guestRepository.saveAll(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // Act
+        BookingDto result = bookingService.replaceGuests(1L, request);
+
+        // Assert
+        assertEquals(List.of(mapped, mapped), result.getGuests());
+        verify(guestRepository).deleteByBookingId(1L);
+        verify(entityManager).lock(testBooking, LockModeType.OPTIMISTIC_FORCE_INCREMENT);
+    }
+
+    @Test
+    @DisplayName("Throw exception when replacing with more than maximum guests")
+    @WithMockUser(roles = "CUSTOMER")
+    void replaceGuests_ExceedsMaximum() {
+        // Arrange
+        ReplaceGuestsRequest request = new ReplaceGuestsRequest(List.of(new GuestDto(), new GuestDto(), new GuestDto()));
+
+        when(bookingAccessContext.getBooking(1L)).thenReturn(testBooking);
+
+        // Act & Assert
+        assertThrows(MaximumGuestLimitReachedException.class, () ->
+                bookingService.replaceGuests(1L, request));
+        verify(guestRepository, never()).deleteByBookingId(any());
+    }
+
     @Test
     @DisplayName("Check in booking successfully")
     @WithMockUser(roles = "HOTEL_MANAGER")
     void checkInBooking_Success() {
         // Arrange
-        when(bookingRepository.findById(1L)).thenReturn(Optional.of(testBooking));
+        when(bookingAccessContext.getBooking(1L)).thenReturn(testBooking);
         when(bookingRepository.save(any(Booking.class))).thenReturn(testBooking);
-        when(modelMapper.map(testBooking, BookingDto.class)).thenReturn(testBookingDto);
+        when(bookingMapper.toDto(testBooking)).thenReturn(testBookingDto);
 
         // Act
         BookingDto result = bookingService.checkInBooking(1L);
@@ -241,9 +454,9 @@ public class BookingServiceImplTest {
     void checkOutBooking_Success() {
         // Arrange
         testBooking.setBookingStatus(BookingStatus.CHECKED_IN);
-        when(bookingRepository.findById(1L)).thenReturn(Optional.of(testBooking));
+        when(bookingAccessContext.getBooking(1L)).thenReturn(testBooking);
         when(bookingRepository.save(any(Booking.class))).thenReturn(testBooking);
-        when(modelMapper.map(testBooking, BookingDto.class)).thenReturn(testBookingDto);
+        when(bookingMapper.toDto(testBooking)).thenReturn(testBookingDto);
 
         // Act
         BookingDto result = bookingService.checkOutBooking(1L);
@@ -252,6 +465,64 @@ public class BookingServiceImplTest {
         assertNotNull(result);
         assertEquals(BookingStatus.CHECKED_OUT, testBooking.getBookingStatus());
         assertNotNull(testBooking.getCheckOutTime());
+        verify(availabilityService).release(eq(testBooking), any(LocalDate.class));
+        verify(inventoryService).restoreRooms(Map.of(1L, 1));
+    }
+
+    @Test
+    @DisplayName("Deleting a booking records an event and hands its room back")
+    @WithMockUser(roles = "ADMIN")
+    void deleteBookingById_RecordsEvent() {
+        // Arrange
+        testBooking.setCheckInDate(LocalDate.now());
+        testBooking.setCheckOutDate(LocalDate.now().plusDays(1));
+        when(bookingAccessContext.getBooking(1L)).thenReturn(testBooking);
+
+        // Act
+        bookingService.deleteBookingById(1L);
+
+        // Assert
+        verify(bookingRepository).delete(testBooking);
+        verify(outboxService).recordDeleted(testBooking);
+        verify(availabilityService).release(eq(testBooking), any(LocalDate.class));
+        verify(inventoryService).restoreRooms(Map.of(1L, 1));
+    }
+
+    @Test
+    @DisplayName("Cancelling tonight's stay hands its room back")
+    @WithMockUser(roles = "HOTEL_MANAGER")
+    void cancelBooking_TonightsStay() {
+        // Arrange
+        testBooking.setCheckInDate(LocalDate.now());
+        testBooking.setCheckOutDate(LocalDate.now().plusDays(2));
+        when(bookingAccessContext.getBooking(1L)).thenReturn(testBooking);
+        when(bookingRepository.save(any(Booking.class))).thenReturn(testBooking);
+
+        // Act
+        bookingService.cancelBooking(1L);
+
+        // Assert
+        assertEquals(BookingStatus.CANCELLED, testBooking.getBookingStatus());
+        verify(availabilityService).release(eq(testBooking), any(LocalDate.class));
+        verify(inventoryService).restoreRooms(Map.of(1L, 1));
+    }
+
+    @Test
+    @DisplayName("Cancelling a future stay frees its nights but not tonight's rooms")
+    @WithMockUser(roles = "HOTEL_MANAGER")
+    void cancelBooking_FutureStay() {
+        // Arrange
+        testBooking.setCheckInDate(LocalDate.now().plusDays(5));
+        testBooking.setCheckOutDate(LocalDate.now().plusDays(6));
+        when(bookingAccessContext.getBooking(1L)).thenReturn(testBooking);
+        when(bookingRepository.save(any(Booking.class))).thenReturn(testBooking);
+
+        // Act
+        bookingService.cancelBooking(1L);
+
+        // Assert
+        verify(availabilityService).release(eq(testBooking), any(LocalDate.class));
+        verify(inventoryService, never()).restoreRooms(any());
     }
 
     @Test
@@ -263,7 +534,7 @@ public class BookingServiceImplTest {
         hotelManager.setRole(Role.HOTEL_MANAGER);
         testHotel.setHotelManager(hotelManager);
 
-        when(bookingRepository.findById(1L)).thenReturn(Optional.of(testBooking));
+        when(bookingAccessContext.findBooking(1L)).thenReturn(Optional.of(testBooking));
 
         // Act
         boolean result = bookingService.isHotelManagerOfBooking(1L);
@@ -276,7 +547,7 @@ public class BookingServiceImplTest {
     @DisplayName("Verify booking owner")
     void isBookingOwner_Success() {
         // Arrange
-        when(bookingRepository.findById(1L)).thenReturn(Optional.of(testBooking));
+        when(bookingAccessContext.findBooking(1L)).thenReturn(Optional.of(testBooking));
 
         // Act
         boolean result = bookingService.isBookingOwner(1L);
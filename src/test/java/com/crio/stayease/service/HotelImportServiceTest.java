@@ -0,0 +1,197 @@
+package com.crio.stayease.service;
+
+import com.crio.stayease.cache.HotelCache;
+import com.crio.stayease.dto.HotelImportResultDto;
+import com.crio.stayease.repository.HotelRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class HotelImportServiceTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @Mock
+    private HotelRepository hotelRepository;
+
+    @Mock
+    private HotelSearchService hotelSearchService;
+
+    @Mock
+    private HotelCache hotelCache;
+
+    @Mock
+    private AvailabilityService availabilityService;
+
+    private HotelImportService hotelImportService;
+
+    private final List<Object[]> written = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        hotelImportService = new HotelImportService(jdbcTemplate, transactionTemplate, new ObjectMapper(), hotelRepository,
+                hotelSearchService, hotelCache, availabilityService);
+        ReflectionTestUtils.setField(hotelImportService, "chunkSize", 2);
+        lenient().doAnswer(invocation -> {
+            invocation.<Consumer<Object>>getArgument(0).accept(null);
+            return null;
+        }).when(transactionTemplate).executeWithoutResult(any());
+        lenient().when(jdbcTemplate.batchUpdate(anyString(), anyList())).thenAnswer(invocation -> {
+            List<Object[]> batch = invocation.getArgument(1);
+            written.addAll(batch);
+            return new int[batch.size()];
+        });
+    }
+
+    @Test
+    @DisplayName("CSV rows with quoted fields are upserted in chunks and refreshed in memory")
+    void importHotels_Csv() {
+        // Arrange
+        String csv = "name,location,description,roomsCount,totalRooms\n" +
+                "Sea View,Goa,\"Beach, pool\",10,12\n" +
+                "\"The \"\"Grand\"\"\",Pune,\"Two\nlines\",5,\n" +
+                "Hill Top,Ooty,,3,3\n";
+        HotelRepository.HotelSearchFields fields = searchFields(7L, "Sea View");
+        when(hotelRepository.findSearchFieldsByNameIn(anyList())).thenReturn(List.of(fields)).thenReturn(List.of());
+
+        // Act
+        HotelImportResultDto result = hotelImportService.importHotels(body(csv), HotelImportFormat.CSV);
+
+        // Assert
+        assertEquals(3, result.getRowsRead());
+        assertEquals(3, result.getImported());
+        assertEquals(0, result.getRejected());
+        verify(jdbcTemplate, times(2)).batchUpdate(anyString(), anyList());
+        assertEquals("Beach, pool", written.get(0)[2]);
+        assertEquals("The \"Grand\"", written.get(1)[0]);
+        assertEquals("Two\nlines", written.get(1)[2]);
+        assertEquals(5, written.get(1)[4]);
+        verify(hotelSearchService).index(7L, "Sea View", "Goa", null);
+        verify(hotelCache).invalidate(7L);
+        verify(availabilityService).evict(7L);
+    }
+
+    @Test
+    @DisplayName("Invalid rows are reported with their line and the rest are imported")
+    void importHotels_ReportsInvalidRows() {
+        // Arrange
+        String csv = "name,location,roomsCount,totalRooms\n" +
+                ",Goa,10,10\n" +
+                "Sea View,Goa,ten,10\n" +
+                "Hill Top,Ooty,-1,\n" +
+                "Lake Side,Bhopal,5,4\n" +
+                "Palm Grove,Kochi,4,6\n";
+        when(hotelRepository.findSearchFieldsByNameIn(anyList())).thenReturn(List.of());
+
+        // Act
+        HotelImportResultDto result = hotelImportService.importHotels(body(csv), HotelImportFormat.CSV);
+
+        // Assert
+        assertEquals(5, result.getRowsRead());
+        assertEquals(1, result.getImported());
+        assertEquals(4, result.getRejected());
+        assertEquals(List.of(2L, 3L, 4L, 5L), result.getErrors().stream().map(error -> error.getLine()).toList());
+        assertEquals("name is required", result.getErrors().get(0).getError());
+        assertEquals("totalRooms cannot be less than roomsCount", result.getErrors().get(3).getError());
+        assertEquals("Palm Grove", written.get(0)[0]);
+    }
+
+    @Test
+    @DisplayName("NDJSON rows are read one per line and malformed lines are rejected")
+    void importHotels_Ndjson() {
+        // Arrange
+        String ndjson = "{\"name\":\"Sea View\",\"location\":\"Goa\",\"roomsCount\":10}\n" +
+                "\n" +
+                "{\"name\":\"Broken\"\n" +
+                "{\"name\":\"Hill Top\",\"location\":\"Ooty\",\"roomsCount\":3,\"totalRooms\":5}\n";
+        when(hotelRepository.findSearchFieldsByNameIn(anyList())).thenReturn(List.of());
+
+        // Act
+        HotelImportResultDto result = hotelImportService.importHotels(body(ndjson), HotelImportFormat.NDJSON);
+
+        // Assert
+        assertEquals(3, result.getRowsRead());
+        assertEquals(2, result.getImported());
+        assertEquals(1, result.getRejected());
+        assertEquals(3L, result.getErrors().get(0).getLine());
+        assertTrue(result.getErrors().get(0).getError().startsWith("Malformed JSON"));
+        assertEquals(10, written.get(0)[4]);
+        assertEquals(5, written.get(1)[4]);
+    }
+
+    @Test
+    @DisplayName("A chunk the database refuses is retried row by row to find the failing rows")
+    void importHotels_FallsBackToSingleRows() {
+        // Arrange
+        String csv = "name,location,roomsCount\nSea View,Goa,10\nHill Top,Ooty,3\n";
+        when(jdbcTemplate.batchUpdate(anyString(), anyList())).thenAnswer(invocation -> {
+            List<Object[]> batch = invocation.getArgument(1);
+            if (batch.stream().anyMatch(row -> "Hill Top".equals(row[0]))) {
+                throw new DataIntegrityViolationException("refused");
+            }
+            written.addAll(batch);
+            return new int[batch.size()];
+        });
+        when(hotelRepository.findSearchFieldsByNameIn(anyList())).thenReturn(List.of());
+
+        // Act
+        HotelImportResultDto result = hotelImportService.importHotels(body(csv), HotelImportFormat.CSV);
+
+        // Assert
+        assertEquals(1, result.getImported());
+        assertEquals(1, result.getRejected());
+        assertEquals(3L, result.getErrors().get(0).getLine());
+        assertEquals("Hill Top", result.getErrors().get(0).getName());
+        assertEquals(1, written.size());
+        verify(hotelRepository).findSearchFieldsByNameIn(List.of("Sea View"));
+    }
+
+    @Test
+    @DisplayName("A CSV body without a required column is refused")
+    void importHotels_MissingColumn() {
+        // Arrange
+        String csv = "name,location\nSea View,Goa\n";
+
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> hotelImportService.importHotels(body(csv), HotelImportFormat.CSV));
+        verifyNoInteractions(jdbcTemplate);
+    }
+
+    private InputStream body(String text) {
+        return new ByteArrayInputStream(text.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private HotelRepository.HotelSearchFields searchFields(Long id, String name) {
+        HotelRepository.HotelSearchFields fields = mock(HotelRepository.HotelSearchFields.class);
+        when(fields.getId()).thenReturn(id);
+        when(fields.getName()).thenReturn(name);
+        when(fields.getLocation()).thenReturn("Goa");
+        return fields;
+    }
+}
@@ -0,0 +1,130 @@
+package com.crio.stayease.service;
+
+import com.crio.stayease.configs.PaginationSettings;
+import com.crio.stayease.dto.HotelDto;
+import com.crio.stayease.dto.HotelSearchResultDto;
+import com.crio.stayease.entity.Hotel;
+import com.crio.stayease.mapper.HotelMapper;
+import com.crio.stayease.repository.HotelRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class HotelSearchServiceTest {
+
+    @Mock
+    private HotelRepository hotelRepository;
+
+    @Mock
+    private HotelMapper hotelMapper;
+
+    @Mock
+    private PaginationSettings paginationSettings;
+
+    @InjectMocks
+    private HotelSearchService hotelSearchService;
+
+    private Hotel seaView;
+    private Hotel cityLodge;
+    private Hotel seaside;
+
+    @BeforeEach
+    void setUp() {
+        seaView = hotel(1L, "Sea View Resort", "Goa", "Rooms facing the sea");
+        cityLodge = hotel(2L, "City Lodge", "Mumbai", "Close to the sea link");
+        seaside = hotel(3L, "Seaside Inn", "Goa", "Quiet beach stay");
+        hotelSearchService.index(seaView);
+        hotelSearchService.index(cityLodge);
+        hotelSearchService.index(seaside);
+        lenient().when(paginationSettings.resolvePageSize(any())).thenReturn(10);
+        lenient().when(hotelMapper.toDto(any(Hotel.class))).thenAnswer(invocation -> {
+            Hotel hotel = invocation.getArgument(0);
+            HotelDto hotelDto = new HotelDto();
+            hotelDto.setId(hotel.getId());
+            hotelDto.setName(hotel.getName());
+            return hotelDto;
+        });
+    }
+
+    @Test
+    @DisplayName("Name matches rank above description matches")
+    void search_RanksByField() {
+        // Arrange
+        when(hotelRepository.findAllById(List.of(1L, 2L))).thenReturn(List.of(cityLodge, seaView));
+
+        // Act
+        HotelSearchResultDto result = hotelSearchService.search("the sea", null, null, null);
+
+        // Assert
+        assertEquals(2, result.getTotalMatches());
+        assertEquals(1L, result.getItems().get(0).getId());
+        assertEquals(2L, result.getItems().get(1).getId());
+    }
+
+    @Test
+    @DisplayName("Last query token matches as a prefix")
+    void search_ExpandsLastTokenAsPrefix() {
+        // Arrange
+        when(hotelRepository.findAllById(List.of(1L, 3L, 2L))).thenReturn(List.of(seaView, cityLodge, seaside));
+
+        // Act
+        HotelSearchResultDto result = hotelSearchService.search("se", null, null, null);
+
+        // Assert
+        assertEquals(3, result.getTotalMatches());
+        assertEquals(List.of(1L, 3L, 2L), result.getItems().stream().map(HotelDto::getId).toList());
+    }
+
+    @Test
+    @DisplayName("Location narrows the matches")
+    void search_FiltersByLocation() {
+        // Arrange
+        when(hotelRepository.findAllById(List.of(3L))).thenReturn(List.of(seaside));
+
+        // Act
+        HotelSearchResultDto result = hotelSearchService.search("inn", "goa", null, null);
+
+        // Assert
+        assertEquals(1, result.getTotalMatches());
+        assertEquals(3L, result.getItems().get(0).getId());
+    }
+
+    @Test
+    @DisplayName("Updated and removed hotels are reindexed")
+    void index_ReplacesAndRemovesHotels() {
+        // Arrange
+        seaView.setName("Palm Court");
+        hotelSearchService.index(seaView);
+        hotelSearchService.remove(3L);
+
+        // Act
+        HotelSearchResultDto byOldName = hotelSearchService.search("resort", null, null, null);
+        HotelSearchResultDto removed = hotelSearchService.search("seaside", null, null, null);
+
+        // Assert
+        assertEquals(0, byOldName.getTotalMatches());
+        assertEquals(0, removed.getTotalMatches());
+        verify(hotelRepository, never()).findAllById(anyList());
+    }
+
+    private Hotel hotel(Long id, String name, String location, String description) {
+        Hotel hotel = new Hotel();
+        hotel.setId(id);
+        hotel.setName(name);
+        hotel.setLocation(location);
+        hotel.setDescription(description);
+        return hotel;
+    }
+}
@@ -1,14 +1,21 @@
 package com.crio.stayease.service;
 
+import com.crio.stayease.cache.AuthenticatedUserCache;
+import com.crio.stayease.cache.HotelCache;
+import com.crio.stayease.configs.PaginationSettings;
+import com.crio.stayease.dto.CursorPageDto;
 import com.crio.stayease.dto.HotelDto;
+import com.crio.stayease.dto.HotelStatsDto;
 import com.crio.stayease.dto.UserDto;
 import com.crio.stayease.entity.Hotel;
 import com.crio.stayease.entity.User;
 import com.crio.stayease.entity.enums.Role;
 import com.crio.stayease.exception.ResourceNotFoundException;
 import com.crio.stayease.exception.UnauthorizedAccessException;
+import com.crio.stayease.mapper.HotelMapper;
 import com.crio.stayease.repository.HotelRepository;
 import com.crio.stayease.repository.UserRepository;
+import jakarta.persistence.EntityManager;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -16,7 +23,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.modelmapper.ModelMapper;
+import org.springframework.data.domain.Limit;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
@@ -30,6 +37,7 @@ import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -41,7 +49,34 @@ public class HotelServiceImplTest {
     private UserRepository userRepository;
 
     @Mock
-    private ModelMapper modelMapper;
+    private AvailabilityService availabilityService;
+
+    @Mock
+    private HotelMapper hotelMapper;
+
+    @Mock
+    private AuthenticatedUserCache authenticatedUserCache;
+
+    @Mock
+    private HotelCache hotelCache;
+
+    @Mock
+    private HotelSearchService hotelSearchService;
+
+    @Mock
+    private HotelStatsService hotelStatsService;
+
+    @Mock
+    private InventoryReconciler inventoryReconciler;
+
+    @Mock
+    private HotelImportService hotelImportService;
+
+    @Mock
+    private PaginationSettings paginationSettings;
+
+    @Mock
+    private EntityManager entityManager;
 
     @InjectMocks
     private HotelServiceImpl hotelService;
@@ -93,9 +128,9 @@ public class HotelServiceImplTest {
     @WithMockUser(roles = "ADMIN")
     void createNewHotel_Success() {
         // Arrange
-        when(modelMapper.map(testHotelDto, Hotel.class)).thenReturn(testHotel);
+        when(hotelMapper.toEntity(testHotelDto)).thenReturn(testHotel);
         when(hotelRepository.save(any(Hotel.class))).thenReturn(testHotel);
-        when(modelMapper.map(testHotel, HotelDto.class)).thenReturn(testHotelDto);
+        when(hotelMapper.toDto(testHotel)).thenReturn(testHotelDto);
 
         // Act
         HotelDto result = hotelService.createNewHotel(testHotelDto);
@@ -111,7 +146,7 @@ public class HotelServiceImplTest {
     void getHotelById_Success() {
         // Arrange
         when(hotelRepository.findById(1L)).thenReturn(Optional.of(testHotel));
-        when(modelMapper.map(testHotel, HotelDto.class)).thenReturn(testHotelDto);
+        when(hotelMapper.toDto(testHotel)).thenReturn(testHotelDto);
 
         // Act
         HotelDto result = hotelService.getHotelById(1L);
@@ -120,6 +155,21 @@ public class HotelServiceImplTest {
         assertNotNull(result);
         assertEquals(testHotelDto.getId(), result.getId());
         verify(hotelRepository, times(1)).findById(1L);
+        verify(hotelCache).put(1L, testHotelDto, 0L);
+    }
+
+    @Test
+    @DisplayName("Get hotel by ID from the cache")
+    void getHotelById_CacheHit() {
+        // Arrange
+        when(hotelCache.get(1L)).thenReturn(testHotelDto);
+
+        // Act
+        HotelDto result = hotelService.getHotelById(1L);
+
+        // Assert
+        assertSame(testHotelDto, result);
+        verify(hotelRepository, never()).findById(anyLong());
     }
 
     @Test
@@ -140,7 +190,7 @@ public class HotelServiceImplTest {
         // Arrange
         List<Hotel> hotels = Arrays.asList(testHotel);
         when(hotelRepository.findAll()).thenReturn(hotels);
-        when(modelMapper.map(any(Hotel.class), eq(HotelDto.class))).thenReturn(testHotelDto);
+        when(hotelMapper.toDto(any(Hotel.class))).thenReturn(testHotelDto);
 
         // Act
         List<HotelDto> result = hotelService.getAllHotels();
@@ -151,6 +201,49 @@ public class HotelServiceImplTest {
         verify(hotelRepository, times(1)).findAll();
     }
 
+    @Test
+    @DisplayName("Get a page of hotels after a cursor")
+    void getHotelsPage_HasMore() {
+        // Arrange
+        Hotel second = new Hotel();
+        second.setId(2L);
+        Hotel third = new Hotel();
+        third.setId(3L);
+        when(paginationSettings.resolvePageSize(2)).thenReturn(2);
+        when(hotelRepository.findByIdGreaterThanOrderByIdAsc(0L, Limit.of(3))).thenReturn(Arrays.asList(testHotel, second, third));
+        when(hotelMapper.toDto(any(Hotel.class))).thenReturn(testHotelDto);
+
+        // Act
+        CursorPageDto<HotelDto> result = hotelService.getHotelsPage(null, 2);
+
+        // Assert
+        assertEquals(2, result.getItems().size());
+        assertTrue(result.isHasMore());
+        assertEquals(2L, result.getNextCursor());
+    }
+
+    @Test
+    @DisplayName("Stream all hotels chunk by chunk")
+    void streamAllHotels_ReadsChunksLazily() {
+        // Arrange
+        Hotel second = new Hotel();
+        second.setId(2L);
+        Hotel third = new Hotel();
+        third.setId(3L);
+        when(paginationSettings.getStreamChunkSize()).thenReturn(2);
+        when(hotelRepository.findByIdGreaterThanOrderByIdAsc(0L, Limit.of(2))).thenReturn(Arrays.asList(testHotel, second));
+        when(hotelRepository.findByIdGreaterThanOrderByIdAsc(2L, Limit.of(2))).thenReturn(List.of(third));
+        when(hotelMapper.toDto(any(Hotel.class))).thenReturn(testHotelDto);
+
+        // Act
+        List<HotelDto> result = hotelService.streamAllHotels().toList();
+
+        // Assert
+        assertEquals(3, result.size());
+        verify(hotelRepository, times(2)).findByIdGreaterThanOrderByIdAsc(anyLong(), any(Limit.class));
+        verify(entityManager, times(2)).clear();
+    }
+
     @Test
     @DisplayName("Throw exception when unauthorized user attempts to update hotel")
     @WithMockUser(roles = "HOTEL_MANAGER")
@@ -185,7 +278,7 @@ public class HotelServiceImplTest {
         when(userRepository.findById(2L)).thenReturn(Optional.of(newManager));
         when(hotelRepository.findById(1L)).thenReturn(Optional.of(hotelWithoutManager));
         when(hotelRepository.save(any(Hotel.class))).thenReturn(testHotel);
-        when(modelMapper.map(testHotel, HotelDto.class)).thenReturn(testHotelDto);
+        when(hotelMapper.toDto(testHotel)).thenReturn(testHotelDto);
 
         // Act
         HotelDto result = hotelService.assignHotelManager(1L, 2L);
@@ -234,4 +327,35 @@ public class HotelServiceImplTest {
         assertThrows(ResourceNotFoundException.class, () ->
                 hotelService.deleteHotelById(999L));
     }
+
+    @Test
+    @DisplayName("Hotel manager reads the stats of their hotel")
+    void getHotelStats_Manager() {
+        // Arrange
+        HotelRepository.ManagedHotelCapacity hotel = mock(HotelRepository.ManagedHotelCapacity.class);
+        HotelStatsDto stats = new HotelStatsDto();
+        when(hotel.getManagerId()).thenReturn(1L);
+        when(hotelRepository.findCapacityById(1L)).thenReturn(Optional.of(hotel));
+        when(hotelStatsService.getStats(hotel)).thenReturn(stats);
+
+        // Act
+        HotelStatsDto result = hotelService.getHotelStats(1L);
+
+        // Assert
+        assertSame(stats, result);
+    }
+
+    @Test
+    @DisplayName("Manager of another hotel cannot read its stats")
+    void getHotelStats_OtherManager() {
+        // Arrange
+        HotelRepository.ManagedHotelCapacity hotel = mock(HotelRepository.ManagedHotelCapacity.class);
+        when(hotel.getManagerId()).thenReturn(2L);
+        when(hotelRepository.findCapacityById(1L)).thenReturn(Optional.of(hotel));
+
+        // Act & Assert
+        assertThrows(UnauthorizedAccessException.class, () ->
+                hotelService.getHotelStats(1L));
+        verify(hotelStatsService, never()).getStats(any());
+    }
 }
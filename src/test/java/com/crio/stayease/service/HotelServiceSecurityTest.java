@@ -0,0 +1,98 @@
+package com.crio.stayease.service;
+
+import com.crio.stayease.dto.HotelDto;
+import com.crio.stayease.entity.Hotel;
+import com.crio.stayease.entity.User;
+import com.crio.stayease.entity.enums.Role;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@Transactional
+public class HotelServiceSecurityTest {
+    @Autowired
+    private HotelService hotelService;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private User hotelManager;
+    private Hotel hotel;
+
+    @BeforeEach
+    void setUp() {
+        hotelManager = newUser(Role.HOTEL_MANAGER);
+
+        hotel = new Hotel();
+        hotel.setName("Secured Hotel " + UUID.randomUUID());
+        hotel.setLocation("Test Location");
+        hotel.setRoomsCount(5);
+        hotel.setTotalRooms(5);
+        hotel.setHotelManager(hotelManager);
+        entityManager.persist(hotel);
+        entityManager.flush();
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    @DisplayName("The hotel's manager can update it through the secured service")
+    void updateHotelById_HotelManager() {
+        // Arrange
+        authenticate(hotelManager);
+        HotelDto update = new HotelDto();
+        update.setDescription("Renovated");
+        update.setRoomsCount(5);
+
+        // Act
+        HotelDto result = hotelService.updateHotelById(hotel.getId(), update);
+
+        // Assert
+        assertEquals("Renovated", result.getDescription());
+        assertEquals(hotel.getName(), result.getName());
+    }
+
+    @Test
+    @DisplayName("A customer cannot update a hotel through the secured service")
+    void updateHotelById_Customer() {
+        // Arrange
+        authenticate(newUser(Role.CUSTOMER));
+        HotelDto update = new HotelDto();
+        update.setDescription("Renovated");
+
+        // Act & Assert
+        assertThrows(AccessDeniedException.class, () -> hotelService.updateHotelById(hotel.getId(), update));
+    }
+
+    private User newUser(Role role) {
+        User user = new User();
+        user.setEmail(UUID.randomUUID() + "@test.com");
+        user.setFirstName("Test");
+        user.setLastName("User");
+        user.setPassword("password");
+        user.setRole(role);
+        entityManager.persist(user);
+        return user;
+    }
+
+    private void authenticate(User user) {
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(user, null, user.getAuthorities()));
+    }
+}
@@ -0,0 +1,128 @@
+package com.crio.stayease.service;
+
+import com.crio.stayease.dto.HotelStatsDto;
+import com.crio.stayease.entity.Booking;
+import com.crio.stayease.entity.Hotel;
+import com.crio.stayease.entity.enums.BookingStatus;
+import com.crio.stayease.repository.BookingRepository;
+import com.crio.stayease.repository.HotelRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class HotelStatsServiceTest {
+
+    @Mock
+    private BookingRepository bookingRepository;
+
+    @InjectMocks
+    private HotelStatsService hotelStatsService;
+
+    private HotelRepository.HotelCapacity hotel;
+
+    @BeforeEach
+    void setUp() {
+        hotel = mock(HotelRepository.HotelCapacity.class);
+        lenient().when(hotel.getId()).thenReturn(1L);
+        lenient().when(hotel.getTotalRooms()).thenReturn(4);
+        lenient().when(hotel.getRoomsCount()).thenReturn(2);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    @DisplayName("Transitions move counts between statuses and drive occupancy")
+    void record_MovesCounts() {
+        // Arrange
+        Booking first = booking(BookingStatus.ACTIVE);
+        Booking second = booking(BookingStatus.ACTIVE);
+        hotelStatsService.recordAll(List.of(first, second));
+        first.setBookingStatus(BookingStatus.CHECKED_IN);
+
+        // Act
+        hotelStatsService.record(first, BookingStatus.ACTIVE);
+
+        // Assert
+        HotelStatsDto stats = hotelStatsService.getStats(hotel);
+        assertEquals(1, stats.getActive());
+        assertEquals(1, stats.getCheckedIn());
+        assertEquals(4, stats.getCapacity());
+        assertEquals(50.0, stats.getOccupancyPercent());
+    }
+
+    @Test
+    @DisplayName("Transitions of a rolled back transaction are not counted")
+    void record_RolledBack() {
+        // Arrange
+        TransactionSynchronizationManager.initSynchronization();
+        hotelStatsService.record(booking(BookingStatus.ACTIVE), null);
+
+        // Act
+        for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+            synchronization.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK);
+        }
+
+        // Assert
+        assertEquals(0, hotelStatsService.getStats(hotel).getActive());
+    }
+
+    @Test
+    @DisplayName("Reconciliation sums the counts of every id chunk")
+    void reconcile_SumsChunks() {
+        // Arrange
+        ReflectionTestUtils.setField(hotelStatsService, "reconcileChunkSize", 10L);
+        BookingRepository.IdRange range = mock(BookingRepository.IdRange.class);
+        when(range.getMinId()).thenReturn(1L);
+        when(range.getMaxId()).thenReturn(25L);
+        when(bookingRepository.findIdRange()).thenReturn(range);
+        BookingRepository.HotelStatusCount active = count(BookingStatus.ACTIVE, 2);
+        BookingRepository.HotelStatusCount cancelled = count(BookingStatus.CANCELLED, 1);
+        when(bookingRepository.countByHotelAndStatusBetween(anyLong(), anyLong())).thenReturn(List.of(active, cancelled));
+        hotelStatsService.record(booking(BookingStatus.CHECKED_OUT), null);
+
+        // Act
+        hotelStatsService.reconcile();
+
+        // Assert
+        verify(bookingRepository).countByHotelAndStatusBetween(1L, 10L);
+        verify(bookingRepository).countByHotelAndStatusBetween(11L, 20L);
+        verify(bookingRepository).countByHotelAndStatusBetween(21L, 25L);
+        HotelStatsDto stats = hotelStatsService.getStats(hotel);
+        assertEquals(6, stats.getActive());
+        assertEquals(3, stats.getCancelled());
+        assertEquals(0, stats.getCheckedOut());
+    }
+
+    private Booking booking(BookingStatus status) {
+        Hotel bookedHotel = new Hotel();
+        bookedHotel.setId(1L);
+        return Booking.builder().hotel(bookedHotel).bookingStatus(status).build();
+    }
+
+    private BookingRepository.HotelStatusCount count(BookingStatus status, long bookings) {
+        BookingRepository.HotelStatusCount count = mock(BookingRepository.HotelStatusCount.class);
+        when(count.getHotelId()).thenReturn(1L);
+        when(count.getBookingStatus()).thenReturn(status);
+        when(count.getBookings()).thenReturn(bookings);
+        return count;
+    }
+}
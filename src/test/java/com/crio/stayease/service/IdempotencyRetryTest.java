@@ -0,0 +1,90 @@
+package com.crio.stayease.service;
+
+import com.crio.stayease.entity.IdempotencyRecord;
+import com.crio.stayease.entity.User;
+import com.crio.stayease.entity.enums.Role;
+import com.crio.stayease.repository.IdempotencyRecordRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({IdempotencyService.class, JacksonAutoConfiguration.class})
+public class IdempotencyRetryTest {
+    @Autowired
+    private IdempotencyService idempotencyService;
+
+    @Autowired
+    private IdempotencyRecordRepository idempotencyRecordRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @BeforeEach
+    void setUp() {
+        User user = new User();
+        user.setId(7L);
+        user.setRole(Role.CUSTOMER);
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(user, null, user.getAuthorities()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+        idempotencyRecordRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("A retry racing a request that commits first replays its response and rolls its own work back")
+    void execute_RetryAfterFirstCommitted_ReplaysFirstResponse() {
+        // Arrange
+        IdempotencyService otherInstance = new IdempotencyService(idempotencyRecordRepository, transactionTemplate, objectMapper, 100, 60);
+        SecurityContext securityContext = SecurityContextHolder.getContext();
+
+        // Act
+        String result = otherInstance.execute("key-1", "createBooking", "body", String.class, () -> {
+            // The first attempt commits on another instance while the retry is still running
+            CompletableFuture.supplyAsync(() -> {
+                SecurityContextHolder.setContext(securityContext);
+                try {
+                    return idempotencyService.execute("key-1", "createBooking", "body", String.class, () -> "first");
+                } finally {
+                    SecurityContextHolder.clearContext();
+                }
+            }).orTimeout(30, TimeUnit.SECONDS).join();
+            idempotencyRecordRepository.save(new IdempotencyRecord("side-effect", null, "\"retry\"",
+                    LocalDateTime.now().plusMinutes(60), null));
+            return "second";
+        });
+
+        // Assert
+        assertEquals("first", result);
+        assertFalse(idempotencyRecordRepository.existsById("side-effect"), "the retry's own writes are rolled back");
+        assertEquals("\"first\"", idempotencyRecordRepository.findById("7:createBooking:key-1").orElseThrow().getResponse());
+    }
+}
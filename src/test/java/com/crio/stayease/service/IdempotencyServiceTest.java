@@ -0,0 +1,185 @@
+package com.crio.stayease.service;
+
+import com.crio.stayease.dto.BookingDto;
+import com.crio.stayease.dto.CreateBookingRequest;
+import com.crio.stayease.entity.IdempotencyRecord;
+import com.crio.stayease.entity.User;
+import com.crio.stayease.entity.enums.BookingStatus;
+import com.crio.stayease.entity.enums.Role;
+import com.crio.stayease.exception.IdempotencyKeyReusedException;
+import com.crio.stayease.repository.IdempotencyRecordRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.security.MessageDigest;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class IdempotencyServiceTest {
+    @Mock
+    private IdempotencyRecordRepository idempotencyRecordRepository;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    private final ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+    private final CreateBookingRequest request = new CreateBookingRequest(LocalDate.now(), LocalDate.now().plusDays(2));
+
+    private IdempotencyService idempotencyService;
+    private AtomicInteger executions;
+
+    @BeforeEach
+    void setUp() {
+        idempotencyService = new IdempotencyService(idempotencyRecordRepository, transactionTemplate, objectMapper, 100, 60);
+        executions = new AtomicInteger();
+
+        User testUser = new User();
+        testUser.setId(1L);
+        testUser.setRole(Role.CUSTOMER);
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(testUser, null, Collections.emptyList()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    @DisplayName("Retried request returns the first response without executing again")
+    void execute_ReplaysCompletedRequest() {
+        // Arrange
+        when(idempotencyRecordRepository.findById("1:create-booking:1:retry-key")).thenReturn(Optional.empty());
+        when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+                invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+
+        // Act
+        BookingDto first = idempotencyService.execute("retry-key", "create-booking:1", request, BookingDto.class, this::createBooking);
+        BookingDto second = idempotencyService.execute("retry-key", "create-booking:1", request, BookingDto.class, this::createBooking);
+
+        // Assert
+        assertSame(first, second);
+        assertEquals(1, executions.get());
+        verify(idempotencyRecordRepository, times(1)).saveAndFlush(any(IdempotencyRecord.class));
+        verify(idempotencyRecordRepository, times(1)).findById(any());
+    }
+
+    @Test
+    @DisplayName("Stored response survives a restart")
+    void execute_ReplaysStoredResponse() throws Exception {
+        // Arrange
+        BookingDto stored = BookingDto.builder().id(7L).bookingStatus(BookingStatus.ACTIVE).build();
+        when(idempotencyRecordRepository.findById("1:create-booking:1:retry-key")).thenReturn(Optional.of(
+                new IdempotencyRecord("1:create-booking:1:retry-key", hash(request), objectMapper.writeValueAsString(stored),
+                        LocalDateTime.now().plusMinutes(5), LocalDateTime.now())));
+
+        // Act
+        BookingDto result = idempotencyService.execute("retry-key", "create-booking:1", request, BookingDto.class, this::createBooking);
+
+        // Assert
+        assertEquals(7L, result.getId());
+        assertEquals(0, executions.get());
+        verify(transactionTemplate, never()).execute(any());
+    }
+
+    @Test
+    @DisplayName("Expired record that was not purged yet is replaced instead of failing the request")
+    void execute_ExpiredRecordNotPurged() throws Exception {
+        // Arrange
+        BookingDto old = BookingDto.builder().id(7L).bookingStatus(BookingStatus.ACTIVE).build();
+        when(idempotencyRecordRepository.findById("1:create-booking:1:retry-key")).thenReturn(Optional.of(
+                new IdempotencyRecord("1:create-booking:1:retry-key", hash(request), objectMapper.writeValueAsString(old),
+                        LocalDateTime.now().minusMinutes(5), LocalDateTime.now().minusDays(1))));
+        when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+                invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+
+        // Act
+        BookingDto result = idempotencyService.execute("retry-key", "create-booking:1", request, BookingDto.class, this::createBooking);
+
+        // Assert
+        assertEquals(1L, result.getId());
+        assertEquals(1, executions.get());
+        InOrder inOrder = inOrder(idempotencyRecordRepository);
+        inOrder.verify(idempotencyRecordRepository).deleteExpired(eq("1:create-booking:1:retry-key"), any(LocalDateTime.class));
+        inOrder.verify(idempotencyRecordRepository).saveAndFlush(any(IdempotencyRecord.class));
+    }
+
+    @Test
+    @DisplayName("Reusing a key for a different body is rejected without executing it")
+    void execute_SameKeyDifferentBody() {
+        // Arrange
+        when(idempotencyRecordRepository.findById("1:create-booking:1:retry-key")).thenReturn(Optional.empty());
+        when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+                invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+        CreateBookingRequest otherRequest = new CreateBookingRequest(LocalDate.now().plusDays(5), LocalDate.now().plusDays(6));
+        idempotencyService.execute("retry-key", "create-booking:1", request, BookingDto.class, this::createBooking);
+
+        // Act & Assert
+        assertThrows(IdempotencyKeyReusedException.class, () ->
+                idempotencyService.execute("retry-key", "create-booking:1", otherRequest, BookingDto.class, this::createBooking));
+        assertEquals(1, executions.get());
+    }
+
+    @Test
+    @DisplayName("Stored response of a different body is not replayed")
+    void execute_StoredResponseOfDifferentBody() throws Exception {
+        // Arrange
+        BookingDto stored = BookingDto.builder().id(7L).bookingStatus(BookingStatus.ACTIVE).build();
+        CreateBookingRequest otherRequest = new CreateBookingRequest(LocalDate.now().plusDays(5), LocalDate.now().plusDays(6));
+        when(idempotencyRecordRepository.findById("1:create-booking:1:retry-key")).thenReturn(Optional.of(
+                new IdempotencyRecord("1:create-booking:1:retry-key", hash(otherRequest), objectMapper.writeValueAsString(stored),
+                        LocalDateTime.now().plusMinutes(5), LocalDateTime.now())));
+
+        // Act & Assert
+        assertThrows(IdempotencyKeyReusedException.class, () ->
+                idempotencyService.execute("retry-key", "create-booking:1", request, BookingDto.class, this::createBooking));
+        assertEquals(0, executions.get());
+        verify(transactionTemplate, never()).execute(any());
+    }
+
+    @Test
+    @DisplayName("Requests without a key are always executed")
+    void execute_WithoutKey() {
+        // Act
+        idempotencyService.execute(null, "create-booking:1", request, BookingDto.class, this::createBooking);
+        idempotencyService.execute(null, "create-booking:1", request, BookingDto.class, this::createBooking);
+
+        // Assert
+        assertEquals(2, executions.get());
+        verifyNoInteractions(idempotencyRecordRepository, transactionTemplate);
+    }
+
+    private String hash(Object body) throws Exception {
+        return Base64.getEncoder().encodeToString(
+                MessageDigest.getInstance("SHA-256").digest(objectMapper.writeValueAsBytes(body)));
+    }
+
+    private BookingDto createBooking() {
+        return BookingDto.builder()
+                .id((long) executions.incrementAndGet())
+                .bookingStatus(BookingStatus.ACTIVE)
+                .build();
+    }
+}
@@ -0,0 +1,131 @@
+package com.crio.stayease.service;
+
+import com.crio.stayease.cache.HotelCache;
+import com.crio.stayease.dto.InventoryDriftDto;
+import com.crio.stayease.dto.InventoryReconciliationDto;
+import com.crio.stayease.repository.BookingRepository;
+import com.crio.stayease.repository.HotelRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class InventoryReconcilerTest {
+
+    @Mock
+    private HotelRepository hotelRepository;
+
+    @Mock
+    private BookingRepository bookingRepository;
+
+    @Mock
+    private HotelCache hotelCache;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @InjectMocks
+    private InventoryReconciler inventoryReconciler;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(inventoryReconciler, "partitionSize", 2);
+        lenient().when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+                invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+    }
+
+    @Test
+    @DisplayName("Drifted hotels are corrected to capacity minus tonight's live bookings")
+    void reconcile_CorrectsDrift() {
+        // Arrange
+        List<HotelRepository.HotelInventory> hotels = List.of(
+                hotel(1L, 3, 10), hotel(2L, 8, 10), hotel(3L, 0, 5), hotel(4L, 7, 7), hotel(5L, 2, 4));
+        when(hotelRepository.findAllInventory()).thenReturn(hotels);
+        List<BookingRepository.HotelBookingCount> counts = List.of(count(1L, 7), count(2L, 5), count(3L, 5), count(5L, 1));
+        when(bookingRepository.countStayingByHotelIdIn(anyCollection(), anyCollection(), any(LocalDate.class))).thenAnswer(invocation -> {
+            Collection<Long> hotelIds = invocation.getArgument(0);
+            return counts.stream().filter(count -> hotelIds.contains(count.getHotelId())).toList();
+        });
+        List<Object[]> corrections = new ArrayList<>();
+        when(jdbcTemplate.batchUpdate(anyString(), anyList())).thenAnswer(invocation -> {
+            List<Object[]> batch = invocation.getArgument(1);
+            synchronized (corrections) {
+                corrections.addAll(batch);
+            }
+            // Hotel 5 changed after it was read
+            return batch.stream().mapToInt(row -> row[1].equals(5L) ? 0 : 1).toArray();
+        });
+
+        // Act
+        InventoryReconciliationDto result = inventoryReconciler.reconcile();
+
+        // Assert
+        assertEquals(5, result.getHotelsChecked());
+        assertEquals(1, result.getHotelsCorrected());
+        assertEquals(1, result.getHotelsSkipped());
+        InventoryDriftDto drift = result.getDrifts().get(0);
+        assertEquals(2L, drift.getHotelId());
+        assertEquals(5, drift.getExpectedRooms());
+        assertEquals(3, drift.getDrift());
+        assertTrue(drift.isCorrected());
+        assertFalse(result.getDrifts().get(1).isCorrected());
+        assertEquals(2, corrections.size());
+        verify(bookingRepository, times(3)).countStayingByHotelIdIn(anyCollection(), anyCollection(), any(LocalDate.class));
+        verify(hotelCache).invalidate(2L);
+        verify(hotelCache, never()).invalidate(5L);
+    }
+
+    @Test
+    @DisplayName("Hotels without drift are not written")
+    void reconcile_NoDrift() {
+        // Arrange
+        List<HotelRepository.HotelInventory> hotels = List.of(hotel(1L, 10, 10));
+        when(hotelRepository.findAllInventory()).thenReturn(hotels);
+
+        // Act
+        InventoryReconciliationDto result = inventoryReconciler.reconcile();
+
+        // Assert
+        assertTrue(result.getDrifts().isEmpty());
+        verify(jdbcTemplate, never()).batchUpdate(anyString(), anyList());
+    }
+
+    private HotelRepository.HotelInventory hotel(Long id, int roomsCount, int totalRooms) {
+        HotelRepository.HotelInventory hotel = mock(HotelRepository.HotelInventory.class);
+        lenient().when(hotel.getId()).thenReturn(id);
+        lenient().when(hotel.getRoomsCount()).thenReturn(roomsCount);
+        lenient().when(hotel.getTotalRooms()).thenReturn(totalRooms);
+        lenient().when(hotel.getVersion()).thenReturn(0L);
+        return hotel;
+    }
+
+    private BookingRepository.HotelBookingCount count(Long hotelId, long bookings) {
+        BookingRepository.HotelBookingCount count = mock(BookingRepository.HotelBookingCount.class);
+        lenient().when(count.getHotelId()).thenReturn(hotelId);
+        lenient().when(count.getBookings()).thenReturn(bookings);
+        return count;
+    }
+}
@@ -0,0 +1,82 @@
+package com.crio.stayease.service;
+
+import com.crio.stayease.cache.HotelCache;
+import com.crio.stayease.repository.HotelRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDate;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class InventoryServiceTest {
+    @Mock
+    private HotelRepository hotelRepository;
+
+    @Mock
+    private HotelCache hotelCache;
+
+    @InjectMocks
+    private InventoryService inventoryService;
+
+    @Test
+    @DisplayName("Taking a room decrements tonight's rooms of the hotel")
+    void takeRoom_Decrements() {
+        // Arrange
+        when(hotelRepository.decrementRoomsCount(1L)).thenReturn(1);
+
+        // Act
+        inventoryService.takeRoom(1L);
+
+        // Assert
+        verify(hotelRepository).decrementRoomsCount(1L);
+        verify(hotelCache).invalidate(1L);
+    }
+
+    @Test
+    @DisplayName("A count already at zero is left for the reconcile instead of failing the booking")
+    void takeRoom_CountAtZero() {
+        // Arrange
+        when(hotelRepository.decrementRoomsCount(1L)).thenReturn(0);
+
+        // Act & Assert
+        assertDoesNotThrow(() -> inventoryService.takeRoom(1L));
+        verify(hotelCache, never()).invalidate(1L);
+    }
+
+    @Test
+    @DisplayName("Released rooms are handed back in hotel id order")
+    void restoreRooms_InHotelOrder() {
+        // Act
+        inventoryService.restoreRooms(Map.of(20L, 1, 10L, 2));
+
+        // Assert
+        InOrder inOrder = inOrder(hotelRepository);
+        inOrder.verify(hotelRepository).incrementRoomsCount(10L, 2);
+        inOrder.verify(hotelRepository).incrementRoomsCount(20L, 1);
+        verify(hotelCache).invalidate(10L);
+        verify(hotelCache).invalidate(20L);
+    }
+
+    @Test
+    @DisplayName("Only stays covering tonight hold one of tonight's rooms")
+    void staysTonight() {
+        // Arrange
+        LocalDate today = LocalDate.now();
+
+        // Act & Assert
+        assertTrue(InventoryService.staysTonight(today, today.plusDays(1), today));
+        assertTrue(InventoryService.staysTonight(today.minusDays(2), today.plusDays(1), today));
+        assertTrue(InventoryService.staysTonight(null, null, today));
+        assertFalse(InventoryService.staysTonight(today.minusDays(2), today, today));
+        assertFalse(InventoryService.staysTonight(today.plusDays(1), today.plusDays(3), today));
+    }
+}
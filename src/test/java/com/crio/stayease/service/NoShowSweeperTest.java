@@ -0,0 +1,133 @@
+package com.crio.stayease.service;
+
+import com.crio.stayease.entity.enums.BookingStatus;
+import com.crio.stayease.repository.BookingRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class NoShowSweeperTest {
+
+    @Mock
+    private BookingRepository bookingRepository;
+
+    @Mock
+    private InventoryService inventoryService;
+
+    @Mock
+    private AvailabilityService availabilityService;
+
+    @Mock
+    private OutboxService outboxService;
+
+    @Mock
+    private HotelStatsService hotelStatsService;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    private SimpleMeterRegistry meterRegistry;
+    private NoShowSweeper noShowSweeper;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        noShowSweeper = new NoShowSweeper(bookingRepository, inventoryService, availabilityService, outboxService,
+                hotelStatsService, transactionTemplate, meterRegistry, 2, 3, 0, 1);
+        when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+                invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+    }
+
+    @Test
+    @DisplayName("Each chunk cancels its bookings and restores tonight's rooms per hotel")
+    void sweep_ReleasesChunks() {
+        // Arrange
+        BookingRepository.StaleBooking first = stale(1L, 10L, LocalDate.now().plusDays(2));
+        BookingRepository.StaleBooking second = stale(2L, 10L, LocalDate.now().minusDays(1));
+        BookingRepository.StaleBooking third = stale(3L, 20L, LocalDate.now().minusDays(1));
+        when(bookingRepository.findStaleForUpdate(eq(BookingStatus.ACTIVE), any(LocalDate.class), any(LocalDateTime.class), eq(0L), any(Limit.class)))
+                .thenReturn(List.of(first, second));
+        when(bookingRepository.findStaleForUpdate(eq(BookingStatus.ACTIVE), any(LocalDate.class), any(LocalDateTime.class), eq(2L), any(Limit.class)))
+                .thenReturn(List.of(third));
+        when(bookingRepository.updateStatusByIdIn(anyList(), eq(BookingStatus.ACTIVE), eq(BookingStatus.CANCELLED), any()))
+                .thenAnswer(invocation -> invocation.<List<Long>>getArgument(0).size());
+
+        // Act
+        noShowSweeper.sweep();
+
+        // Assert
+        // Only the first stay still covers tonight, the others already left the count at the night roll
+        verify(inventoryService, times(1)).restoreRooms(any());
+        verify(inventoryService).restoreRooms(Map.of(10L, 1));
+        verify(availabilityService, times(1)).release(10L, LocalDate.now(), LocalDate.now().plusDays(2));
+        verify(hotelStatsService, times(3)).record(anyLong(), eq(BookingStatus.ACTIVE), eq(BookingStatus.CANCELLED));
+        verify(outboxService).recordNoShows(List.of(first, second));
+        verify(outboxService).recordNoShows(List.of(third));
+        assertEquals(3.0, meterRegistry.counter("stayease.no-show.swept").count());
+        assertEquals(2, meterRegistry.timer("stayease.no-show.chunk").count());
+    }
+
+    @Test
+    @DisplayName("A run stops after the configured number of chunks")
+    void sweep_StopsAtChunkCap() {
+        // Arrange
+        when(bookingRepository.findStaleForUpdate(eq(BookingStatus.ACTIVE), any(LocalDate.class), any(LocalDateTime.class), anyLong(), any(Limit.class)))
+                .thenAnswer(invocation -> {
+                    long afterId = invocation.getArgument(3);
+                    return List.of(stale(afterId + 1, 10L, null), stale(afterId + 2, 10L, null));
+                });
+        when(bookingRepository.updateStatusByIdIn(anyList(), eq(BookingStatus.ACTIVE), eq(BookingStatus.CANCELLED), any()))
+                .thenReturn(2);
+
+        // Act
+        noShowSweeper.sweep();
+
+        // Assert
+        verify(bookingRepository, times(3)).findStaleForUpdate(any(), any(), any(), anyLong(), any());
+        assertEquals(6.0, meterRegistry.counter("stayease.no-show.swept").count());
+    }
+
+    @Test
+    @DisplayName("A chunk whose guarded update misses a booking frees no rooms")
+    void sweep_GuardMismatch() {
+        // Arrange
+        List<BookingRepository.StaleBooking> stale = List.of(stale(1L, 10L, null), stale(2L, 10L, null));
+        when(bookingRepository.findStaleForUpdate(eq(BookingStatus.ACTIVE), any(LocalDate.class), any(LocalDateTime.class), eq(0L), any(Limit.class)))
+                .thenReturn(stale);
+        when(bookingRepository.updateStatusByIdIn(anyList(), eq(BookingStatus.ACTIVE), eq(BookingStatus.CANCELLED), any()))
+                .thenReturn(1);
+
+        // Act & Assert
+        assertThrows(IllegalStateException.class, () -> noShowSweeper.sweep());
+        verify(inventoryService, never()).restoreRooms(any());
+        verify(outboxService, never()).recordNoShows(any());
+    }
+
+    private BookingRepository.StaleBooking stale(Long id, Long hotelId, LocalDate checkOutDate) {
+        BookingRepository.StaleBooking booking = mock(BookingRepository.StaleBooking.class);
+        lenient().when(booking.getId()).thenReturn(id);
+        lenient().when(booking.getHotelId()).thenReturn(hotelId);
+        lenient().when(booking.getCheckInDate()).thenReturn(LocalDate.now().minusDays(3));
+        lenient().when(booking.getCheckOutDate()).thenReturn(checkOutDate);
+        return booking;
+    }
+}
@@ -0,0 +1,150 @@
+package com.crio.stayease.service;
+
+import com.crio.stayease.entity.RefreshToken;
+import com.crio.stayease.repository.RefreshTokenRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class RefreshTokenStoreTest {
+    @Autowired
+    private RefreshTokenRepository refreshTokenRepository;
+
+    private RefreshTokenStore refreshTokenStore;
+
+    @BeforeEach
+    void setUp() {
+        refreshTokenStore = new RefreshTokenStore(refreshTokenRepository);
+    }
+
+    @AfterEach
+    void tearDown() {
+        refreshTokenRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("A refresh token id can be used once")
+    void consume_Twice_IsReplay() {
+        // Arrange
+        long jti = refreshTokenStore.issue(1L);
+
+        // Act & Assert
+        assertEquals(RefreshTokenStore.Outcome.VALID, refreshTokenStore.consume(1L, jti));
+        assertEquals(RefreshTokenStore.Outcome.REPLAYED, refreshTokenStore.consume(1L, jti));
+    }
+
+    @Test
+    @DisplayName("A replayed token revokes every refresh token of its user only")
+    void consume_Replay_RevokesUsersTokens() {
+        // Arrange
+        long stolen = refreshTokenStore.issue(1L);
+        long otherSession = refreshTokenStore.issue(1L);
+        long otherUser = refreshTokenStore.issue(2L);
+        refreshTokenStore.consume(1L, stolen);
+
+        // Act
+        refreshTokenStore.consume(1L, stolen);
+
+        // Assert
+        assertEquals(RefreshTokenStore.Outcome.REVOKED, refreshTokenStore.consume(1L, otherSession));
+        assertEquals(RefreshTokenStore.Outcome.VALID, refreshTokenStore.consume(2L, otherUser));
+        assertEquals(RefreshTokenStore.Outcome.VALID, refreshTokenStore.consume(1L, refreshTokenStore.issue(1L)));
+    }
+
+    @Test
+    @DisplayName("Ids that were never handed out and ids of another user are not accepted")
+    void consume_UnknownOrForeignId_IsRevoked() {
+        // Arrange
+        long jti = refreshTokenStore.issue(1L);
+
+        // Act & Assert
+        assertEquals(RefreshTokenStore.Outcome.REVOKED, refreshTokenStore.consume(1L, 1_000_000L));
+        assertEquals(RefreshTokenStore.Outcome.REVOKED, refreshTokenStore.consume(2L, jti));
+        assertEquals(RefreshTokenStore.Outcome.VALID, refreshTokenStore.consume(1L, jti));
+    }
+
+    @Test
+    @DisplayName("A token used on one instance is a replay on another")
+    void consume_UsedOnOtherInstance_IsReplay() {
+        // Arrange
+        RefreshTokenStore otherInstance = new RefreshTokenStore(refreshTokenRepository);
+        long jti = refreshTokenStore.issue(1L);
+        long revoked = refreshTokenStore.issue(2L);
+        otherInstance.revokeAll(2L);
+
+        // Act
+        RefreshTokenStore.Outcome first = refreshTokenStore.consume(1L, jti);
+        RefreshTokenStore.Outcome second = otherInstance.consume(1L, jti);
+
+        // Assert
+        assertEquals(RefreshTokenStore.Outcome.VALID, first);
+        assertEquals(RefreshTokenStore.Outcome.REPLAYED, second);
+        assertEquals(RefreshTokenStore.Outcome.REVOKED, refreshTokenStore.consume(2L, revoked));
+    }
+
+    @Test
+    @DisplayName("Only one of two concurrent uses of a token is valid")
+    void consume_Concurrent_OneWins() throws Exception {
+        // Arrange
+        long jti = refreshTokenStore.issue(1L);
+        int threads = 8;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<RefreshTokenStore.Outcome>> outcomes = new ArrayList<>();
+
+        // Act
+        for (int i = 0; i < threads; i++) {
+            outcomes.add(executor.submit(() -> {
+                start.await();
+                return refreshTokenStore.consume(1L, jti);
+            }));
+        }
+        start.countDown();
+        int valid = 0;
+        for (Future<RefreshTokenStore.Outcome> outcome : outcomes) {
+            valid += outcome.get(30, TimeUnit.SECONDS) == RefreshTokenStore.Outcome.VALID ? 1 : 0;
+        }
+        executor.shutdown();
+
+        // Assert
+        assertEquals(1, valid);
+    }
+
+    @Test
+    @DisplayName("Tokens issued before the longest login could have started are purged")
+    void purgeExpired_RemovesOldTokens() {
+        // Arrange
+        long live = refreshTokenStore.issue(1L);
+        RefreshToken expired = refreshTokenRepository.save(RefreshToken.builder()
+                .userId(1L)
+                .issuedAt(LocalDateTime.now().minusDays(365))
+                .build());
+
+        // Act
+        refreshTokenStore.purgeExpired();
+
+        // Assert
+        assertFalse(refreshTokenRepository.existsById(expired.getJti()));
+        assertTrue(refreshTokenRepository.existsById(live));
+    }
+}
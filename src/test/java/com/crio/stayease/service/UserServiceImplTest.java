@@ -1,10 +1,14 @@
 package com.crio.stayease.service;
 
+import com.crio.stayease.cache.AuthenticatedUserCache;
+import com.crio.stayease.cache.HotelCache;
+import com.crio.stayease.cache.RegisteredEmailFilter;
 import com.crio.stayease.dto.UpdateUserRoleRequest;
 import com.crio.stayease.dto.UserDto;
 import com.crio.stayease.entity.User;
 import com.crio.stayease.entity.enums.Role;
 import com.crio.stayease.exception.ResourceNotFoundException;
+import com.crio.stayease.mapper.UserMapper;
 import com.crio.stayease.repository.UserRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -13,7 +17,6 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.modelmapper.ModelMapper;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
@@ -34,7 +37,19 @@ public class UserServiceImplTest {
     private UserRepository userRepository;
 
     @Mock
-    private ModelMapper modelMapper;
+    private UserMapper userMapper;
+
+    @Mock
+    private AuthenticatedUserCache authenticatedUserCache;
+
+    @Mock
+    private HotelCache hotelCache;
+
+    @Mock
+    private RegisteredEmailFilter registeredEmailFilter;
+
+    @Mock
+    private RefreshTokenStore refreshTokenStore;
 
     @InjectMocks
     private UserServiceImpl userService;
@@ -70,6 +85,7 @@ public class UserServiceImplTest {
     void loadUserByUsername_Success() {
         // Arrange
         String email = "test@example.com";
+        when(registeredEmailFilter.mightBeRegistered(email)).thenReturn(true);
         when(userRepository.findByEmail(email)).thenReturn(Optional.of(testUser));
 
         // Act
@@ -93,13 +109,29 @@ public class UserServiceImplTest {
         verify(userRepository, times(1)).findByEmail(email);
     }
 
+    @Test
+    @DisplayName("Should log in a user registered on another instance that the email filter has not seen")
+    void loadUserByUsername_UnknownToFilter_QueriesDatabase() {
+        // Arrange
+        String email = "test@example.com";
+        when(registeredEmailFilter.mightBeRegistered(email)).thenReturn(false);
+        when(userRepository.findByEmail(email)).thenReturn(Optional.of(testUser));
+
+        // Act
+        User result = userService.loadUserByUsername(email);
+
+        // Assert
+        assertEquals(testUser, result);
+        verify(registeredEmailFilter).add(email);
+    }
+
     @Test
     @DisplayName("Should get user by ID when user is ADMIN")
     @WithMockUser(roles = "ADMIN")
     void getUserById_AdminAccess_Success() {
         // Arrange
         when(userRepository.findById(1L)).thenReturn(Optional.of(testUser));
-        when(modelMapper.map(testUser, UserDto.class)).thenReturn(testUserDto);
+        when(userMapper.toDto(testUser)).thenReturn(testUserDto);
 
         // Act
         UserDto result = userService.getUserById(1L);
@@ -116,7 +148,7 @@ public class UserServiceImplTest {
     void getUserById_CustomerOwnProfile_Success() {
         // Arrange
         when(userRepository.findById(1L)).thenReturn(Optional.of(testUser));
-        when(modelMapper.map(testUser, UserDto.class)).thenReturn(testUserDto);
+        when(userMapper.toDto(testUser)).thenReturn(testUserDto);
 
         // Act
         UserDto result = userService.getUserById(1L);
@@ -134,7 +166,7 @@ public class UserServiceImplTest {
         // Arrange
         List<User> users = Arrays.asList(testUser);
         when(userRepository.findAll()).thenReturn(users);
-        when(modelMapper.map(any(User.class), eq(UserDto.class))).thenReturn(testUserDto);
+        when(userMapper.toDto(any(User.class))).thenReturn(testUserDto);
 
         // Act
         List<UserDto> result = userService.getAllUsers();
@@ -159,7 +191,7 @@ public class UserServiceImplTest {
 
         when(userRepository.findById(1L)).thenReturn(Optional.of(testUser));
         when(userRepository.save(any(User.class))).thenReturn(updatedUser);
-        when(modelMapper.map(updatedUser, UserDto.class)).thenReturn(testUserDto);
+        when(userMapper.toDto(updatedUser)).thenReturn(testUserDto);
 
         // Act
         UserDto result = userService.updateUserRole(1L, request);